@@ -179,7 +179,7 @@ public class BoardHistory {
     }
 
     public Board intoBoard() {
-    	return new Board(this.map, this.turnStack.stream().map(Turn::clone));
+    	return new Board(this.map, this.turnStack.stream());
 	}
 
 	public Integer[][] toIntegerSquares() {
@@ -87,13 +87,8 @@ public class JPanelBoard extends JPanel implements ActionListener {
 
 	class ResizeListener extends ComponentAdapter {
 		public void componentResized(ComponentEvent e) {
-			int width = getWidth() / 11;
-			int height = getHeight() / 11;
-	
-			int size = Math.min(width, height);
-	
-			if (size < 5)
-				size = 5;
+			int[][] squares = board.toSquares();
+			int size = squareSize(squares.length, squares[0].length);
 	
 			int pieceSize = (int) (size * 0.9f);
 
@@ -151,25 +146,23 @@ public class JPanelBoard extends JPanel implements ActionListener {
 		super.paintComponent(graphics);
 
 		//################################## painting Variables ##################################
-		// Get a suitable size for the board
-		int width = this.getWidth() / 11;
-		int height = this.getHeight() / 11;
-
-		int size = Math.min(width, height);
+		int[][] squares = this.board.toSquares();
+		int numRows = squares.length;
+		int numColumns = squares[0].length;
 
-		if (size < 5)
-			size = 5;
+		// Get a suitable size for the board
+		int size = this.squareSize(numRows, numColumns);
 
 		//int pieceSize = (int) (size * 0.9f);
 		int offset = (int) (size * 0.05f);
 
 		// The top left coordinates of the board
-		int x = this.getWidth() / 2 - 5 * size;
-		int y = this.getHeight() / 2 - 5 * size;
+		int x = this.getWidth() / 2 - numColumns * size / 2;
+		int y = this.getHeight() / 2 - numRows * size / 2;
 
 
 		//################################## no animation stuff ##################################
-		for (int i = 0; i < 10; i++) {
+		for (int i = 0; i < numColumns; i++) {
 			// Get the x coordinates for the current square
 			int squareX = x + i * size;
 
@@ -180,16 +173,16 @@ public class JPanelBoard extends JPanel implements ActionListener {
 			int stringY = y - graphics.getFontMetrics().getHeight() / 2;
 			graphics.drawString("" + (char) (i + 65), stringX, stringY);
 
-			for (int j = 0; j < 10; j++) {
+			for (int j = 0; j < numRows; j++) {
 				// Get the y coordinates for the current square
 				int squareY = y + j * size;
 
 				// Draw letters next to the board
 				if (i == 0) {
 					graphics.setColor(UIManager.getColor("TabbedPane.foreground"));
-					stringX = x - graphics.getFontMetrics().stringWidth("" + (10 - j)) - graphics.getFontMetrics().getHeight() / 2;
+					stringX = x - graphics.getFontMetrics().stringWidth("" + (numRows - j)) - graphics.getFontMetrics().getHeight() / 2;
 					stringY = squareY + size / 2;
-					graphics.drawString("" + (10 - j), stringX, stringY);
+					graphics.drawString("" + (numRows - j), stringX, stringY);
 				}
 
 				// Draw white and black tiles in alternating order
@@ -228,7 +221,6 @@ public class JPanelBoard extends JPanel implements ActionListener {
 //				graphics.drawString("x="+i+",y="+j,squareX+1,squareY+20);
 
 				// Check the value of the board at the current coordinates and draw the pieces depending on the currently selected style
-				Integer[][] squares = this.board.toIntegerSquares();
 				switch (squares[j][i]) {
 					// Draw arrows
 					case -2:
@@ -345,21 +337,22 @@ public class JPanelBoard extends JPanel implements ActionListener {
 //		}
 	}
 
-	@Override
-	public void actionPerformed(ActionEvent e) {
-		// Get a suitable size for the board
-		int width = this.getWidth() / 11;
-		int height = this.getHeight() / 11;
-
-		int size = Math.min(width, height);
-
-		if (size < 5)
-			size = 5;
+	/**
+	 * Calculates a square size so the whole board plus one square for the labels fits into the panel
+	 *
+	 * @param numRows the number of rows of the drawn board
+	 * @param numColumns the number of columns of the drawn board
+	 * @return the side length of a square in pixels, at least 5
+	 */
+	private int squareSize(int numRows, int numColumns) {
+		int width = this.getWidth() / (numColumns + 1);
+		int height = this.getHeight() / (numRows + 1);
 
-		// The top left coordinates of the board
-		//int x = this.getWidth() / 2 - 5 * size;
-		//int y = this.getHeight() / 2 - 5 * size;
+		return Math.max(5, Math.min(width, height));
+	}
 
+	@Override
+	public void actionPerformed(ActionEvent e) {
 		if(e.getSource().equals(amazonTimer) && board.hasPrevTurn()) {
 			amCurrentPos = amCurrentPos.moveBy(amDir);
 			repaint();
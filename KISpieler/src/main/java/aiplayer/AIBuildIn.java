@@ -1,15 +1,17 @@
 package aiplayer;
 
 import model.board.Board;
+import model.board.Piece;
+import model.board.RegionAnalyzer;
 import model.ids.GamePlayerId;
-import model.player.Move;
-import model.player.Shot;
+import model.player.PackedTurn;
 import model.player.Turn;
-import model.util.Position;
+import model.util.BitBoard;
+import model.util.RayTable;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class represents an AIPlayer.
@@ -20,9 +22,19 @@ import java.util.Random;
 public class AIBuildIn extends AIPlayerGreedy {
 	private final AIPlayer ai;
 
+	/**
+	 * Looks up small regions instead of searching them, may be null.
+	 */
+	private final EndgameTablebase tablebase;
+
 	public AIBuildIn(int evaluationDepth, float[] weights, float aggressiveness, int threads, AIPlayer ai) {
+		this(evaluationDepth, weights, aggressiveness, threads, ai, null);
+	}
+
+	public AIBuildIn(int evaluationDepth, float[] weights, float aggressiveness, int threads, AIPlayer ai, EndgameTablebase tablebase) {
 		super(evaluationDepth, weights, aggressiveness, threads);
 		this.ai = ai;
+		this.tablebase = tablebase;
 	}
 
 	/**
@@ -35,22 +47,59 @@ public class AIBuildIn extends AIPlayerGreedy {
 	public Turn bestTurn(Board board, GamePlayerId id, Duration maxTurnTime) {
 		System.out.println("-----------------------Calculating...----------------------");
 		int[][] squares = board.toSquares();
-		int[][] myQueens = getQueensOfPlayer(squares, id);
-		int freeFields = buildIn(squares, getFreeQueens(squares, myQueens), id);
+		int[][] myQueens = board.getAmazonCoordinates(id);
+		int freeFields = buildIn(board, getFreeQueens(squares, myQueens), id);
 		if(freeFields == -1) {
 			System.out.print("Using: Alpha-Beta-Pruning");
 			return ai.bestTurn(board, id, maxTurnTime);
 		}
-		if(freeFields <= 9) {
+		long start = System.currentTimeMillis();
+		if(freeFields + myQueens.length <= EndgameSolver.MAX_AREA) {
 			System.out.println("Using: Build-In Deep");
 			System.out.println("Free fields: " + freeFields);
-			return bestBuildInTurn(squares, myQueens, freeFields, id);
-		} else {
-			System.out.println("Using: Build-In Shallow");
-			return super.bestTurn(board, id, maxTurnTime);
+			// the solver gets half of the time, the rest is left for the shallow search if it does not finish
+			Turn turn = bestBuildInTurn(board, id, maxTurnTime.dividedBy(2));
+			if (turn != null) {
+				return turn;
+			}
+			System.out.println("Build-In Deep ran out of time");
+		}
+		System.out.println("Using: Build-In Shallow");
+		return super.bestTurn(board, id, maxTurnTime.minusMillis(System.currentTimeMillis() - start));
+	}
+
+	/**
+	 * Lets the given ai ponder, as long as the AI is not build-in. Build-in turns are solved fast enough without it.
+	 */
+	@Override
+	public void ponder(Board board, GamePlayerId id, Duration maxTurnTime, AtomicBoolean stop) {
+		int[][] myQueens = board.getAmazonCoordinates(id);
+		if (buildIn(board, getFreeQueens(board.toSquares(), myQueens), id) == -1) {
+			ai.ponder(board, id, maxTurnTime, stop);
 		}
 	}
 
+	/**
+	 * This method finds the turn that lets the AI make as many turns as possible in its regions with an {@link EndgameSolver}.
+	 * @param board the current board, the AI has to be build-in
+	 * @param id the GamePlayerId of the player the AI is playing as
+	 * @param maxTurnTime the time the solver may use
+	 * @return returns the best possible turn, null if the solver ran out of time or there is no turn
+	 */
+	public Turn bestBuildInTurn(Board board, GamePlayerId id, Duration maxTurnTime) {
+		int numSquares = board.getNumRows() * board.getNumColumns();
+		TimeManager time = new TimeManager(maxTurnTime, numSquares - board.getOccupied().cardinality(), numSquares);
+		EndgameSolver solver = new EndgameSolver(board, id, this.tablebase);
+		int turn = solver.bestTurn(time);
+		if (turn == TranspositionTable.NO_TURN) {
+			return null;
+		}
+		Turn resultTurn = PackedTurn.toTurn(turn, board.getNumColumns(), id);
+		System.out.println("Solved in " + time.getElapsedMillis() + "ms");
+		System.out.println("Start: "+resultTurn.getMove().getStart().getX()+","+resultTurn.getMove().getStart().getY()+" End: "+resultTurn.getMove().getEnd().getX()+","+resultTurn.getMove().getEnd().getY()+" Shot: "+resultTurn.getShot().getShotPosition().getX()+","+resultTurn.getShot().getShotPosition().getY());
+		return resultTurn;
+	}
+
 	/** This method calculates, if the AI is build.in and if so how many free fields it has left.
 	 *
 	 * @param squares the squares array from {@link Board}, empty fields are -1, blocked fields are -2, queens are 0 or 1.
@@ -59,26 +108,44 @@ public class AIBuildIn extends AIPlayerGreedy {
 	 * @return returns -1 if the AI is not build-in. Returns the number of free fields left, if the AI is build-in.
 	 */
 	public int buildIn(int[][] squares, int[][] queens, GamePlayerId id) {
-		int[][] squares2 = cloneSquares(squares);
-		ArrayList<int[]> fields = new ArrayList<>();
+		return buildIn(Board.fromSquares(squares.length, squares[0].length, squares), queens, id);
+	}
+
+	/** This method calculates, if the AI is build.in and if so how many free fields it has left.
+	 * The free fields are the regions of the {@link RegionAnalyzer} next to the given queens.
+	 *
+	 * @param board the current board
+	 * @param queens the position of the queens of the AI
+	 * @param id the GamePlayerId of the player the AI is playing as
+	 * @return returns -1 if the AI is not build-in. Returns the number of free fields left, if the AI is build-in.
+	 */
+	public int buildIn(Board board, int[][] queens, GamePlayerId id) {
+		RegionAnalyzer regions = new RegionAnalyzer(board);
+		Piece enemy = Piece.fromPlayerId(id.other());
+		boolean[] counted = new boolean[regions.getRegionCount()];
 		int freeFields = 0;
+
 		for (int[] queen : queens) {
-			fields.add(new int[]{queen[0], queen[1]});
-		}
-		ArrayList<int[]> neighbours;
-		while (!fields.isEmpty()) {
-			neighbours = getNeighbours(fields.get(0));
-			for (int[] neighbour : neighbours) {
-				if (squares2[neighbour[0]][neighbour[1]] == id.other().get()) {
-					return -1;
-				}
-				if (squares2[neighbour[0]][neighbour[1]] == -1) {
-					freeFields++;
-					fields.add(new int[]{neighbour[0], neighbour[1]});
-					squares2[neighbour[0]][neighbour[1]] = -2;
+			for (int row = queen[0] - 1; row <= queen[0] + 1; row++) {
+				for (int column = queen[1] - 1; column <= queen[1] + 1; column++) {
+					if (row < 0 || row >= board.getNumRows() || column < 0 || column >= board.getNumColumns()) {
+						continue;
+					}
+					int square = board.squareIndex(row, column);
+					if (board.getAtSquare(square) == enemy) {
+						return -1;
+					}
+
+					int region = regions.getRegionOf(square);
+					if (region >= 0 && !counted[region]) {
+						if (regions.isContested(region)) {
+							return -1;
+						}
+						counted[region] = true;
+						freeFields += regions.getRegionSize(region);
+					}
 				}
 			}
-			fields.remove(0);
 		}
 		return freeFields;
 	}
@@ -86,23 +153,15 @@ public class AIBuildIn extends AIPlayerGreedy {
 	/**
 	 * This method returns all possible neighbours in an ArrayList object
 	 * @param position then position on squares as an array with length 2
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
 	 * @return return all possible neighbours in an ArrayList
 	 */
-	public ArrayList<int[]> getNeighbours(int[] position) {
+	public ArrayList<int[]> getNeighbours(int[] position, int numRows, int numColumns) {
 		ArrayList<int[]> result = new ArrayList<>();
-		int[] tempPos;
-		for (int i = -1; i <= 1; i++) {
-			for (int j = -1; j <= 1; j++) {
-				if (i == 0 && j == 0) {
-					continue;
-				}
-				tempPos = new int[2];
-				tempPos[0] = position[0] + i;
-				tempPos[1] = position[1] + j;
-				if (!(tempPos[0] < 0 || tempPos[1] < 0 || tempPos[0] > 9 || tempPos[1] > 9)) {
-					result.add(tempPos);
-				}
-			}
+		BitBoard neighbours = RayTable.forSize(numRows, numColumns).getNeighbourMask(position[0] * numColumns + position[1]);
+		for (int s = neighbours.nextSetBit(0); s >= 0; s = neighbours.nextSetBit(s + 1)) {
+			result.add(new int[]{s / numColumns, s % numColumns});
 		}
 		return result;
 	}
@@ -117,7 +176,7 @@ public class AIBuildIn extends AIPlayerGreedy {
 		ArrayList<int[]> queensList = new ArrayList<>();
 		ArrayList<int[]> neighbours;
 		for (int[] queen : queens) {
-			neighbours = getNeighbours(queen);
+			neighbours = getNeighbours(queen, squares.length, squares[0].length);
 			for (int[] neighbour : neighbours) {
 				if (squares[neighbour[0]][neighbour[1]] == -1) {
 					queensList.add(new int[]{queen[0], queen[1]});
@@ -134,74 +193,4 @@ public class AIBuildIn extends AIPlayerGreedy {
 		}
 		return newQueens;
 	}
-
-	/**
-	 * This method tries to find the best way to build itself in by trying to apply as many turns as possible before the board is too full. If we applied as
-	 * many turns as we had free fields in the beginning (gets calculated in best turn) we can break the loop and return the result because every free field we
-	 * had will be used.
-	 * @param squares represents the board as an int[][] Array
-	 * @param queens represents the AI player's Queens as an int[][] Array
-	 * @param freeFields the amount of free fields
-	 * @param id the GamePlayerId of the player the AI is playing as
-	 * @return returns the best possible turn
-	 */
-	public Turn bestBuildInTurn(int[][] squares, int[][] queens,int freeFields, GamePlayerId id) {
-		ArrayList<int[]> turns = allTurns(squares, queens);
-		int maxVal = Integer.MIN_VALUE;
-		int tempResult;
-		int[][] tempBoard;
-		int[][] tempQueens;
-		ArrayList<int[]> bestTurns = new ArrayList<>();
-		for (int[] turn : turns) {
-			tempBoard = cloneAndApply(squares, turn);
-			tempQueens = applyTurnToQueens(turn, queens);
-			tempResult = bestBuildInTurnRecursive(tempBoard, tempQueens,1, freeFields);
-			if (tempResult > maxVal) {
-				maxVal = tempResult;
-				bestTurns = new ArrayList<>();
-				bestTurns.add(turn);
-			} else if (tempResult == maxVal) {
-				bestTurns.add(turn);
-			}
-		}
-		System.out.println("Path found using "+ maxVal +" fields");
-		Random rdm = new Random();
-		int rdmIndex = rdm.nextInt(bestTurns.toArray().length);
-		int[] randomBestTurn = bestTurns.get(rdmIndex);
-		Position from = new Position(randomBestTurn[0], randomBestTurn[1]);
-		Position to = new Position(randomBestTurn[2], randomBestTurn[3]);
-		Position shotAt = new Position(randomBestTurn[4], randomBestTurn[5]);
-		Shot shot = new Shot(shotAt);
-		Move move = new Move(from, to);
-		Turn resultTurn = new Turn(move, shot, id);
-		System.out.println("Start: "+resultTurn.getMove().getStart().getX()+","+resultTurn.getMove().getStart().getY()+" End: "+resultTurn.getMove().getEnd().getX()+","+resultTurn.getMove().getEnd().getY()+" Shot: "+resultTurn.getShot().getShotPosition().getX()+","+resultTurn.getShot().getShotPosition().getY());
-		return resultTurn;
-	}
-
-	/**
-	 * This method calculates the resulting max-depths of each turn that is applied recursively.
-	 * @param squares represents the board as an int[][] Array
-	 * @param queens represents the AI player's Queens as an int[][] Array
-	 * @param curDepth the current depth (in other words the amount of turns that have been applied on the same board)
-	 * @param freeFields the amount of free fields
-	 * @return returns the maximum depth
-	 */
-	public int bestBuildInTurnRecursive(int[][] squares, int[][] queens, int curDepth, int freeFields) {
-		ArrayList<int[]> turns = allTurns(squares, queens);
-		if (turns.size() == 0) {
-			return curDepth;
-		}
-		int[][] tempBoard;
-		int[][] tempQueens;
-		int maxVal = Integer.MIN_VALUE;
-		for (int[] turn : turns) {
-			tempBoard = cloneAndApply(squares, turn);
-			tempQueens = applyTurnToQueens(turn, queens);
-			maxVal = Math.max(maxVal, bestBuildInTurnRecursive(tempBoard, tempQueens, curDepth+1, freeFields));
-			if (maxVal == freeFields) {
-				return maxVal;
-			}
-		}
-		return maxVal;
-	}
 }
@@ -5,7 +5,20 @@ import model.ids.GamePlayerId;
 import model.player.Turn;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public interface AIPlayer {
 	Turn bestTurn(Board board, GamePlayerId id, Duration maxTurnTime);
+
+	/**
+	 * Searches the position after our turn while the enemy is thinking, so the next {@link #bestTurn} can reuse the results.
+	 * Returns once `stop` is set or the time is up, AIs that cannot ponder return right away.
+	 *
+	 * @param board the board after our turn, the enemy is to move
+	 * @param id the player the AI is playing as
+	 * @param maxTurnTime the time the enemy has for its turn
+	 * @param stop set when the enemy's turn arrived
+	 */
+	default void ponder(Board board, GamePlayerId id, Duration maxTurnTime, AtomicBoolean stop) {
+	}
 }
@@ -1,163 +1,592 @@
 package aiplayer;
 
 import model.board.Board;
+import model.board.Piece;
 import model.ids.GamePlayerId;
-import model.player.Move;
-import model.player.Shot;
+import model.player.PackedTurn;
 import model.player.Turn;
-import model.util.Position;
+import model.player.TurnBuffer;
+import model.util.ZobristKeys;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * This class represents an AIPlayer.
  * It utilizes a algorithm to calculate the best possible turn.
+ * With more than one thread the search is parallelized as lazy SMP: helper threads run the same search
+ * on their own copies of the board and only share the {@link TranspositionTable},
+ * so the main search finds the positions the helpers already searched.
  * @author Julian
  */
 public class AIPlayerAlphaBeta extends AIPlayerGreedy implements AIPlayer {
 
+	/**
+	 * The search checks the clock every time this many nodes have been visited, has to be a power of 2.
+	 */
+	private static final int NODES_PER_TIME_CHECK = 256;
+
+	/**
+	 * The score of a leaf whose winner is known from the {@link EndgameTablebase}, the difference of the turns
+	 * left is added so the search still prefers the bigger win. It is far above every score of the evaluation.
+	 */
+	private static final float DECIDED_SCORE = 1_000_000;
+
+	/**
+	 * The length of treeDepth is the maximum depth the search deepens to.
+	 * The values were thresholds on the number of turns for the fixed depth search
+	 * and are not used anymore since the depth is chosen by the {@link TimeManager}.
+	 */
 	private final int[] treeDepth;
 
+	/**
+	 * The results of searched positions, shared by all searches of this AI.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * The threads running the helper searches, null if the AI only uses one thread.
+	 */
+	private final ForkJoinPool helperPool;
+
+	/**
+	 * Decides the leaves where the players are separated into small regions, null if there is none.
+	 */
+	private final EndgameTablebase tablebase;
+
+	/**
+	 * The scores depend on the player the AI plays as, this is mixed into the hash if it plays as player 2.
+	 */
+	private static final long PLAYER2_KEY = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Mixed into the hash of the position after a move, before its shot, so it never equals the hash of a whole position.
+	 */
+	private static final long MOVE_KEY = 0xC2B2AE3D27D4EB4FL;
+
+	/**
+	 * Marks a move in {@link MoveShots#good} whose shots are not searched, because its bound from the table decides it.
+	 */
+	private static final int PRUNED = -1;
+
 	public AIPlayerAlphaBeta(int evaluationDepth, int[] treeDepth, float[] weights, float aggressiveness, int threads) {
+		this(evaluationDepth, treeDepth, weights, aggressiveness, threads, TranspositionTable.DEFAULT_MEGABYTES);
+	}
+
+	public AIPlayerAlphaBeta(int evaluationDepth, int[] treeDepth, float[] weights, float aggressiveness, int threads, int hashMegabytes) {
+		this(evaluationDepth, treeDepth, weights, aggressiveness, threads, hashMegabytes, null);
+	}
+
+	public AIPlayerAlphaBeta(int evaluationDepth, int[] treeDepth, float[] weights, float aggressiveness, int threads, int hashMegabytes,
+			EndgameTablebase tablebase) {
 		super(evaluationDepth, weights, aggressiveness, threads);
 		this.treeDepth = treeDepth;
+		this.table = new TranspositionTable(hashMegabytes);
+		this.tablebase = tablebase;
+		this.helperPool = this.threads > 1 ? new ForkJoinPool(this.threads - 1) : null;
+	}
+
+	/**
+	 * The state of a single search, so the same AI can search on multiple boards at once.
+	 */
+	private static class Search {
+		final Board board;
+		final GamePlayerId me;
+		final TimeManager time;
+		/** set when the turn is decided, this stops all searches of the turn */
+		final AtomicBoolean stop;
+		/** only the main search decides when to stop deepening, the helpers run until they are stopped */
+		final boolean main;
+		/** the moves and the shots of every move per remaining depth, so the recursion does not allocate */
+		final TurnBuffer[] moves;
+		final MoveShots[] moveShots;
+		final int[] distances;
+		final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+		final MoveOrdering ordering;
+		/** looks up the leaves in the tablebase, null if there is none */
+		final EndgameTablebase.Probe probe;
+		final long key;
+		/** the depth of the current iteration, to get the distance of a position from the root */
+		int iterationDepth = 0;
+		long nodes = 0;
+		/** the number of generated moves and of the moves whose shots were searched, the others were cut */
+		long movesGenerated = 0;
+		long shotNodes = 0;
+		boolean aborted = false;
+
+		/** the best turn of the deepest completed iteration */
+		int bestTurn;
+		int completedDepth = -1;
+
+		Search(Board board, GamePlayerId me, TimeManager time, AtomicBoolean stop, boolean main, int maxDepth, EndgameTablebase tablebase) {
+			this.board = board;
+			this.me = me;
+			this.time = time;
+			this.stop = stop;
+			this.main = main;
+			this.moves = new TurnBuffer[maxDepth + 1];
+			this.moveShots = new MoveShots[maxDepth + 1];
+			for (int i = 0; i <= maxDepth; i++) {
+				this.moves[i] = new TurnBuffer();
+				this.moveShots[i] = new MoveShots();
+			}
+			this.distances = new int[board.getNumRows() * board.getNumColumns()];
+			this.key = me == GamePlayerId.PLAYER2 ? PLAYER2_KEY : 0;
+			this.ordering = new MoveOrdering(board.getNumRows() * board.getNumColumns(), maxDepth + 1);
+			this.probe = tablebase != null ? tablebase.newProbe() : null;
+		}
+
+		/**
+		 * @param depth the remaining depth of a position
+		 * @return the distance of the position from the root
+		 */
+		int ply(int depth) {
+			return this.iterationDepth - depth + 1;
+		}
+
+		long hash() {
+			return this.board.getHash() ^ this.key;
+		}
+	}
+
+	/**
+	 * The shots of the moves of one position, generated and sorted in the first pass over the moves
+	 * and kept for the second one, see {@link #bestTurnRecursive}.
+	 */
+	private static class MoveShots {
+		TurnBuffer[] shots = new TurnBuffer[0];
+		/** the number of good shots of each move (see {@link MoveOrdering#orderShots}), or {@link #PRUNED} */
+		int[] good = new int[0];
+		/** the best score and turn of the searched shots of each move */
+		float[] best = new float[0];
+		int[] bestTurns = new int[0];
+		/** the hash of the position after each move, before the shot */
+		long[] hashes = new long[0];
+
+		void reserve(int numMoves) {
+			if (numMoves <= this.shots.length) {
+				return;
+			}
+			int size = Math.max(numMoves, 2 * this.shots.length);
+			TurnBuffer[] grown = Arrays.copyOf(this.shots, size);
+			for (int i = this.shots.length; i < size; i++) {
+				grown[i] = new TurnBuffer();
+			}
+			this.shots = grown;
+			this.good = new int[size];
+			this.best = new float[size];
+			this.bestTurns = new int[size];
+			this.hashes = new long[size];
+		}
 	}
 
 	/** This method returns the highest scoring AI player turn, assuming the enemy chooses its highest scoring turn.
 	 *  For more information visit: https://www.youtube.com/watch?v=l-hh51ncgDI
 	 *
+	 *  The search deepens one turn at a time, starting each depth with the best turn of the last one,
+	 *  until the {@link TimeManager} expects the next depth to take too long.
+	 *  The result is always the best turn of the deepest completed depth of the main search.
+	 *
 	 * @param board the current {@link Board} object
 	 * @param id the GamePlayerId of the player the AI is playing as
 	 * @return returns the best possible turn as a Turn object
+	 * @throws IllegalStateException if the AI cannot make any turn
 	 */
 	@Override
 	public Turn bestTurn(Board board, GamePlayerId id, Duration maxTurnTime) {
-		int[][] squares = board.toSquares();
-		int[][] myQueens = getQueensOfPlayer(squares, id);
-		int[][] otherQueens = getQueensOfPlayer(squares, id.other());
-		ArrayList<int[]> turns = allTurns(squares, myQueens);
-		ArrayList<int[]> enemyTurns = allTurns(squares, otherQueens);
-		int numberOfTurns = turns.toArray().length + enemyTurns.toArray().length;
-		int depth = 0;
-		for (int j : treeDepth) {
-			if (numberOfTurns < j) {
-				depth++;
+		Board searchBoard = board.clone();
+		// the hash includes the player to move, which the board of a turn request does not know
+		searchBoard.setPlayerToMove(id);
+		int numSquares = searchBoard.getNumRows() * searchBoard.getNumColumns();
+		TimeManager time = new TimeManager(maxTurnTime, numSquares - searchBoard.getOccupied().cardinality(), numSquares);
+		AtomicBoolean stop = new AtomicBoolean(false);
+		Search search = new Search(searchBoard, id, time, stop, true, this.treeDepth.length, this.tablebase);
+
+		TurnBuffer rootBuffer = new TurnBuffer();
+		if (searchBoard.generateTurns(id, rootBuffer) == 0) {
+			throw new IllegalStateException("no turn possible");
+		}
+		int[] rootTurns = rootBuffer.toArray();
+
+		ArrayList<Search> helpers = new ArrayList<>();
+		ArrayList<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+		for (int i = 1; i < this.threads; i++) {
+			Search helper = new Search(searchBoard.clone(), id, time, stop, false, this.treeDepth.length, this.tablebase);
+			int[] helperTurns = rootTurns.clone();
+			// every second helper searches one depth ahead, its results are in the table when the main search gets there
+			int startDepth = i % 2;
+			helpers.add(helper);
+			helperTasks.add(this.helperPool.submit(() -> this.iterativeDeepening(helper, helperTurns, startDepth)));
+		}
+
+		this.iterativeDeepening(search, rootTurns, 0);
+		stop.set(true);
+		long nodes = search.nodes;
+		for (int i = 0; i < helperTasks.size(); i++) {
+			helperTasks.get(i).join();
+			nodes += helpers.get(i).nodes;
+		}
+		// the entries of this turn are replaced first from now on, pondering on the enemy's turn
+		// and the search of our next turn share the next age, so the next search finds what was pondered
+		this.table.newSearch();
+
+		long millis = Math.max(1, time.getElapsedMillis());
+		System.out.println(" with depth: " + search.completedDepth + " after " + millis + "ms, "
+				+ nodes + " nodes on " + this.threads + " threads (" + nodes * 1000 / millis + " nodes/s)");
+		Turn resultTurn = PackedTurn.toTurn(search.bestTurn, searchBoard.getNumColumns(), id);
+		System.out.println("Calculated Turn:");
+		System.out.println("Start: "+resultTurn.getMove().getStart().getX()+","+resultTurn.getMove().getStart().getY()+" End: "+resultTurn.getMove().getEnd().getX()+","+resultTurn.getMove().getEnd().getY()+" Shot: "+resultTurn.getShot().getShotPosition().getX()+","+resultTurn.getShot().getShotPosition().getY());
+		return resultTurn;
+	}
+
+	/**
+	 * Searches the replies of the enemy after our turn until it is stopped, with all threads of the AI.
+	 * The scores are from our point of view like in {@link #bestTurn}, so the positions after every reply
+	 * are in the {@link TranspositionTable} when the next turn starts, searched deeper the longer the enemy thinks.
+	 *
+	 * @param board the board after our turn, the enemy is to move
+	 * @param id the player the AI is playing as
+	 * @param maxTurnTime the time the enemy has for its turn
+	 * @param stop set when the enemy's turn arrived
+	 */
+	@Override
+	public void ponder(Board board, GamePlayerId id, Duration maxTurnTime, AtomicBoolean stop) {
+		Board ponderBoard = board.clone();
+		ponderBoard.setPlayerToMove(id.other());
+		int numSquares = ponderBoard.getNumRows() * ponderBoard.getNumColumns();
+		TimeManager time = new TimeManager(maxTurnTime, numSquares - ponderBoard.getOccupied().cardinality(), numSquares);
+		// the reply and our answer to it come on top of the depth of our turn
+		int maxDepth = this.treeDepth.length + 2;
+		// the table keeps the age, it only advances once our next turn is decided (see bestTurn)
+		Search search = new Search(ponderBoard, id, time, stop, false, maxDepth, this.tablebase);
+
+		ArrayList<Search> helpers = new ArrayList<>();
+		ArrayList<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+		for (int i = 1; i < this.threads; i++) {
+			Search helper = new Search(ponderBoard.clone(), id, time, stop, false, maxDepth, this.tablebase);
+			int startDepth = 1 + i % 2;
+			helpers.add(helper);
+			helperTasks.add(this.helperPool.submit(() -> this.ponderDeepening(helper, startDepth, maxDepth)));
+		}
+
+		this.ponderDeepening(search, 1, maxDepth);
+		// the helpers stop on their own at the maximum depth, but not if the main search stopped at a decided position
+		stop.set(true);
+		long nodes = search.nodes;
+		for (int i = 0; i < helperTasks.size(); i++) {
+			helperTasks.get(i).join();
+			nodes += helpers.get(i).nodes;
+		}
+		System.out.println("Pondered to depth " + search.completedDepth + " in " + time.getElapsedMillis() + "ms, " + nodes + " nodes");
+	}
+
+	/**
+	 * Deepens a search of the enemy's replies one turn at a time, see {@link #ponder}.
+	 *
+	 * @param search the state of the search, the enemy is to move on its board
+	 * @param startDepth the depth of the first iteration
+	 * @param maxDepth the depth of the last iteration
+	 */
+	private void ponderDeepening(Search search, int startDepth, int maxDepth) {
+		for (int depth = startDepth; depth <= maxDepth; depth++) {
+			search.iterationDepth = depth;
+			float value = bestTurnRecursive(search, depth, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, false);
+			if (search.aborted) {
+				return;
+			}
+			search.completedDepth = depth;
+			// the game is decided, deeper searches cannot change that
+			if (Float.isInfinite(value)) {
+				return;
 			}
 		}
-		System.out.println(" with depth: " + depth);
-		float maxVal = Float.NEGATIVE_INFINITY;
-		float alpha = Float.NEGATIVE_INFINITY;
-		float beta = Float.POSITIVE_INFINITY;
-		float tempResult;
-		int[][] tempBoard;
-		int[][] tempQueens;
-		ArrayList<int[]> bestTurns = new ArrayList<>();
-		long abortTime = System.currentTimeMillis() + (maxTurnTime.toMillis() - 2000);
-		for (int[] turn : turns) {
-			if (System.currentTimeMillis() >= abortTime) {
-				System.out.println("!!! MaxTurnTime reached !!!");
-				return super.bestTurn(board, id, maxTurnTime);
+	}
+
+	/**
+	 * Deepens the search one turn at a time up to the maximum depth, or until it is stopped.
+	 * The result is stored in {@link Search#bestTurn} and {@link Search#completedDepth}.
+	 *
+	 * @param search the state of the search
+	 * @param rootTurns the turns of the root position, they are reordered
+	 * @param startDepth the depth of the first iteration
+	 */
+	private void iterativeDeepening(Search search, int[] rootTurns, int startDepth) {
+		Board board = search.board;
+		search.bestTurn = rootTurns[0];
+		for (int depth = startDepth; depth <= this.treeDepth.length; depth++) {
+			search.iterationDepth = depth;
+			// search the best turn of the last depth first, it is most likely the best again and gives the tightest bounds
+			for (int i = 0; i < rootTurns.length; i++) {
+				if (rootTurns[i] == search.bestTurn) {
+					rootTurns[i] = rootTurns[0];
+					rootTurns[0] = search.bestTurn;
+					break;
+				}
 			}
-			tempBoard = cloneAndApply(squares, turn);
-			tempQueens = applyTurnToQueens(turn, myQueens);
-			/*System.out.println(tempQueens[0][0]+tempQueens[0][1]+"\n"+tempQueens[1][0]+tempQueens[1][1]+"\n"+tempQueens[2][0]+tempQueens[2][1]+"\n"+tempQueens[3][0]+tempQueens[3][1]);
-			String[] a = Arrays.deepToString(tempBoard).split("]");
-			System.out.println(" "+a[0]+"\n"+a[1]+"\n"+a[2]+"\n"+a[3]+"\n"+a[4]+"\n"+a[5]+"\n"+a[6]+"\n"+a[7]+"\n"+a[8]+"\n"+a[9]+"\n");*/
-			tempResult = bestTurnRecursive(tempBoard, tempQueens, otherQueens, depth, alpha, beta, false);
-			if (tempResult > maxVal) {
-				maxVal = tempResult;
-				bestTurns = new ArrayList<>();
-				bestTurns.add(turn);
-			} else if (tempResult == maxVal) {
-				bestTurns.add(turn);
+
+			float maxVal = Float.NEGATIVE_INFINITY;
+			int iterationBest = rootTurns[0];
+			for (int turn : rootTurns) {
+				board.applyPackedTurn(turn);
+				float tempResult = bestTurnRecursive(search, depth, maxVal, Float.POSITIVE_INFINITY, false);
+				board.undoPackedTurn(turn);
+				if (search.aborted) {
+					break;
+				}
+				if (tempResult > maxVal) {
+					maxVal = tempResult;
+					iterationBest = turn;
+				}
+			}
+
+			if (search.aborted) {
+				// the turns searched so far may still be better than the last depth's best, but their scores are not comparable
+				if (search.completedDepth < 0) {
+					search.bestTurn = iterationBest;
+				}
+				if (search.main) {
+					System.out.println("!!! MaxTurnTime reached at depth " + depth + " !!!");
+				}
+				return;
 			}
-			alpha = Math.max(alpha, maxVal);
-			if(beta <= alpha) {
-				break;
+			search.bestTurn = iterationBest;
+			search.completedDepth = depth;
+
+			// the game is decided, deeper searches cannot change that
+			if (Float.isInfinite(maxVal)) {
+				return;
+			}
+			if (search.main) {
+				search.time.iterationFinished();
+				if (!search.time.canStartIteration()) {
+					return;
+				}
 			}
 		}
-		Random rdm = new Random();
-		int rdmIndex = rdm.nextInt(bestTurns.toArray().length);
-		int[] randomBestTurn = bestTurns.get(rdmIndex);
-		Position from = new Position(randomBestTurn[0], randomBestTurn[1]);
-		Position to = new Position(randomBestTurn[2], randomBestTurn[3]);
-		Position shotAt = new Position(randomBestTurn[4], randomBestTurn[5]);
-		Shot shot = new Shot(shotAt);
-		Move move = new Move(from, to);
-		Turn resultTurn= new Turn(move, shot, id);
-		System.out.println("Calculated Turn:");
-		System.out.println("Start: "+resultTurn.getMove().getStart().getX()+","+resultTurn.getMove().getStart().getY()+" End: "+resultTurn.getMove().getEnd().getX()+","+resultTurn.getMove().getEnd().getY()+" Shot: "+resultTurn.getShot().getShotPosition().getX()+","+resultTurn.getShot().getShotPosition().getY());
-		return resultTurn;
 	}
 
 	/** This method calculates the best score of a board after depth many turns recursively and prunes unnecessary
 	 * branches away.
+	 * The turns are applied to and reverted on the board of the search, so it is unchanged afterwards.
+	 * Positions that were already searched deep enough are taken from the {@link TranspositionTable}.
+	 * The bounds of single moves are stored there as well, so a move can be cut before its shots are generated.
+	 * If the time of the turn runs out the search is aborted and the returned score is meaningless.
 	 *
-	 * @param squares represents the board as an int[][] Array
-	 * @param myQueens represents the AI player's Queens as an int[][] Array
-	 * @param otherQueens represents the enemy's Queens as an int[][] Array
+	 * @param search the state of the search, holding the board
 	 * @param depth is the amount of turns the AI calculates ahead
 	 * @param alpha current best score the AI player's previous turn
 	 * @param beta current best score the enemy's previous turn
 	 * @param maxPlayer is true if its the AI player's turn. False otherwise
 	 * @return the score of the best possible turn
 	 */
-	public float bestTurnRecursive (int[][] squares, int[][] myQueens, int[][] otherQueens, int depth, float alpha, float beta, boolean maxPlayer) {
+	private float bestTurnRecursive(Search search, int depth, float alpha, float beta, boolean maxPlayer) {
+		if ((++search.nodes & (NODES_PER_TIME_CHECK - 1)) == 0 && (search.stop.get() || search.time.isTimeUp())) {
+			search.aborted = true;
+		}
+		if (search.aborted) {
+			return 0;
+		}
+
+		Board board = search.board;
 		//Calculate score if depth is equals zero or if there are no turns to play
 		if (depth == 0) {
-			float myScore;
-			float otherScore;
-			int[][] squares2 = cloneSquares(squares);
+			if (search.probe != null && search.probe.probe(board)) {
+				int myTurns = search.probe.turns[search.me.get()];
+				int otherTurns = search.probe.turns[search.me.other().get()];
+				// the player to move loses once it has no turns left, so it needs more turns than the other player to win
+				boolean won = maxPlayer ? myTurns > otherTurns : myTurns >= otherTurns;
+				return (won ? DECIDED_SCORE : -DECIDED_SCORE) + myTurns - otherTurns;
+			}
+			float myScore = evaluateBoard(board, search.me, search.distances);
+			float otherScore = evaluateBoard(board, search.me.other(), search.distances);
 			if (maxPlayer) {
-				myScore = evaluateSquares(squares, otherQueens);
-				otherScore = evaluateSquares(squares2, myQueens);
-				return -(((1 - this.aggressiveness) * myScore) - (this.aggressiveness * otherScore));
+				return (this.aggressiveness * myScore) - ((1 - this.aggressiveness) * otherScore);
 			} else {
-				myScore = evaluateSquares(squares, myQueens);
-				otherScore = evaluateSquares(squares2, otherQueens);
-				return (((1 - this.aggressiveness) * myScore) - (this.aggressiveness * otherScore));
+				return ((1 - this.aggressiveness) * myScore) - (this.aggressiveness * otherScore);
 			}
 		}
-		//Store the board and queens, that are needed for the next call of bestTurnRecursive
-		int[][] tempBoard;
-		int[][] tempQueens;
-		if (maxPlayer) {
-			ArrayList<int[]> turns = allTurns(squares, myQueens);
-			if(turns.size()==0) {
-				return Float.NEGATIVE_INFINITY;
-			}
-			float maxVal = Float.NEGATIVE_INFINITY;
-			for (int[] turn : turns) {
-				tempBoard = cloneAndApply(squares, turn);
-				tempQueens = applyTurnToQueens(turn, myQueens);
-				maxVal = Math.max(maxVal, bestTurnRecursive(tempBoard, tempQueens, otherQueens, depth-1, alpha, beta, false));
-				alpha = Math.max(alpha, maxVal);
-				//Prune if beta <= alpha
-				if(beta <= alpha) {
-					//System.out.println("pruned");
-					break;
+		long hash = search.hash();
+		TranspositionTable.Entry entry = search.entry;
+		int tableTurn = TranspositionTable.NO_TURN;
+		if (this.table.probe(hash, entry)) {
+			tableTurn = entry.turn;
+			if (entry.depth >= depth) {
+				if (entry.bound == TranspositionTable.EXACT) {
+					return entry.score;
+				} else if (entry.bound == TranspositionTable.LOWER_BOUND) {
+					alpha = Math.max(alpha, entry.score);
+				} else {
+					beta = Math.min(beta, entry.score);
+				}
+				if (beta <= alpha) {
+					return entry.score;
 				}
 			}
-			return maxVal;
-		} else {
-			ArrayList<int[]> turns = allTurns(squares, otherQueens);
-			if(turns.size()==0) {
-				return Float.POSITIVE_INFINITY;
-			}
-			float minVal = Float.POSITIVE_INFINITY;
-			for (int[] turn : turns) {
-				tempBoard = cloneAndApply(squares, turn);
-				tempQueens = applyTurnToQueens(turn, otherQueens);
-				minVal = Math.min(minVal, bestTurnRecursive(tempBoard, myQueens, tempQueens, depth-1, alpha, beta, true));
-				beta = Math.min(beta, minVal);
-				if(beta <= alpha) {
-					//System.out.println("pruned");
-					break;
+		}
+		float alphaOrig = alpha;
+		float betaOrig = beta;
+		int bestTurn = TranspositionTable.NO_TURN;
+
+		// the move and the shot of a turn are searched as two half-plies: the moves are ordered on their own and the shots
+		// of a move are only generated when the search gets to the move, so after a cutoff the remaining moves are never expanded
+		GamePlayerId player = maxPlayer ? search.me : search.me.other();
+		TurnBuffer moves = search.moves[depth];
+		int numMoves = board.generateMoves(player, moves);
+		if (numMoves == 0) {
+			return maxPlayer ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+		}
+		int ply = search.ply(depth);
+		search.movesGenerated += numMoves;
+		search.ordering.orderMoves(board, moves, ply, tableTurn);
+		MoveShots moveShots = search.moveShots[depth];
+		moveShots.reserve(numMoves);
+		ZobristKeys keys = board.getZobristKeys();
+
+		float bestVal = maxPlayer ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+		// first the good shots of all moves, then the rest, so a cutoff is found before the bad shots of the first move.
+		// the shots of a move are generated and sorted once in the first pass and kept for the second
+		moveLoop:
+		for (int stage = 0; stage < 2; stage++) {
+			for (int i = 0; i < numMoves; i++) {
+				TurnBuffer shots = moveShots.shots[i];
+				int first;
+				int last;
+				if (stage == 0) {
+					int move = moves.get(i);
+					int from = PackedTurn.from(move);
+					int to = PackedTurn.to(move);
+					Piece amazon = board.getAtSquare(from);
+					long moveHash = search.hash() ^ keys.pieceKey(from, amazon) ^ keys.pieceKey(to, amazon) ^ MOVE_KEY;
+					moveShots.hashes[i] = moveHash;
+					moveShots.best[i] = maxPlayer ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+					moveShots.bestTurns[i] = TranspositionTable.NO_TURN;
+
+					int moveTableTurn = tableTurn;
+					if (this.table.probe(moveHash, entry)) {
+						if (entry.turn != TranspositionTable.NO_TURN) {
+							moveTableTurn = entry.turn;
+						}
+						// a bound of the move from an earlier search can make its shots unnecessary:
+						// outside of the window it either cannot improve the best score or already causes a cutoff
+						boolean decided = (entry.bound == TranspositionTable.UPPER_BOUND && entry.score <= alpha)
+								|| (entry.bound == TranspositionTable.LOWER_BOUND && entry.score >= beta);
+						if (entry.depth >= depth && entry.turn != TranspositionTable.NO_TURN && decided) {
+							moveShots.good[i] = PRUNED;
+							if (maxPlayer) {
+								if (entry.score > bestVal || bestTurn == TranspositionTable.NO_TURN) {
+									bestVal = entry.score;
+									bestTurn = entry.turn;
+								}
+								alpha = Math.max(alpha, bestVal);
+							} else {
+								if (entry.score < bestVal || bestTurn == TranspositionTable.NO_TURN) {
+									bestVal = entry.score;
+									bestTurn = entry.turn;
+								}
+								beta = Math.min(beta, bestVal);
+							}
+							if (beta <= alpha) {
+								break moveLoop;
+							}
+							continue;
+						}
+					}
+					board.generateShots(from, to, shots);
+					search.shotNodes++;
+					moveShots.good[i] = search.ordering.orderShots(board, player, shots, ply, moveTableTurn);
+					first = 0;
+					last = moveShots.good[i];
+				} else {
+					if (moveShots.good[i] == PRUNED) {
+						continue;
+					}
+					first = moveShots.good[i];
+					last = shots.size();
+				}
+
+				for (int j = first; j < last; j++) {
+					int turn = shots.get(j);
+					board.applyPackedTurn(turn);
+					float value = bestTurnRecursive(search, depth-1, alpha, beta, !maxPlayer);
+					board.undoPackedTurn(turn);
+					if (search.aborted) {
+						return 0;
+					}
+					if ((maxPlayer ? value > moveShots.best[i] : value < moveShots.best[i])
+							|| moveShots.bestTurns[i] == TranspositionTable.NO_TURN) {
+						moveShots.best[i] = value;
+						moveShots.bestTurns[i] = turn;
+					}
+					if (maxPlayer) {
+						if (value > bestVal || bestTurn == TranspositionTable.NO_TURN) {
+							bestVal = value;
+							bestTurn = turn;
+						}
+						alpha = Math.max(alpha, bestVal);
+					} else {
+						if (value < bestVal || bestTurn == TranspositionTable.NO_TURN) {
+							bestVal = value;
+							bestTurn = turn;
+						}
+						beta = Math.min(beta, bestVal);
+					}
+					//Prune if beta <= alpha
+					if(beta <= alpha) {
+						search.ordering.cutoff(turn, ply, depth);
+						// the move is at least (or for the enemy at most) as good as the shot that caused the cutoff
+						this.table.store(moveShots.hashes[i], depth,
+								maxPlayer ? TranspositionTable.LOWER_BOUND : TranspositionTable.UPPER_BOUND, value, turn);
+						break moveLoop;
+					}
+				}
+				// all shots of the move failed low, so its best score bounds the move from the other side
+				if (stage == 1 || last == shots.size()) {
+					this.table.store(moveShots.hashes[i], depth,
+							maxPlayer ? TranspositionTable.UPPER_BOUND : TranspositionTable.LOWER_BOUND,
+							moveShots.best[i], moveShots.bestTurns[i]);
 				}
 			}
-			return minVal;
 		}
+
+		int bound;
+		if (bestVal <= alphaOrig) {
+			bound = TranspositionTable.UPPER_BOUND;
+		} else if (bestVal >= betaOrig) {
+			bound = TranspositionTable.LOWER_BOUND;
+		} else {
+			bound = TranspositionTable.EXACT;
+		}
+		this.table.store(hash, depth, bound, bestVal, bestTurn);
+		return bestVal;
+	}
+
+	/**
+	 * @return the transposition table shared by all searches of this AI
+	 */
+	TranspositionTable getTable() {
+		return this.table;
+	}
+
+	/**
+	 * Searches a position to a fixed depth on a single thread without a time limit, to check how much the search prunes.
+	 *
+	 * @param board the position
+	 * @param id the player to move, the AI plays as it
+	 * @param depth the depth to search to
+	 * @return the number of searched positions, of generated moves and of the moves whose shots were searched
+	 */
+	long[] countNodes(Board board, GamePlayerId id, int depth) {
+		Board searchBoard = board.clone();
+		searchBoard.setPlayerToMove(id);
+		TimeManager time = new TimeManager(Duration.ofHours(1), 1, 1);
+		Search search = new Search(searchBoard, id, time, new AtomicBoolean(false), true, depth, this.tablebase);
+		this.table.newSearch();
+		search.iterationDepth = depth;
+		bestTurnRecursive(search, depth, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, true);
+		return new long[] {search.nodes, search.movesGenerated, search.shotNodes};
 	}
 }
@@ -1,11 +1,14 @@
 package aiplayer;
 
 import model.board.Board;
+import model.board.Reachability;
 import model.ids.GamePlayerId;
 import model.player.Move;
 import model.player.Shot;
 import model.player.Turn;
+import model.util.BitBoard;
 import model.util.Position;
+import model.util.RayTable;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -59,8 +62,15 @@ public class AIPlayerGreedy implements AIPlayer {
 	/**
 	 * An array of all 8 directions a queen can travel in, represented as vectors.
 	 * Useful in a few functions, therefore defined for the whole class.
+	 * The queen lines along these are precomputed in {@link RayTable}.
 	 */
-	protected static final int[][] directions = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {-1, 1}, {-1, -1}, {1, -1}};
+	protected static final int[][] directions = RayTable.DIRECTIONS;
+
+	/**
+	 * The buffers {@link #evaluateSquares} fills, every evaluating thread keeps its own
+	 * so evaluating a turn does not allocate them again.
+	 */
+	private final ThreadLocal<EvaluationBuffers> evaluationBuffers = new ThreadLocal<>();
 
 	public AIPlayerGreedy(int evaluationDepth, float[] weights, float aggressiveness, int threads) {
 		assert weights.length == evaluationDepth;
@@ -89,21 +99,24 @@ public class AIPlayerGreedy implements AIPlayer {
 	 */
 	public static ArrayList<int[]> reachableFields(int[][] squares, int sourceX, int sourceY, int ignoringX, int ignoringY) {
 		ArrayList<int[]> possibleLocations = new ArrayList<>();
-		int curX;
-		int curY;
+		int columns = squares[0].length;
+		RayTable rays = RayTable.forSize(squares.length, columns);
+		int[] raySquares = rays.getSquares();
+		int source = sourceX * columns + sourceY;
+		int ignoring = ignoringX < 0 ? -1 : ignoringX * columns + ignoringY;
 		//Iterates possible directions in which the queen could move
-		for (int[] direction : directions) {
-			//1 step in the direction is added
-			curX = sourceX + direction[0];
-			curY = sourceY + direction[1];
-			//While I am still on the board and am not standing on another piece, that is not being ignored
-			while (curX < squares.length && curY < squares[0].length && 0 <= curX && 0 <= curY &&
-					(squares[curX][curY] == -1 || (curX == ignoringX && curY == ignoringY))) {
+		for (int direction = 0; direction < RayTable.NUM_DIRECTIONS; direction++) {
+			//Walk the precomputed line until it hits the edge of the board
+			for (int i = rays.rayStart(source, direction); i < rays.rayEnd(source, direction); i++) {
+				int square = raySquares[i];
+				int curX = square / columns;
+				int curY = square % columns;
+				//Stop at another piece, that is not being ignored
+				if (squares[curX][curY] != -1 && square != ignoring) {
+					break;
+				}
 				//add the position to the result
 				possibleLocations.add(new int[]{curX, curY});
-				//1 step in the direction is added
-				curX += direction[0];
-				curY += direction[1];
 			}
 		}
 		return possibleLocations;
@@ -203,6 +216,7 @@ public class AIPlayerGreedy implements AIPlayer {
 
 	/**
 	 * This method calculates the coordinates of all the queens belonging to a specified player
+	 * by scanning the whole array, if a {@link Board} is available use {@link Board#getAmazonCoordinates} instead.
 	 *
 	 * @param squares the squares array from {@link Board}, empty fields are -1.
 	 * @param id      GamePlayerId of the player whose queens are wanted
@@ -238,47 +252,65 @@ public class AIPlayerGreedy implements AIPlayer {
 	 * @return the score of the given queens
 	 */
 	public float evaluateSquares(int[][] appliedSquares, int[][] queens) {
-		/**
-		 * reachable[0] contains an ArrayList of all positions {x,y} which are reachable in 0 turns, so just the queens
-		 * starting position
-		 * reachable[x] contains an ArrayList of all positions {x,y} which are reachable in x turns
-		 */
-		ArrayList<int[]>[] reachable = new ArrayList[this.evaluationDepth + 1];
-		for (int i = 0; i < reachable.length; i++) {
-			reachable[i] = new ArrayList<>();
+		int rows = appliedSquares.length;
+		int columns = appliedSquares[0].length;
+		EvaluationBuffers buffers = this.evaluationBuffers.get();
+		if (buffers == null || buffers.rows != rows || buffers.columns != columns) {
+			buffers = new EvaluationBuffers(rows, columns);
+			this.evaluationBuffers.set(buffers);
+		}
+
+		BitBoard empty = buffers.empty;
+		empty.clearAll();
+		for (int x = 0; x < rows; x++) {
+			for (int y = 0; y < columns; y++) {
+				if (appliedSquares[x][y] == -1) {
+					empty.set(x * columns + y);
+				}
+			}
 		}
-		// initialize reachable[0] with the queens' positions
+		BitBoard sources = buffers.sources;
+		sources.clearAll();
 		for (int[] queen : queens) {
-			reachable[0].add(queen);
+			sources.set(queen[0] * columns + queen[1]);
 		}
-		int curX;
-		int curY;
-		ArrayList<int[]> foundPositions;
-		for (int i = 0; i < this.evaluationDepth; i++) {
-			foundPositions = new ArrayList<>();
-			for (int[] startPosition : reachable[i]) {
-				for (int[] direction : AIPlayerGreedy.directions) {
-					curX = startPosition[0] + direction[0];
-					curY = startPosition[1] + direction[1];
-					while (curX < appliedSquares.length && curX >= 0 && curY < appliedSquares[0].length && curY >= 0) {
-						if (appliedSquares[curX][curY] == -2) {
-							// field is occupied
-							break;
-						} else if (appliedSquares[curX][curY] == -1) {
-							// field is undiscovered
-							foundPositions.add(new int[]{curX, curY});
-							appliedSquares[curX][curY] = i + 1;
-						}
-						curX += direction[0];
-						curY += direction[1];
-					}
-				}
+
+		// distances[s] is the number of turns the queens need to reach square s
+		buffers.reachability.queenDistances(sources, empty, this.evaluationDepth, buffers.distances);
+		return this.scoreDistances(buffers.distances);
+	}
+
+	/**
+	 * This method evaluates a board like {@link #evaluateSquares}, but works on the {@link Board} directly
+	 * so a search can apply and undo turns instead of copying squares.
+	 *
+	 * @param board     the board to evaluate
+	 * @param id        the player whose queens are scored
+	 * @param distances a buffer with one entry per square, it is overwritten
+	 * @return the score of the queens of `id`
+	 */
+	public float evaluateBoard(Board board, GamePlayerId id, int[] distances) {
+		board.getQueenDistances(id, this.evaluationDepth, distances);
+		return this.scoreDistances(distances);
+	}
+
+	/**
+	 * weights the squares by the number of turns needed to reach them, see {@link #weights}
+	 *
+	 * @param distances the queen distance of every square, obtained from {@link Reachability}
+	 * @return the weighted number of squares reachable within {@link #evaluationDepth} turns
+	 */
+	private float scoreDistances(int[] distances) {
+		int[] reachable = new int[this.evaluationDepth + 1];
+		for (int distance : distances) {
+			if (distance <= this.evaluationDepth) {
+				reachable[distance]++;
 			}
-			reachable[i + 1] = foundPositions;
 		}
+
 		int weightedSum = 0;
 		for (int i = 1; i <= this.evaluationDepth; i++) {
-			weightedSum += this.weights[i - 1] * reachable[i].size();
+			weightedSum += this.weights[i - 1] * reachable[i];
 		}
 		return weightedSum;
 	}
@@ -293,12 +325,10 @@ public class AIPlayerGreedy implements AIPlayer {
 	 * @return the score of the turn
 	 */
 	public float evaluateTurn(int[][] squares, int[] turn, int[][] myQueens, int[][] otherQueens) {
-		// two different board are needed, as evaluateSquares changes the board
-		int[][] board1 = cloneAndApply(squares, turn);
-		int[][] board2 = cloneAndApply(squares, turn);
+		int[][] appliedSquares = cloneAndApply(squares, turn);
 		int[][] newQueens = applyTurnToQueens(turn, myQueens);
-		float myScore = evaluateSquares(board1, newQueens);
-		float otherScore = evaluateSquares(board2, otherQueens);
+		float myScore = evaluateSquares(appliedSquares, newQueens);
+		float otherScore = evaluateSquares(appliedSquares, otherQueens);
 		float totalScore = ((1 - this.aggressiveness) * myScore) - (this.aggressiveness * otherScore);
 		return totalScore;
 	}
@@ -313,8 +343,8 @@ public class AIPlayerGreedy implements AIPlayer {
 	@Override
 	public Turn bestTurn(Board board, GamePlayerId id, Duration maxTurnTime) {
 		int[][] squares = board.toSquares();
-		int[][] myQueens = getQueensOfPlayer(squares, id);
-		int[][] otherQueens = getQueensOfPlayer(squares, id.other());
+		int[][] myQueens = board.getAmazonCoordinates(id);
+		int[][] otherQueens = board.getAmazonCoordinates(id.other());
 		ArrayList<int[]> turns = allTurns(squares, myQueens);
 		ArrayList<int[]> currentBestTurns = new ArrayList<>();
 		float currentBestScore = Float.NEGATIVE_INFINITY;
@@ -378,9 +408,9 @@ public class AIPlayerGreedy implements AIPlayer {
 		int rdmIndex = rdm.nextInt(currentBestTurns.toArray().length);
 		int[] randomBestTurn = currentBestTurns.get(rdmIndex);
 		// construct a turn object
-		Position from = new Position(randomBestTurn[0], randomBestTurn[1]);
-		Position to = new Position(randomBestTurn[2], randomBestTurn[3]);
-		Position shotAt = new Position(randomBestTurn[4], randomBestTurn[5]);
+		Position from = Position.of(randomBestTurn[0], randomBestTurn[1]);
+		Position to = Position.of(randomBestTurn[2], randomBestTurn[3]);
+		Position shotAt = Position.of(randomBestTurn[4], randomBestTurn[5]);
 		Shot shot = new Shot(shotAt);
 		Move move = new Move(from, to);
 		Turn resultTurn = new Turn(move, shot, id);
@@ -403,6 +433,33 @@ public class AIPlayerGreedy implements AIPlayer {
 		return result;
 	}
 
+	/**
+	 * The scratch space of {@link #evaluateSquares} for one board size, it is not thread safe.
+	 */
+	private static final class EvaluationBuffers {
+
+		private final int rows;
+
+		private final int columns;
+
+		private final Reachability reachability;
+
+		private final BitBoard empty;
+
+		private final BitBoard sources;
+
+		private final int[] distances;
+
+		EvaluationBuffers(int rows, int columns) {
+			this.rows = rows;
+			this.columns = columns;
+			this.reachability = new Reachability(rows, columns);
+			this.empty = new BitBoard(rows * columns);
+			this.sources = new BitBoard(rows * columns);
+			this.distances = new int[rows * columns];
+		}
+	}
+
 	/**
 	 * A class which evaluates a turn, given all the parameters of the {@link AIPlayerGreedy#evaluateTurn} method, and saves the
 	 * result.
@@ -0,0 +1,562 @@
+package aiplayer;
+
+import model.board.Board;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.Turn;
+import model.player.TurnBuffer;
+import model.util.BitBoard;
+import model.util.RayTable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class represents an AIPlayer.
+ * It utilizes Monte Carlo tree search: it plays many short random games (playouts) from the current position
+ * and grows a tree of the turns that won most often, choosing which turn to try next with UCT.
+ * For more information visit: https://en.wikipedia.org/wiki/Monte_Carlo_tree_search
+ *
+ * There are thousands of turns in most positions, so a node only gets more children the more often it is visited
+ * (progressive widening), the turns ordered by a cheap heuristic.
+ * Multiple threads search the same tree, a thread walking through a node adds a virtual loss to it
+ * so the other threads prefer different turns until the playout is done.
+ * The tree is kept between turns: the next search starts from the subtree of the position it is asked about,
+ * which is found after the enemy's reply, especially if the AI pondered while the enemy was thinking.
+ * @author Julian
+ */
+public class AIPlayerMCTS implements AIPlayer {
+
+	/**
+	 * How much the search tries rarely visited turns instead of the ones that won most often.
+	 * The square root of 2 is the theoretical value, smaller values search the best turns deeper.
+	 */
+	private final float exploration;
+
+	/**
+	 * The number of random turns of a playout before the winner is guessed from the territories
+	 * of both players, 0 plays every playout to the end of the game.
+	 */
+	private final int playoutTurns;
+
+	/**
+	 * How many threads search the tree, 0 uses one thread per cpu core.
+	 */
+	private final int threads;
+
+	/**
+	 * The threads running the searches next to the calling thread, null if the AI only uses one thread.
+	 */
+	private final ForkJoinPool helperPool;
+
+	/**
+	 * The tree of the last search and the position of its root, the next search starts from the matching subtree.
+	 */
+	private volatile Subtree kept;
+
+	/**
+	 * The number of visits of the root the last search continued with, 0 if it started a new tree.
+	 */
+	private volatile int reusedVisits;
+
+	/**
+	 * A node with n visits may have WIDENING_FACTOR * n^WIDENING_EXPONENT children (at least one).
+	 */
+	private static final float WIDENING_FACTOR = 2;
+	private static final float WIDENING_EXPONENT = 0.5f;
+
+	/** the number of turns a node keeps for its next children */
+	private static final int BATCH_SIZE = 16;
+
+	/** the heuristic value of a shot next to an enemy amazon, compared to the mobility of the target square */
+	private static final int BLOCKING_SHOT_SCORE = 8;
+
+	public AIPlayerMCTS(float exploration, int playoutTurns, int threads) {
+		assert exploration >= 0 && playoutTurns >= 0;
+		this.exploration = exploration;
+		this.playoutTurns = playoutTurns;
+		if (threads == 0) {
+			this.threads = Runtime.getRuntime().availableProcessors();
+		} else {
+			this.threads = threads;
+		}
+		this.helperPool = this.threads > 1 ? new ForkJoinPool(this.threads - 1) : null;
+	}
+
+	/**
+	 * A position in the tree, reached by `turn` of `player`.
+	 * All fields are guarded by the lock of the node.
+	 * A node does not store all its turns, there are too many: it keeps the next few best ones,
+	 * and when it needs more they are generated again.
+	 */
+	private static final class Node {
+		final int turn;
+		final GamePlayerId player;
+		/** shuffles the turns with the same heuristic value, the same way every time they are generated */
+		final int salt;
+
+		/** the number of finished playouts through this node */
+		int visits = 0;
+		/** the number of playouts through this node `player` won, a draw counts half */
+		float wins = 0;
+		/** the number of playouts through this node that are still running */
+		int virtualLosses = 0;
+
+		/** the number of turns of the position, -1 until the node is visited the first time */
+		int numTurns = -1;
+		/** the turns with the indices batchStart, batchStart + 1, ... in the order of the heuristic */
+		int[] batch;
+		int batchStart;
+		/** the children for the best turns, in the order of the heuristic */
+		Node[] children = new Node[4];
+		int numChildren = 0;
+
+		Node(int turn, GamePlayerId player, int salt) {
+			this.turn = turn;
+			this.player = player;
+			this.salt = salt;
+		}
+	}
+
+	/**
+	 * A node kept for the next search, with a board in the position of the node.
+	 */
+	private static final class Subtree {
+		final Board board;
+		final Node node;
+
+		Subtree(Board board, Node node) {
+			this.board = board;
+			this.node = node;
+		}
+	}
+
+	/**
+	 * The state of a single search thread, every thread plays on its own copy of the board.
+	 */
+	private static final class Playouts {
+		final Board board;
+		final SplittableRandom random;
+		/** the turns from the root to the current node */
+		final TurnBuffer path = new TurnBuffer();
+		final TurnBuffer playoutPath = new TurnBuffer();
+		final TurnBuffer turns = new TurnBuffer();
+		final TurnBuffer moves = new TurnBuffer();
+		final TurnBuffer shots = new TurnBuffer();
+		final int[] myDistances;
+		final int[] otherDistances;
+		final BitBoard enemyNeighbours;
+		long[] sortKeys = new long[256];
+		long playouts = 0;
+
+		Playouts(Board board, SplittableRandom random) {
+			this.board = board;
+			this.random = random;
+			int numSquares = board.getNumRows() * board.getNumColumns();
+			this.myDistances = new int[numSquares];
+			this.otherDistances = new int[numSquares];
+			this.enemyNeighbours = new BitBoard(numSquares);
+		}
+	}
+
+	/**
+	 * This method searches until the time of the turn runs out and returns the turn that was visited most often.
+	 *
+	 * @param board the current {@link Board} object
+	 * @param id the GamePlayerId of the player the AI is playing as
+	 * @return returns the best turn found as a Turn object
+	 * @throws IllegalStateException if the AI cannot make any turn
+	 */
+	@Override
+	public Turn bestTurn(Board board, GamePlayerId id, Duration maxTurnTime) {
+		Board searchBoard = board.clone();
+		searchBoard.setPlayerToMove(id);
+		int numSquares = searchBoard.getNumRows() * searchBoard.getNumColumns();
+		TimeManager time = new TimeManager(maxTurnTime, numSquares - searchBoard.getOccupied().cardinality(), numSquares);
+
+		SplittableRandom random = new SplittableRandom();
+		// the root is reached by the last turn of the other player
+		Node reused = this.reuse(searchBoard, id.other());
+		Node root = reused != null ? reused : new Node(TranspositionTable.NO_TURN, id.other(), random.nextInt());
+		Playouts main = new Playouts(searchBoard, random.split());
+		if (root.numTurns < 0) {
+			this.fillBatch(root, 0, main);
+		}
+		if (root.numTurns == 0) {
+			throw new IllegalStateException("no turn possible");
+		}
+		int reusedVisits = root.visits;
+		this.reusedVisits = reusedVisits;
+
+		// with a single turn there is nothing to decide
+		long playouts = 0;
+		if (root.numTurns > 1) {
+			playouts = this.searchAll(root, main, random, time, new AtomicBoolean(false));
+		}
+
+		Node best = mostVisited(root);
+		int bestTurn = best != null ? best.turn : root.batch[0];
+
+		System.out.println("MCTS: " + playouts + " playouts on " + this.threads + " threads in " + time.getElapsedMillis() + "ms"
+				+ (reused != null ? ", " + reusedVisits + " reused" : "")
+				+ (best != null ? ", best turn won " + best.wins + " of " + best.visits : ""));
+		if (best != null) {
+			Board next = searchBoard.clone();
+			next.applyPackedTurn(bestTurn);
+			this.kept = new Subtree(next, best);
+		}
+		Turn resultTurn = PackedTurn.toTurn(bestTurn, searchBoard.getNumColumns(), id);
+		System.out.println("Calculated Turn:");
+		System.out.println("Start: "+resultTurn.getMove().getStart().getX()+","+resultTurn.getMove().getStart().getY()+" End: "+resultTurn.getMove().getEnd().getX()+","+resultTurn.getMove().getEnd().getY()+" Shot: "+resultTurn.getShot().getShotPosition().getX()+","+resultTurn.getShot().getShotPosition().getY());
+		return resultTurn;
+	}
+
+	/**
+	 * Searches the replies of the enemy after our turn until it is stopped, continuing the tree of our turn.
+	 * The tree is kept, so the next turn starts with the subtree of the reply the enemy made.
+	 *
+	 * @param board the board after our turn, the enemy is to move
+	 * @param id the player the AI is playing as
+	 * @param maxTurnTime the time the enemy has for its turn
+	 * @param stop set when the enemy's turn arrived
+	 */
+	@Override
+	public void ponder(Board board, GamePlayerId id, Duration maxTurnTime, AtomicBoolean stop) {
+		Board ponderBoard = board.clone();
+		ponderBoard.setPlayerToMove(id.other());
+		int numSquares = ponderBoard.getNumRows() * ponderBoard.getNumColumns();
+		TimeManager time = new TimeManager(maxTurnTime, numSquares - ponderBoard.getOccupied().cardinality(), numSquares);
+
+		SplittableRandom random = new SplittableRandom();
+		// the root is reached by our turn, its children are the replies of the enemy
+		Node reused = this.reuse(ponderBoard, id);
+		Node root = reused != null ? reused : new Node(TranspositionTable.NO_TURN, id, random.nextInt());
+		Playouts main = new Playouts(ponderBoard, random.split());
+		if (root.numTurns < 0) {
+			this.fillBatch(root, 0, main);
+		}
+		if (root.numTurns == 0) {
+			return;
+		}
+		int reusedVisits = root.visits;
+		this.reusedVisits = reusedVisits;
+		long playouts = this.searchAll(root, main, random, time, stop);
+		this.kept = new Subtree(ponderBoard, root);
+		System.out.println("MCTS: pondered " + playouts + " playouts in " + time.getElapsedMillis() + "ms"
+				+ (reused != null ? ", " + reusedVisits + " reused" : ""));
+	}
+
+	/**
+	 * @param node a node
+	 * @return the child of the node that was visited most often, null if it has none
+	 */
+	private static Node mostVisited(Node node) {
+		Node best = null;
+		synchronized (node) {
+			for (int i = 0; i < node.numChildren; i++) {
+				if (best == null || node.children[i].visits > best.visits) {
+					best = node.children[i];
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * @return the number of visits of the root the last search continued with, 0 if it started a new tree
+	 */
+	int getReusedVisits() {
+		return this.reusedVisits;
+	}
+
+	/**
+	 * @return the turn of the most visited child of the kept tree, {@link TranspositionTable#NO_TURN} if there is none
+	 */
+	int getKeptBestTurn() {
+		Subtree subtree = this.kept;
+		Node best = subtree != null ? mostVisited(subtree.node) : null;
+		return best != null ? best.turn : TranspositionTable.NO_TURN;
+	}
+
+	/**
+	 * Takes the kept tree if the board is in the position of its root or of one of the root's children.
+	 *
+	 * @param board the board of the next search, with the player to move set
+	 * @param lastPlayer the player who made the last turn on the board
+	 * @return the node of the position of the board, null if the tree does not contain it
+	 */
+	private Node reuse(Board board, GamePlayerId lastPlayer) {
+		Subtree subtree = this.kept;
+		this.kept = null;
+		if (subtree == null) {
+			return null;
+		}
+		long hash = board.getHash();
+		if (subtree.node.player == lastPlayer && subtree.board.getHash() == hash) {
+			return subtree.node;
+		}
+		for (int i = 0; i < subtree.node.numChildren; i++) {
+			Node child = subtree.node.children[i];
+			if (child.player != lastPlayer) {
+				continue;
+			}
+			subtree.board.applyPackedTurn(child.turn);
+			boolean same = subtree.board.getHash() == hash;
+			subtree.board.undoPackedTurn(child.turn);
+			if (same) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Searches the tree with all threads of the AI until the time is up or the search is stopped.
+	 *
+	 * @param root the root of the tree, its turns are generated
+	 * @param main the state of the calling thread, the helpers get a copy of its board
+	 * @param random the source of the random numbers of the helpers
+	 * @param time the time of the search
+	 * @param stop stops the search when set
+	 * @return the number of playouts of all threads
+	 */
+	private long searchAll(Node root, Playouts main, SplittableRandom random, TimeManager time, AtomicBoolean stop) {
+		ArrayList<Playouts> helpers = new ArrayList<>();
+		ArrayList<ForkJoinTask<?>> helperTasks = new ArrayList<>();
+		for (int i = 1; i < this.threads; i++) {
+			Playouts helper = new Playouts(main.board.clone(), random.split());
+			helpers.add(helper);
+			helperTasks.add(this.helperPool.submit(() -> this.search(root, helper, time, stop)));
+		}
+		this.search(root, main, time, stop);
+
+		long playouts = main.playouts;
+		for (int i = 0; i < helperTasks.size(); i++) {
+			helperTasks.get(i).join();
+			playouts += helpers.get(i).playouts;
+		}
+		return playouts;
+	}
+
+	/**
+	 * Runs playouts from the root until the time is up or the search is stopped.
+	 *
+	 * @param root the root of the tree
+	 * @param state the state of this thread, its board is in the position of the root
+	 * @param time the time of the search
+	 * @param stop stops the search when set
+	 */
+	private void search(Node root, Playouts state, TimeManager time, AtomicBoolean stop) {
+		ArrayList<Node> path = new ArrayList<>();
+		while (!stop.get() && !time.isTimeUp()) {
+			path.clear();
+			state.path.clear();
+
+			// selection: walk down the tree, adding one new node at the end
+			Node node = root;
+			path.add(node);
+			while (true) {
+				Node child;
+				boolean isNew;
+				synchronized (node) {
+					if (node.numTurns < 0) {
+						this.fillBatch(node, 0, state);
+					}
+					if (node.numTurns == 0) {
+						break;
+					}
+					isNew = node.numChildren < this.allowedChildren(node);
+					if (isNew) {
+						int n = node.numChildren;
+						if (n >= node.batchStart + node.batch.length) {
+							this.fillBatch(node, n, state);
+						}
+						child = new Node(node.batch[n - node.batchStart], node.player.other(), state.random.nextInt());
+						if (node.numChildren == node.children.length) {
+							node.children = Arrays.copyOf(node.children, 2 * node.numChildren);
+						}
+						node.children[node.numChildren++] = child;
+					} else {
+						child = this.select(node);
+					}
+					child.virtualLosses++;
+				}
+				state.board.applyPackedTurn(child.turn);
+				state.path.add(child.turn);
+				path.add(child);
+				node = child;
+				if (isNew) {
+					break;
+				}
+			}
+
+			// simulation: play randomly from the new node, the player who made its turn is node.player
+			float result = this.playout(state, node.player);
+
+			// backpropagation: result is the share of the game node.player won
+			for (int i = path.size() - 1; i >= 0; i--) {
+				Node n = path.get(i);
+				synchronized (n) {
+					n.visits++;
+					n.wins += n.player == node.player ? result : 1 - result;
+					if (i > 0) {
+						n.virtualLosses--;
+					}
+				}
+			}
+			for (int i = state.path.size() - 1; i >= 0; i--) {
+				state.board.undoPackedTurn(state.path.get(i));
+			}
+			state.playouts++;
+		}
+	}
+
+	/**
+	 * @return the number of children the node may have with its current number of visits
+	 */
+	private int allowedChildren(Node node) {
+		int allowed = 1 + (int) (WIDENING_FACTOR * Math.pow(node.visits + node.virtualLosses, WIDENING_EXPONENT));
+		return Math.min(allowed, node.numTurns);
+	}
+
+	/**
+	 * UCT: the child with the highest upper confidence bound of its win rate, running playouts count as losses.
+	 *
+	 * @param node a node with at least one child, its lock is held
+	 * @return the child to search next
+	 */
+	private Node select(Node node) {
+		double logVisits = Math.log(Math.max(1, node.visits + node.virtualLosses));
+		Node best = null;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < node.numChildren; i++) {
+			Node child = node.children[i];
+			int visits;
+			float wins;
+			synchronized (child) {
+				visits = child.visits + child.virtualLosses;
+				wins = child.wins;
+			}
+			double value = visits == 0
+					? Double.POSITIVE_INFINITY
+					: wins / visits + this.exploration * Math.sqrt(logVisits / visits);
+			if (value > bestValue) {
+				bestValue = value;
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Generates the turns of a node, orders them by a cheap heuristic and keeps the next {@link #BATCH_SIZE} of them.
+	 * The heuristic puts moves to squares with a high mobility and shots next to an enemy amazon first,
+	 * turns with the same value are shuffled by the salt of the node, so the order is the same every time.
+	 *
+	 * @param node the node, its lock is held
+	 * @param start the index of the first turn to keep
+	 * @param state the state of the thread, its board is in the position of the node
+	 */
+	private void fillBatch(Node node, int start, Playouts state) {
+		Board board = state.board;
+		TurnBuffer turns = state.turns;
+		int count = board.generateTurns(node.player.other(), turns);
+		if (count > state.sortKeys.length) {
+			state.sortKeys = new long[Math.max(count, 2 * state.sortKeys.length)];
+		}
+
+		RayTable rays = board.getRayTable();
+		BitBoard enemies = board.getAmazons(node.player);
+		state.enemyNeighbours.clearAll();
+		for (int square = enemies.nextSetBit(0); square >= 0; square = enemies.nextSetBit(square + 1)) {
+			state.enemyNeighbours.or(rays.getNeighbourMask(square));
+		}
+
+		long[] keys = state.sortKeys;
+		int lastTo = -1;
+		int lastFrom = -1;
+		int toScore = 0;
+		for (int i = 0; i < count; i++) {
+			int turn = turns.get(i);
+			if (PackedTurn.from(turn) != lastFrom || PackedTurn.to(turn) != lastTo) {
+				lastFrom = PackedTurn.from(turn);
+				lastTo = PackedTurn.to(turn);
+				toScore = board.getMobilityOf(lastTo);
+			}
+			int score = toScore + (state.enemyNeighbours.get(PackedTurn.shot(turn)) ? BLOCKING_SHOT_SCORE : 0);
+			int shuffle = ((turn ^ node.salt) * 0x9E3779B9) >>> 8;
+			// sorted ascending: the score descending, then the shuffled turns, the packed turn itself in the lowest 30 bits
+			keys[i] = ((long) -score << 54) | ((long) shuffle << 30) | turn;
+		}
+		Arrays.sort(keys, 0, count);
+
+		node.numTurns = count;
+		node.batchStart = start;
+		node.batch = new int[Math.max(0, Math.min(BATCH_SIZE, count - start))];
+		for (int i = 0; i < node.batch.length; i++) {
+			node.batch[i] = (int) (keys[start + i] & ((1 << 30) - 1));
+		}
+	}
+
+	/**
+	 * Plays random turns from the position of the board, reverting them afterwards.
+	 * Every turn is drawn by picking a random move first and then a random shot of it,
+	 * which is much cheaper than generating all turns.
+	 *
+	 * @param state the state of the thread
+	 * @param lastPlayer the player who made the last turn on the board
+	 * @return 1 if `lastPlayer` won, 0 if it lost, 0.5 if the territories after the playout are equal
+	 */
+	private float playout(Playouts state, GamePlayerId lastPlayer) {
+		Board board = state.board;
+		TurnBuffer path = state.playoutPath;
+		path.clear();
+		GamePlayerId player = lastPlayer.other();
+		GamePlayerId winner = null;
+
+		for (int i = 0; this.playoutTurns == 0 || i < this.playoutTurns; i++) {
+			if (board.generateMoves(player, state.moves) == 0) {
+				winner = player.other();
+				break;
+			}
+			int move = state.moves.get(state.random.nextInt(state.moves.size()));
+			board.generateShots(PackedTurn.from(move), PackedTurn.to(move), state.shots);
+			int turn = state.shots.get(state.random.nextInt(state.shots.size()));
+			board.applyPackedTurn(turn);
+			path.add(turn);
+			player = player.other();
+		}
+
+		float result;
+		if (winner != null) {
+			result = winner == lastPlayer ? 1 : 0;
+		} else {
+			result = this.territoryResult(board, lastPlayer, state);
+		}
+
+		for (int i = path.size() - 1; i >= 0; i--) {
+			board.undoPackedTurn(path.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Guesses the winner of an unfinished game: every square belongs to the player whose amazons reach it in fewer moves.
+	 *
+	 * @return 1 if `id` owns more squares, 0 if it owns less, 0.5 otherwise
+	 */
+	private float territoryResult(Board board, GamePlayerId id, Playouts state) {
+		board.getQueenDistances(id, state.myDistances);
+		board.getQueenDistances(id.other(), state.otherDistances);
+		int balance = 0;
+		for (int i = 0; i < state.myDistances.length; i++) {
+			balance += Integer.compare(state.otherDistances[i], state.myDistances[i]);
+		}
+		return balance > 0 ? 1 : balance < 0 ? 0 : 0.5f;
+	}
+}
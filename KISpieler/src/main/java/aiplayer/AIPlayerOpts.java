@@ -10,6 +10,11 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 
 public class AIPlayerOpts {
+	/** the engine searching with {@link AIPlayerAlphaBeta} */
+	public static final String ENGINE_ALPHA_BETA = "alphabeta";
+	/** the engine searching with {@link AIPlayerMCTS} */
+	public static final String ENGINE_MCTS = "mcts";
+
 	@JsonRequireRecv
 	public String hostname;
 
@@ -19,10 +24,45 @@ public class AIPlayerOpts {
 	@JsonRequireRecv
 	public Boolean insecure;
 
+	/**
+	 * The size of the transposition table of the search in megabytes, see {@link TranspositionTable}
+	 */
+	public Integer hashSize;
+
+	/**
+	 * The number of threads the search uses, 0 for one per cpu core
+	 */
+	public Integer threads;
+
+	/**
+	 * The file of the endgame tablebase, see {@link TablebaseGenerator}, null to play without one
+	 */
+	public String tablebase;
+
+	/**
+	 * Whether the ai keeps searching while the enemy is thinking, see {@link AIPlayer#ponder}
+	 */
+	public Boolean ponder;
+
+	/**
+	 * The engine that searches the turns, {@link #ENGINE_ALPHA_BETA} or {@link #ENGINE_MCTS}
+	 */
+	public String engine;
+
 	public AIPlayerOpts(String hostname, int port, boolean insecure) {
+		this(hostname, port, insecure, TranspositionTable.DEFAULT_MEGABYTES, 0, null, false, ENGINE_ALPHA_BETA);
+	}
+
+	public AIPlayerOpts(String hostname, int port, boolean insecure, int hashSize, int threads, String tablebase, boolean ponder,
+			String engine) {
 		this.hostname = hostname;
 		this.port = port;
 		this.insecure = insecure;
+		this.hashSize = hashSize;
+		this.threads = threads;
+		this.tablebase = tablebase;
+		this.ponder = ponder;
+		this.engine = engine;
 	}
 
 	public static AIPlayerOpts fromArgsOrDie(String[] args) {
@@ -60,11 +100,43 @@ public class AIPlayerOpts {
 		insecure.setRequired(false);
 		options.addOption(insecure);
 
+		Option hashSize = new Option("hash", true,
+				"The size of the transposition table of the ai in megabytes");
+		hashSize.setRequired(false);
+		hashSize.setArgName("Megabytes");
+		options.addOption(hashSize);
+
+		Option threads = new Option("threads", true,
+				"The number of threads the ai searches with, 0 (the default) uses every cpu core");
+		threads.setRequired(false);
+		threads.setArgName("Threads");
+		options.addOption(threads);
+
+		Option tablebase = new Option("tablebase", true,
+				"The endgame tablebase file written by the TablebaseGenerator, the ai searches small endgames without it");
+		tablebase.setRequired(false);
+		tablebase.setArgName("File");
+		options.addOption(tablebase);
+
+		Option ponder = new Option("ponder", false,
+				"Keeps the ai searching while the enemy is thinking, this uses the cpu all the time");
+		ponder.setRequired(false);
+		options.addOption(ponder);
+
+		Option engine = new Option("engine", true,
+				"The engine the ai searches with: " + ENGINE_ALPHA_BETA + " (the default) or " + ENGINE_MCTS);
+		engine.setRequired(false);
+		engine.setArgName("Engine");
+		options.addOption(engine);
+
 		//Begin parsing:
 		CommandLineParser parser = new DefaultParser();
 		CommandLine cmd;
 		String hostnameValue = "localhost"; // default hostname
 		int portValue = 33098; // default port
+		int hashSizeValue = TranspositionTable.DEFAULT_MEGABYTES;
+		int threadsValue = 0;
+		String engineValue = ENGINE_ALPHA_BETA;
 
 		try {
 			cmd = parser.parse(options, args);
@@ -76,6 +148,27 @@ public class AIPlayerOpts {
 			if(cmd.hasOption("port")) {
 				portValue = Integer.parseInt(cmd.getOptionValue("port"));
 			}
+
+			if(cmd.hasOption("hash")) {
+				hashSizeValue = Integer.parseInt(cmd.getOptionValue("hash"));
+				if (hashSizeValue < 1) {
+					throw new NumberFormatException("hash size must be at least 1 MB");
+				}
+			}
+
+			if(cmd.hasOption("threads")) {
+				threadsValue = Integer.parseInt(cmd.getOptionValue("threads"));
+				if (threadsValue < 0) {
+					throw new NumberFormatException("number of threads must not be negative");
+				}
+			}
+
+			if(cmd.hasOption("engine")) {
+				engineValue = cmd.getOptionValue("engine");
+				if (!engineValue.equals(ENGINE_ALPHA_BETA) && !engineValue.equals(ENGINE_MCTS)) {
+					throw new ParseException("unknown engine: " + engineValue);
+				}
+			}
 		} catch (NumberFormatException | ParseException e) {
 			//Invalid argument:
 
@@ -101,7 +194,8 @@ public class AIPlayerOpts {
 			throw new IllegalArgumentException(msg);
 		}
 
-		return new AIPlayerOpts(hostnameValue, portValue, cmd.hasOption("insecure"));
+		return new AIPlayerOpts(hostnameValue, portValue, cmd.hasOption("insecure"), hashSizeValue, threadsValue,
+				cmd.getOptionValue("tablebase"), cmd.hasOption("ponder"), engineValue);
 	}
 
 	public static AIPlayerOpts fromJson(String json) throws JsonParseException, JsonValidationException {
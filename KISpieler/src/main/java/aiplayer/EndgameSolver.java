@@ -0,0 +1,344 @@
+package aiplayer;
+
+import model.board.Board;
+import model.board.RegionAnalyzer;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.util.BitBoard;
+import model.util.RayTable;
+
+import java.util.HashMap;
+
+/**
+ * This class finds the turn that lets a sealed off player make as many turns as possible.
+ * Once no enemy can enter the regions of a player, the game only depends on how many turns the player can still make there,
+ * so this is a puzzle for a single player. The regions of the player and its amazons (at most {@link #MAX_AREA} squares)
+ * are numbered, so a position is just two longs: the empty squares and the amazons.
+ * Every position is split into independent parts (empty squares connected through each other or an amazon),
+ * which are solved one by one and remembered, and a part stops searching once it used all of its squares.
+ * Parts small enough for the {@link EndgameTablebase} are looked up instead.
+ * @author Julian
+ */
+public class EndgameSolver {
+
+	/** the maximum number of squares in the regions of the player, including its amazons */
+	public static final int MAX_AREA = 64;
+
+	/** the deadline is checked every this many positions */
+	private static final int TIME_CHECK_INTERVAL = 1024;
+
+	private final int numDirections = RayTable.NUM_DIRECTIONS;
+
+	/** the square index on the board of every square of the area */
+	private final int[] squares;
+	/** the number of columns of the board of {@link #squares} */
+	private final int numColumns;
+	/** the next square of the area in every direction, indexed by square * 8 + direction, -1 if the ray leaves the area */
+	private final int[] next;
+	/** the neighbours of every square of the area */
+	private final long[] neighbours;
+
+	private final long startEmpty;
+	private final long startAmazons;
+
+	/** looks up small parts instead of searching them, may be null */
+	private final EndgameTablebase tablebase;
+	/** the number of turns of every solved part */
+	private final HashMap<Part, Integer> solved = new HashMap<>();
+	private int bestValue;
+	private TimeManager time;
+	private boolean aborted;
+	private long positions;
+
+	/**
+	 * Collects the regions bordering the amazons of `id` and these amazons.
+	 * The caller has to make sure no enemy amazon borders them (see {@link RegionAnalyzer#isSealedOff}).
+	 *
+	 * @param board the current board
+	 * @param id the player to solve for
+	 * @throws IllegalArgumentException if the area has more than {@link #MAX_AREA} squares
+	 */
+	public EndgameSolver(Board board, GamePlayerId id) {
+		this(board, id, null);
+	}
+
+	/**
+	 * Like {@link #EndgameSolver(Board, GamePlayerId)}, but small parts are looked up in a tablebase instead of searched.
+	 *
+	 * @param board the current board
+	 * @param id the player to solve for
+	 * @param tablebase the tablebase, or null
+	 * @throws IllegalArgumentException if the area has more than {@link #MAX_AREA} squares
+	 */
+	public EndgameSolver(Board board, GamePlayerId id, EndgameTablebase tablebase) {
+		this(board.getRayTable(), board.getNumColumns(), collectArea(board, id), board.getAmazons(id), tablebase);
+	}
+
+	/**
+	 * Creates a solver for a region shape of the {@link EndgameTablebase}, see {@link #turnsLeft}.
+	 *
+	 * @param shape the squares of the shape in a {@link EndgameTablebase#SHAPE_SIZE} board
+	 */
+	EndgameSolver(long shape) {
+		this(RayTable.forSize(EndgameTablebase.SHAPE_SIZE, EndgameTablebase.SHAPE_SIZE), EndgameTablebase.SHAPE_SIZE,
+				EndgameTablebase.shapeSquares(shape), new BitBoard(EndgameTablebase.SHAPE_SIZE * EndgameTablebase.SHAPE_SIZE), null);
+	}
+
+	private EndgameSolver(RayTable rays, int numColumns, BitBoard area, BitBoard amazons, EndgameTablebase tablebase) {
+		if (area.cardinality() > MAX_AREA) {
+			throw new IllegalArgumentException("the area has " + area.cardinality() + " squares, at most " + MAX_AREA + " are supported");
+		}
+		this.numColumns = numColumns;
+		this.tablebase = tablebase;
+
+		this.squares = new int[area.cardinality()];
+		int[] localOf = new int[area.size()];
+		int n = 0;
+		for (int square = area.nextSetBit(0); square >= 0; square = area.nextSetBit(square + 1)) {
+			localOf[square] = n;
+			this.squares[n++] = square;
+		}
+
+		int[] raySquares = rays.getSquares();
+		this.next = new int[n * this.numDirections];
+		this.neighbours = new long[n];
+		long empty = 0;
+		long amazonSquares = 0;
+		for (int i = 0; i < n; i++) {
+			int square = this.squares[i];
+			for (int dir = 0; dir < this.numDirections; dir++) {
+				int start = rays.rayStart(square, dir);
+				boolean inArea = start < rays.rayEnd(square, dir) && area.get(raySquares[start]);
+				this.next[i * this.numDirections + dir] = inArea ? localOf[raySquares[start]] : -1;
+				if (inArea) {
+					this.neighbours[i] |= 1L << localOf[raySquares[start]];
+				}
+			}
+			if (amazons.get(square)) {
+				amazonSquares |= 1L << i;
+			} else {
+				empty |= 1L << i;
+			}
+		}
+		this.startEmpty = empty;
+		this.startAmazons = amazonSquares;
+	}
+
+	/**
+	 * @return the regions bordering the amazons of `id` and these amazons
+	 */
+	private static BitBoard collectArea(Board board, GamePlayerId id) {
+		RegionAnalyzer regions = new RegionAnalyzer(board);
+		BitBoard area = new BitBoard(board.getNumRows() * board.getNumColumns());
+		for (int r = 0; r < regions.getRegionCount(); r++) {
+			BitBoard bordering = regions.getBorderingAmazons(r, id);
+			if (!bordering.isEmpty()) {
+				area.or(regions.getRegionSquares(r));
+				area.or(bordering);
+			}
+		}
+		return area;
+	}
+
+	/**
+	 * @return the number of empty squares in the regions of the player, no more turns are possible
+	 */
+	public int getFreeFields() {
+		return Long.bitCount(this.startEmpty);
+	}
+
+	/**
+	 * @return the number of turns possible with the turn found by the last {@link #bestTurn}, including that turn
+	 */
+	public int getBestValue() {
+		return this.bestValue;
+	}
+
+	/**
+	 * Searches the turn after which the most turns are possible.
+	 *
+	 * @param time the time of the turn, the search gives up once it is up
+	 * @return the best packed turn, {@link TranspositionTable#NO_TURN} if there is no turn or the time ran out
+	 */
+	public int bestTurn(TimeManager time) {
+		this.time = time;
+		this.aborted = false;
+		this.positions = 0;
+		this.bestValue = 0;
+
+		int bound = Long.bitCount(this.startEmpty);
+		int best = 0;
+		int bestTurn = TranspositionTable.NO_TURN;
+		for (long from = this.startAmazons; from != 0; from &= from - 1) {
+			int amazon = Long.numberOfTrailingZeros(from);
+			long movedEmpty = this.startEmpty | (1L << amazon);
+			for (int dir = 0; dir < this.numDirections; dir++) {
+				for (int to = this.step(amazon, dir, movedEmpty); to >= 0; to = this.step(to, dir, movedEmpty)) {
+					long amazons = this.startAmazons & ~(1L << amazon) | (1L << to);
+					long shotEmpty = movedEmpty & ~(1L << to);
+					for (int shotDir = 0; shotDir < this.numDirections; shotDir++) {
+						for (int shot = this.step(to, shotDir, shotEmpty); shot >= 0; shot = this.step(shot, shotDir, shotEmpty)) {
+							int value = 1 + this.solve(shotEmpty & ~(1L << shot), amazons);
+							if (this.aborted) {
+								return TranspositionTable.NO_TURN;
+							}
+							if (value > best) {
+								best = value;
+								bestTurn = PackedTurn.pack(this.squares[amazon], this.squares[to], this.squares[shot]);
+								this.bestValue = best;
+								if (best == bound) {
+									return bestTurn;
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		return bestTurn;
+	}
+
+	/**
+	 * @param amazons the squares of the shape with an amazon on them, the first square of the shape is bit 0
+	 * @return the number of turns possible in the shape of this solver if the other squares are empty
+	 */
+	int turnsLeft(long amazons) {
+		long all = this.startEmpty | this.startAmazons;
+		return this.solve(all & ~amazons, amazons);
+	}
+
+	/**
+	 * @return the number of turns possible in a position, the sum over its independent parts
+	 */
+	private int solve(long empty, long amazons) {
+		int total = 0;
+		long rest = empty | amazons;
+		while (rest != 0) {
+			long part = this.fill(Long.lowestOneBit(rest), empty | amazons);
+			rest &= ~part;
+			if ((part & amazons) != 0 && (part & empty) != 0) {
+				total += this.solvePart(part & empty, part & amazons);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * @return all squares of `allowed` connected to `seed` through each other
+	 */
+	private long fill(long seed, long allowed) {
+		long part = seed;
+		long frontier = seed;
+		while (frontier != 0) {
+			long grown = 0;
+			for (long f = frontier; f != 0; f &= f - 1) {
+				grown |= this.neighbours[Long.numberOfTrailingZeros(f)];
+			}
+			frontier = grown & allowed & ~part;
+			part |= frontier;
+		}
+		return part;
+	}
+
+	/**
+	 * @return the number of turns possible in a single connected part
+	 */
+	private int solvePart(long empty, long amazons) {
+		long part = empty | amazons;
+		if (this.tablebase != null && Long.bitCount(part) <= this.tablebase.getMaxSquares()) {
+			return this.tablebase.lookup(this.shapeOf(part), EndgameTablebase.placementOf(part, amazons));
+		}
+		Part key = new Part(empty, amazons);
+		Integer known = this.solved.get(key);
+		if (known != null) {
+			return known;
+		}
+		if (++this.positions % TIME_CHECK_INTERVAL == 0 && this.time != null && this.time.isTimeUp()) {
+			this.aborted = true;
+		}
+		if (this.aborted) {
+			return 0;
+		}
+
+		// every turn fills one square
+		int bound = Long.bitCount(empty);
+		int best = 0;
+		search:
+		for (long from = amazons; from != 0; from &= from - 1) {
+			int amazon = Long.numberOfTrailingZeros(from);
+			long movedEmpty = empty | (1L << amazon);
+			for (int dir = 0; dir < this.numDirections; dir++) {
+				for (int to = this.step(amazon, dir, movedEmpty); to >= 0; to = this.step(to, dir, movedEmpty)) {
+					long movedAmazons = amazons & ~(1L << amazon) | (1L << to);
+					long shotEmpty = movedEmpty & ~(1L << to);
+					for (int shotDir = 0; shotDir < this.numDirections; shotDir++) {
+						for (int shot = this.step(to, shotDir, shotEmpty); shot >= 0; shot = this.step(shot, shotDir, shotEmpty)) {
+							best = Math.max(best, 1 + this.solve(shotEmpty & ~(1L << shot), movedAmazons));
+							if (best == bound || this.aborted) {
+								break search;
+							}
+						}
+					}
+				}
+			}
+		}
+		if (!this.aborted) {
+			this.solved.put(key, best);
+		}
+		return best;
+	}
+
+	/**
+	 * @return the squares of a part moved to the top left corner of a {@link EndgameTablebase#SHAPE_SIZE} board
+	 */
+	private long shapeOf(long part) {
+		int minRow = Integer.MAX_VALUE;
+		int minColumn = Integer.MAX_VALUE;
+		for (long p = part; p != 0; p &= p - 1) {
+			int square = this.squares[Long.numberOfTrailingZeros(p)];
+			minRow = Math.min(minRow, square / this.numColumns);
+			minColumn = Math.min(minColumn, square % this.numColumns);
+		}
+		long shape = 0;
+		for (long p = part; p != 0; p &= p - 1) {
+			int square = this.squares[Long.numberOfTrailingZeros(p)];
+			shape |= 1L << ((square / this.numColumns - minRow) * EndgameTablebase.SHAPE_SIZE + square % this.numColumns - minColumn);
+		}
+		return shape;
+	}
+
+	/**
+	 * @return the next square from `square` in direction `dir` if it is empty, -1 otherwise
+	 */
+	private int step(int square, int dir, long empty) {
+		int next = this.next[square * this.numDirections + dir];
+		return next >= 0 && (empty & (1L << next)) != 0 ? next : -1;
+	}
+
+	/**
+	 * the key of a solved part
+	 */
+	private static final class Part {
+		private final long empty;
+		private final long amazons;
+
+		private Part(long empty, long amazons) {
+			this.empty = empty;
+			this.amazons = amazons;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Part)) {
+				return false;
+			}
+			Part other = (Part) o;
+			return this.empty == other.empty && this.amazons == other.amazons;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(this.empty * 0x9E3779B97F4A7C15L + this.amazons);
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package aiplayer;
+
+import model.board.Board;
+import model.ids.GamePlayerId;
+import model.util.BitBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class looks up how many turns a player can still make in a small region only its amazons border.
+ * Regions like this come up again and again once the players are separated, so {@link TablebaseGenerator} solves
+ * every region shape and amazon placement up to a few squares once and writes the results into a file,
+ * which is memory-mapped here so looking up a region is a binary search over the shapes and a single byte read.
+ * <p>
+ * A shape is a set of squares (empty or with an amazon) that are connected through each other, moved to the top left corner
+ * of a {@link #SHAPE_SIZE} x {@link #SHAPE_SIZE} board and stored as a long with bit row * SHAPE_SIZE + column.
+ * A placement tells which squares of the shape hold the amazons, bit i stands for the i-th square of the shape.
+ * The file consists of:
+ * <pre>
+ * int      MAGIC
+ * int      VERSION
+ * int      the maximum number of squares of a shape
+ * int      the number of shapes n
+ * long[n]  the shapes, sorted
+ * int[n]   the offset of the turns of every shape in the following bytes
+ * byte[]   the turns of every placement of every shape, 2^k placements for a shape of k squares
+ * </pre>
+ * A tablebase can be shared by all threads.
+ * @author Julian
+ */
+public class EndgameTablebase {
+
+	public static final int MAGIC = 0x414D5A54;
+	public static final int VERSION = 1;
+	/** the width and height of the board shapes are stored in, so a shape fits into a long */
+	public static final int SHAPE_SIZE = 8;
+	/** the maximum number of squares of a shape, a connected shape of 8 squares always fits into the board */
+	public static final int MAX_SQUARES = SHAPE_SIZE;
+
+	static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+	private final ByteBuffer buffer;
+	private final int maxSquares;
+	private final int numShapes;
+	private final int offsetsStart;
+	private final int turnsStart;
+
+	/**
+	 * @param buffer the contents of a tablebase file
+	 * @throws IOException if the buffer does not hold a tablebase
+	 */
+	EndgameTablebase(ByteBuffer buffer) throws IOException {
+		if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("not an endgame tablebase of version " + VERSION);
+		}
+		this.buffer = buffer;
+		this.maxSquares = buffer.getInt(8);
+		this.numShapes = buffer.getInt(12);
+		this.offsetsStart = HEADER_BYTES + this.numShapes * Long.BYTES;
+		this.turnsStart = this.offsetsStart + this.numShapes * Integer.BYTES;
+		if (this.maxSquares < 0 || this.maxSquares > MAX_SQUARES || this.turnsStart > buffer.capacity()) {
+			throw new IOException("the endgame tablebase is broken");
+		}
+	}
+
+	/**
+	 * Maps a tablebase file into memory, it is read by the operating system as it is used.
+	 *
+	 * @param file a file written by {@link TablebaseGenerator}
+	 * @return the tablebase
+	 * @throws IOException if the file can not be read or is not a tablebase
+	 */
+	public static EndgameTablebase open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			return new EndgameTablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * @return the maximum number of squares of the shapes in the tablebase
+	 */
+	public int getMaxSquares() {
+		return this.maxSquares;
+	}
+
+	/**
+	 * @param shape a shape with at most {@link #getMaxSquares()} squares
+	 * @param placement the squares of the shape with an amazon on them
+	 * @return the number of turns the amazons can make in the shape
+	 * @throws IllegalArgumentException if the shape is not in the tablebase
+	 */
+	public int lookup(long shape, int placement) {
+		int low = 0;
+		int high = this.numShapes - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long found = this.buffer.getLong(HEADER_BYTES + middle * Long.BYTES);
+			if (found < shape) {
+				low = middle + 1;
+			} else if (found > shape) {
+				high = middle - 1;
+			} else {
+				return this.buffer.get(this.turnsStart + this.buffer.getInt(this.offsetsStart + middle * Integer.BYTES) + placement);
+			}
+		}
+		throw new IllegalArgumentException("shape " + Long.toHexString(shape) + " is not in the tablebase");
+	}
+
+	/**
+	 * @return a new probe for a search thread
+	 */
+	public Probe newProbe() {
+		return new Probe();
+	}
+
+	/**
+	 * @param shape a shape
+	 * @return the squares of the shape on a {@link #SHAPE_SIZE} x {@link #SHAPE_SIZE} board
+	 */
+	static BitBoard shapeSquares(long shape) {
+		BitBoard squares = new BitBoard(SHAPE_SIZE * SHAPE_SIZE);
+		for (long s = shape; s != 0; s &= s - 1) {
+			squares.set(Long.numberOfTrailingZeros(s));
+		}
+		return squares;
+	}
+
+	/**
+	 * @param squares some squares, numbered in the order of the rows and columns of the board
+	 * @param amazons the squares of `squares` with an amazon on them
+	 * @return the placement of the amazons, bit i is set if the i-th square of `squares` holds an amazon
+	 */
+	static int placementOf(long squares, long amazons) {
+		int placement = 0;
+		int i = 0;
+		for (long s = squares; s != 0; s &= s - 1, i++) {
+			if ((amazons & Long.lowestOneBit(s)) != 0) {
+				placement |= 1 << i;
+			}
+		}
+		return placement;
+	}
+
+	/**
+	 * Finds the regions of a board and looks them up, every search thread needs its own.
+	 */
+	public class Probe {
+		/** the turns each player can still make, indexed by {@link GamePlayerId#get()}, valid after a successful probe */
+		public final int[] turns = new int[2];
+
+		private BitBoard remaining;
+		private BitBoard part;
+		private BitBoard frontier;
+		private BitBoard grown;
+
+		/**
+		 * Looks up the turns both players can still make, if the players are separated and all regions are in the tablebase.
+		 * Regions are split like in the {@link EndgameSolver}: empty squares and amazons connected through each other.
+		 *
+		 * @param board the board to look up
+		 * @return true if {@link #turns} holds the result, false if a region is too big or borders amazons of both players
+		 */
+		public boolean probe(Board board) {
+			int numSquares = board.getNumRows() * board.getNumColumns();
+			if (this.remaining == null || this.remaining.size() != numSquares) {
+				this.remaining = new BitBoard(numSquares);
+				this.part = new BitBoard(numSquares);
+				this.frontier = new BitBoard(numSquares);
+				this.grown = new BitBoard(numSquares);
+			}
+			BitBoard first = board.getAmazons(GamePlayerId.PLAYER1);
+			BitBoard second = board.getAmazons(GamePlayerId.PLAYER2);
+
+			// the empty squares and the amazons
+			this.remaining.setAll();
+			this.remaining.andNot(board.getOccupied());
+			this.remaining.or(first);
+			this.remaining.or(second);
+
+			this.turns[0] = 0;
+			this.turns[1] = 0;
+			int numColumns = board.getNumColumns();
+			for (int seed = this.remaining.nextSetBit(0); seed >= 0; seed = this.remaining.nextSetBit(seed + 1)) {
+				this.part.clearAll();
+				this.part.set(seed);
+				this.frontier.copyFrom(this.part);
+				int size = 1;
+				while (!this.frontier.isEmpty()) {
+					this.grown.clearAll();
+					for (int s = this.frontier.nextSetBit(0); s >= 0; s = this.frontier.nextSetBit(s + 1)) {
+						this.grown.or(board.getRayTable().getNeighbourMask(s));
+					}
+					this.grown.and(this.remaining);
+					this.grown.andNot(this.part);
+					this.part.or(this.grown);
+					this.frontier.copyFrom(this.grown);
+					size += this.grown.cardinality();
+					if (size > EndgameTablebase.this.maxSquares) {
+						return false;
+					}
+				}
+				this.remaining.andNot(this.part);
+
+				boolean hasFirst = this.part.intersects(first);
+				boolean hasSecond = this.part.intersects(second);
+				if (hasFirst && hasSecond) {
+					return false;
+				}
+				if (hasFirst || hasSecond) {
+					GamePlayerId owner = hasFirst ? GamePlayerId.PLAYER1 : GamePlayerId.PLAYER2;
+					this.turns[owner.get()] += this.lookupPart(hasFirst ? first : second, numColumns);
+				}
+			}
+			return true;
+		}
+
+		private int lookupPart(BitBoard amazons, int numColumns) {
+			int minRow = Integer.MAX_VALUE;
+			int minColumn = Integer.MAX_VALUE;
+			for (int s = this.part.nextSetBit(0); s >= 0; s = this.part.nextSetBit(s + 1)) {
+				minRow = Math.min(minRow, s / numColumns);
+				minColumn = Math.min(minColumn, s % numColumns);
+			}
+			long shape = 0;
+			int placement = 0;
+			int i = 0;
+			for (int s = this.part.nextSetBit(0); s >= 0; s = this.part.nextSetBit(s + 1), i++) {
+				shape |= 1L << ((s / numColumns - minRow) * SHAPE_SIZE + s % numColumns - minColumn);
+				if (amazons.get(s)) {
+					placement |= 1 << i;
+				}
+			}
+			return EndgameTablebase.this.lookup(shape, placement);
+		}
+	}
+}
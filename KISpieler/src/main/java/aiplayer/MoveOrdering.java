@@ -0,0 +1,199 @@
+package aiplayer;
+
+import model.board.Board;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.TurnBuffer;
+import model.util.BitBoard;
+import model.util.RayTable;
+
+import java.util.Arrays;
+
+/**
+ * This class sorts the moves of a position, and the shots of each move, before they are searched,
+ * so alpha-beta can prune as early as possible.
+ * The order is: the best turn from the {@link TranspositionTable}, then the killer turns that caused a cutoff
+ * in another position at the same ply, then all other moves by their history and the mobility of their target,
+ * and shots by being next to an enemy amazon and their history.
+ * Every search (thread) has its own, it is not thread safe.
+ * @author Julian
+ */
+public class MoveOrdering {
+
+	private static final int KILLERS_PER_PLY = 2;
+
+	private static final int TABLE_TURN_SCORE = 1 << 30;
+	private static final int KILLER_SCORE = 1 << 29;
+	/** the history is halved once a score reaches this, so it stays below the blocking shots */
+	private static final int MAX_HISTORY = 1 << 27;
+	/** shots next to an enemy amazon come before all other shots (but after the killers) */
+	private static final int BLOCKING_SHOT_SCORE = 1 << 28;
+	/** a cutoff at depth d adds d * d times this to the history */
+	private static final int HISTORY_BONUS = 16;
+
+	private final int numSquares;
+	private final int[][] killers;
+	/**
+	 * The history of the moves, indexed by from * numSquares + to, and of the shots, indexed by to * numSquares + shot.
+	 * A table for the whole packed turn would have numSquares^3 entries.
+	 */
+	private final int[] moveHistory;
+	private final int[] shotHistory;
+
+	private final BitBoard enemyNeighbours;
+	private long[] sortKeys = new long[256];
+	private int[] sortTurns = new int[256];
+
+	/**
+	 * @param numSquares the number of squares of the board
+	 * @param maxPly the maximum distance from the root of the searched positions
+	 */
+	public MoveOrdering(int numSquares, int maxPly) {
+		this.numSquares = numSquares;
+		this.killers = new int[maxPly + 1][KILLERS_PER_PLY];
+		for (int[] plyKillers : this.killers) {
+			Arrays.fill(plyKillers, TranspositionTable.NO_TURN);
+		}
+		this.moveHistory = new int[numSquares * numSquares];
+		this.shotHistory = new int[numSquares * numSquares];
+		this.enemyNeighbours = new BitBoard(numSquares);
+	}
+
+	/**
+	 * Sorts the moves generated for `board` by {@link Board#generateMoves}, the best move first.
+	 * A move is as good as the best turn made with it, so the table turn and the killers rank their moves.
+	 *
+	 * @param board the board the moves were generated for
+	 * @param moves the moves, they are sorted in place
+	 * @param ply the distance of the position from the root
+	 * @param tableTurn the best turn stored in the transposition table, or {@link TranspositionTable#NO_TURN}
+	 */
+	public void orderMoves(Board board, TurnBuffer moves, int ply, int tableTurn) {
+		int size = moves.size();
+		this.reserve(size);
+
+		int[] plyKillers = this.killers[ply];
+		for (int i = 0; i < size; i++) {
+			int move = moves.get(i);
+			int score;
+			if (sameMove(move, tableTurn)) {
+				score = TABLE_TURN_SCORE;
+			} else if (sameMove(move, plyKillers[0])) {
+				score = KILLER_SCORE;
+			} else if (sameMove(move, plyKillers[1])) {
+				score = KILLER_SCORE - 1;
+			} else {
+				int to = PackedTurn.to(move);
+				score = this.moveHistory[PackedTurn.from(move) * this.numSquares + to] + board.getMobilityOf(to);
+			}
+			this.setKey(i, move, score);
+		}
+		this.sort(moves, size);
+	}
+
+	/**
+	 * Sorts the turns of a single move generated by {@link Board#generateShots}, the best turn first.
+	 * The good turns come first: the table turn, the killers and the shots next to an enemy amazon.
+	 * Which turns are good only depends on the position and the killers of the ply, so it does not change
+	 * while the turns of the position are searched.
+	 *
+	 * @param board the board the turns were generated for
+	 * @param id the player making the turns
+	 * @param turns the turns, they are sorted in place
+	 * @param ply the distance of the position from the root
+	 * @param tableTurn the best turn stored in the transposition table, or {@link TranspositionTable#NO_TURN}
+	 * @return the number of good turns
+	 */
+	public int orderShots(Board board, GamePlayerId id, TurnBuffer turns, int ply, int tableTurn) {
+		int size = turns.size();
+		this.reserve(size);
+
+		RayTable rays = board.getRayTable();
+		BitBoard enemies = board.getAmazons(id.other());
+		this.enemyNeighbours.clearAll();
+		for (int square = enemies.nextSetBit(0); square >= 0; square = enemies.nextSetBit(square + 1)) {
+			this.enemyNeighbours.or(rays.getNeighbourMask(square));
+		}
+
+		int[] plyKillers = this.killers[ply];
+		int good = 0;
+		for (int i = 0; i < size; i++) {
+			int turn = turns.get(i);
+			int score;
+			if (turn == tableTurn) {
+				score = TABLE_TURN_SCORE;
+			} else if (turn == plyKillers[0]) {
+				score = KILLER_SCORE;
+			} else if (turn == plyKillers[1]) {
+				score = KILLER_SCORE - 1;
+			} else {
+				int shot = PackedTurn.shot(turn);
+				score = this.shotHistory[PackedTurn.to(turn) * this.numSquares + shot];
+				if (this.enemyNeighbours.get(shot)) {
+					score += BLOCKING_SHOT_SCORE;
+				}
+			}
+			// the history (the only part of the score that changes) stays below BLOCKING_SHOT_SCORE
+			if (score >= BLOCKING_SHOT_SCORE) {
+				good++;
+			}
+			this.setKey(i, turn, score);
+		}
+		this.sort(turns, size);
+		return good;
+	}
+
+	private static boolean sameMove(int move, int turn) {
+		return turn != TranspositionTable.NO_TURN
+				&& PackedTurn.from(move) == PackedTurn.from(turn) && PackedTurn.to(move) == PackedTurn.to(turn);
+	}
+
+	private void reserve(int size) {
+		if (size > this.sortKeys.length) {
+			this.sortKeys = new long[Math.max(size, 2 * this.sortKeys.length)];
+			this.sortTurns = new int[this.sortKeys.length];
+		}
+	}
+
+	private void setKey(int i, int turn, int score) {
+		this.sortTurns[i] = turn;
+		// sorting the negated score ascending sorts the score descending, the index keeps equal turns in order
+		this.sortKeys[i] = ((long) -score << 32) | i;
+	}
+
+	private void sort(TurnBuffer turns, int size) {
+		Arrays.sort(this.sortKeys, 0, size);
+		for (int i = 0; i < size; i++) {
+			turns.set(i, this.sortTurns[(int) this.sortKeys[i]]);
+		}
+	}
+
+	/**
+	 * Remembers a turn that caused a beta cutoff, so it is searched early in similar positions.
+	 *
+	 * @param turn the turn that caused the cutoff
+	 * @param ply the distance of the position from the root
+	 * @param depth the remaining depth of the position, deeper cutoffs count more
+	 */
+	public void cutoff(int turn, int ply, int depth) {
+		int[] plyKillers = this.killers[ply];
+		if (plyKillers[0] != turn) {
+			plyKillers[1] = plyKillers[0];
+			plyKillers[0] = turn;
+		}
+
+		int bonus = depth * depth * HISTORY_BONUS;
+		int from = PackedTurn.from(turn);
+		int to = PackedTurn.to(turn);
+		int moveIndex = from * this.numSquares + to;
+		int shotIndex = to * this.numSquares + PackedTurn.shot(turn);
+		this.moveHistory[moveIndex] += bonus;
+		this.shotHistory[shotIndex] += bonus;
+		if (this.moveHistory[moveIndex] >= MAX_HISTORY || this.shotHistory[shotIndex] >= MAX_HISTORY) {
+			for (int i = 0; i < this.moveHistory.length; i++) {
+				this.moveHistory[i] /= 2;
+				this.shotHistory[i] /= 2;
+			}
+		}
+	}
+}
@@ -4,7 +4,9 @@ import aiplayer.controller.TurnRequestHandler;
 import com.sun.net.httpserver.HttpServer;
 import https.HttpServerFactory;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.nio.file.Paths;
 
 public class StartUp {
 
@@ -17,9 +19,28 @@ public class StartUp {
 				new float[] {125, 64, 27, 8, 1}, 0.9f,
 				new float[] {32, 16, 8, 4, 2}, 0.8f,
 				5, 1, 10000);*/
-		AIPlayer aiAlphaBeta = new AIPlayerAlphaBeta(5, new int[]{800, 350, 160, 80}, new float[] {125, 64, 27, 8, 1}, 0.9f, 1);
+		EndgameTablebase tablebase = null;
+		if (opts.tablebase != null) {
+			try {
+				tablebase = EndgameTablebase.open(Paths.get(opts.tablebase));
+			} catch (IOException e) {
+				System.err.println("could not open the endgame tablebase: " + e.getMessage());
+				System.exit(1);
+			}
+		}
+
+		int threads = opts.threads != null ? opts.threads : 0;
+		AIPlayer engine;
+		if (AIPlayerOpts.ENGINE_MCTS.equals(opts.engine)) {
+			engine = new AIPlayerMCTS(1.4f, 10, threads);
+		} else {
+			engine = new AIPlayerAlphaBeta(5, new int[]{800, 350, 160, 80}, new float[] {125, 64, 27, 8, 1}, 0.9f,
+					threads,
+					opts.hashSize != null ? opts.hashSize : TranspositionTable.DEFAULT_MEGABYTES,
+					tablebase);
+		}
 		//AIPlayer ai = new AIPlayerGreedy(5, new float[] {125, 64, 27, 8, 1}, 0.9f, 1, 60000);
-		AIPlayer aiPlayer = new AIBuildIn(5, new float[] {125, 64, 27, 8, 1}, 0.9f, 1, aiAlphaBeta);
+		AIPlayer aiPlayer = new AIBuildIn(5, new float[] {125, 64, 27, 8, 1}, 0.9f, 1, engine, tablebase);
 
 		HttpServer server;
 		if (opts.insecure) {
@@ -28,7 +49,7 @@ public class StartUp {
 			server = HttpServerFactory.makeHttpsServerOrDie(new InetSocketAddress(opts.hostname, opts.port));
 		}
 
-		server.createContext("/", new TurnRequestHandler(aiPlayer));
+		server.createContext("/", new TurnRequestHandler(aiPlayer, opts.ponder != null && opts.ponder));
 		server.start();
 		System.out.printf("Listening on %s://%s:%d%n", opts.insecure ? "http" : "https", opts.hostname, opts.port);
 	}
@@ -0,0 +1,135 @@
+package aiplayer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+
+/**
+ * This class writes the file of an {@link EndgameTablebase}.
+ * It finds every shape of up to the given number of squares by adding a neighbouring square to every smaller shape
+ * in every possible way, and solves every amazon placement in every shape with an {@link EndgameSolver}.
+ * Usage: TablebaseGenerator &lt;file&gt; [max squares, default {@link #DEFAULT_MAX_SQUARES}]
+ * @author Julian
+ */
+public class TablebaseGenerator {
+
+	public static final int DEFAULT_MAX_SQUARES = 7;
+
+	private static final int SIZE = EndgameTablebase.SHAPE_SIZE;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("usage: TablebaseGenerator <file> [max squares, default " + DEFAULT_MAX_SQUARES + "]");
+			System.exit(1);
+		}
+		int maxSquares = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SQUARES;
+		long start = System.currentTimeMillis();
+		generate(Paths.get(args[0]), maxSquares);
+		System.out.println("Generated the tablebase up to " + maxSquares + " squares in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	/**
+	 * Solves all shapes of up to `maxSquares` squares and writes them to `file`.
+	 *
+	 * @param file the file to write
+	 * @param maxSquares the maximum number of squares of a shape, at most {@link EndgameTablebase#MAX_SQUARES}
+	 * @throws IOException if the file can not be written
+	 */
+	public static void generate(Path file, int maxSquares) throws IOException {
+		if (maxSquares < 1 || maxSquares > EndgameTablebase.MAX_SQUARES) {
+			throw new IllegalArgumentException("the tablebase supports 1 to " + EndgameTablebase.MAX_SQUARES + " squares");
+		}
+		long[] shapes = allShapes(maxSquares);
+		Arrays.sort(shapes);
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(EndgameTablebase.MAGIC);
+			out.writeInt(EndgameTablebase.VERSION);
+			out.writeInt(maxSquares);
+			out.writeInt(shapes.length);
+			for (long shape : shapes) {
+				out.writeLong(shape);
+			}
+			int offset = 0;
+			for (long shape : shapes) {
+				out.writeInt(offset);
+				offset += 1 << Long.bitCount(shape);
+			}
+			for (long shape : shapes) {
+				// the solver remembers the parts it solved, which come up again in the other placements
+				EndgameSolver solver = new EndgameSolver(shape);
+				for (int placement = 0; placement < 1 << Long.bitCount(shape); placement++) {
+					out.writeByte(solver.turnsLeft(placement));
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return every connected shape of up to `maxSquares` squares, squares are connected if they are next to each other
+	 * (including diagonally), because that is how the {@link EndgameSolver} splits positions
+	 */
+	static long[] allShapes(int maxSquares) {
+		ArrayList<Long> all = new ArrayList<>();
+		HashSet<Long> current = new HashSet<>();
+		current.add(1L);
+		for (int size = 1; size <= maxSquares; size++) {
+			all.addAll(current);
+			if (size == maxSquares) {
+				break;
+			}
+			HashSet<Long> next = new HashSet<>();
+			for (long shape : current) {
+				for (long s = shape; s != 0; s &= s - 1) {
+					int square = Long.numberOfTrailingZeros(s);
+					for (int dRow = -1; dRow <= 1; dRow++) {
+						for (int dColumn = -1; dColumn <= 1; dColumn++) {
+							long grown = grow(shape, square / SIZE + dRow, square % SIZE + dColumn);
+							if (grown != 0) {
+								next.add(grown);
+							}
+						}
+					}
+				}
+			}
+			current = next;
+		}
+		long[] shapes = new long[all.size()];
+		for (int i = 0; i < shapes.length; i++) {
+			shapes[i] = all.get(i);
+		}
+		return shapes;
+	}
+
+	/**
+	 * @return the shape with the square at `row`, `column` added and moved back to the top left corner,
+	 * 0 if the square is already part of the shape or the shape does not fit into the board anymore
+	 */
+	private static long grow(long shape, int row, int column) {
+		int shiftRows = row < 0 ? 1 : 0;
+		int shiftColumns = column < 0 ? 1 : 0;
+		long grown = 0;
+		for (long s = shape; s != 0; s &= s - 1) {
+			int square = Long.numberOfTrailingZeros(s);
+			int newColumn = square % SIZE + shiftColumns;
+			int newRow = square / SIZE + shiftRows;
+			if (newColumn >= SIZE || newRow >= SIZE) {
+				return 0;
+			}
+			grown |= 1L << (newRow * SIZE + newColumn);
+		}
+		row += shiftRows;
+		column += shiftColumns;
+		if (row >= SIZE || column >= SIZE) {
+			return 0;
+		}
+		long added = 1L << (row * SIZE + column);
+		return (grown & added) != 0 ? 0 : grown | added;
+	}
+}
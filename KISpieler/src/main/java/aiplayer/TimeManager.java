@@ -0,0 +1,103 @@
+package aiplayer;
+
+import java.time.Duration;
+
+/**
+ * This class decides how much of the time of a turn an iterative deepening search may use.
+ * The time of a turn is split by the game phase: in the opening the tree is too wide to get deep anyway,
+ * in the endgame the trees are small, so the middle game gets the biggest share.
+ * A new iteration is only started if it is expected to finish within that share,
+ * the search itself has to stop at the hard deadline, which keeps a safety margin for the network.
+ * @author Julian
+ */
+public class TimeManager {
+
+	/**
+	 * The time kept back from every turn for sending the turn, at most a fifth of the turn time.
+	 */
+	private static final long SAFETY_MARGIN_MILLIS = 2000;
+
+	/**
+	 * The share of the usable time per game phase, the phase is the share of empty squares on the board.
+	 */
+	private static final float OPENING_SHARE = 0.5f;
+	private static final float MIDDLEGAME_SHARE = 0.85f;
+	private static final float ENDGAME_SHARE = 0.6f;
+
+	/**
+	 * How much longer the next iteration is assumed to take than the last one, as long as there is no better guess.
+	 */
+	private static final long DEFAULT_GROWTH = 30;
+
+	private final long start;
+	private final long softDeadline;
+	private final long hardDeadline;
+
+	private long iterationStart;
+	private long lastIterationMillis = -1;
+	private long previousIterationMillis = -1;
+
+	/**
+	 * starts the clock of a turn
+	 *
+	 * @param maxTurnTime the time the server gives for the turn
+	 * @param emptySquares the number of empty squares on the board
+	 * @param numSquares the number of squares of the board
+	 */
+	public TimeManager(Duration maxTurnTime, int emptySquares, int numSquares) {
+		this.start = System.currentTimeMillis();
+		this.iterationStart = this.start;
+
+		long usable = maxTurnTime.toMillis() - Math.min(SAFETY_MARGIN_MILLIS, maxTurnTime.toMillis() / 5);
+		float emptyShare = (float) emptySquares / numSquares;
+		float share;
+		if (emptyShare >= 0.75f) {
+			share = OPENING_SHARE;
+		} else if (emptyShare >= 0.35f) {
+			share = MIDDLEGAME_SHARE;
+		} else {
+			share = ENDGAME_SHARE;
+		}
+
+		this.hardDeadline = this.start + usable;
+		this.softDeadline = this.start + (long) (usable * share);
+	}
+
+	/**
+	 * Marks the end of a completed iteration and the start of the next one.
+	 */
+	public void iterationFinished() {
+		long now = System.currentTimeMillis();
+		this.previousIterationMillis = this.lastIterationMillis;
+		this.lastIterationMillis = now - this.iterationStart;
+		this.iterationStart = now;
+	}
+
+	/**
+	 * The next iteration is expected to take as much longer than the last one as the last one took longer than the one before.
+	 *
+	 * @return true if the next iteration is expected to finish before the time share of this turn runs out
+	 */
+	public boolean canStartIteration() {
+		long growth = DEFAULT_GROWTH;
+		if (this.previousIterationMillis > 0) {
+			growth = Math.max(2, this.lastIterationMillis / this.previousIterationMillis);
+		}
+		long expected = Math.max(1, this.lastIterationMillis) * growth;
+		return System.currentTimeMillis() + expected <= this.softDeadline;
+	}
+
+	/**
+	 * @return true if the search has to stop now
+	 */
+	public boolean isTimeUp() {
+		return System.currentTimeMillis() >= this.hardDeadline;
+	}
+
+	/**
+	 * @return the milliseconds since the start of the turn
+	 */
+	public long getElapsedMillis() {
+		return System.currentTimeMillis() - this.start;
+	}
+}
@@ -0,0 +1,182 @@
+package aiplayer;
+
+import model.player.PackedTurn;
+
+import java.util.Arrays;
+
+/**
+ * This class stores the results of searched positions, so positions that are reached by different turn orders
+ * are only searched once. It is a fixed size table of entries indexed by the zobrist hash of the position.
+ *
+ * Every entry consists of 3 longs: the key xor the other two words, the data word (best turn, depth, bound, age)
+ * and the score. Threads read and write entries without locks, a write that is torn by another thread
+ * does not match its key anymore and is treated as a miss.
+ * Entries of older searches are always replaced, otherwise the entry with the deeper search is kept,
+ * unless the new result is the exact score of the same position.
+ * @author Julian
+ */
+public class TranspositionTable {
+
+	public static final int DEFAULT_MEGABYTES = 32;
+
+	/** the score is the exact value of the position */
+	public static final int EXACT = 0;
+	/** the score is a lower bound, the search failed high */
+	public static final int LOWER_BOUND = 1;
+	/** the score is an upper bound, the search failed low */
+	public static final int UPPER_BOUND = 2;
+
+	public static final int NO_TURN = -1;
+
+	private static final int LONGS_PER_ENTRY = 3;
+
+	// layout of the data word, the packed turn takes the lowest 30 bits
+	private static final long TURN_MASK = (1L << 30) - 1;
+	private static final int DEPTH_SHIFT = 30;
+	private static final long DEPTH_MASK = 0xFF;
+	private static final int BOUND_SHIFT = 38;
+	private static final long BOUND_MASK = 0x3;
+	private static final int AGE_SHIFT = 40;
+	private static final long AGE_MASK = 0xFF;
+	private static final int HAS_TURN_SHIFT = 48;
+	// set in every stored entry, so an empty slot (all 0) never matches
+	private static final int USED_SHIFT = 49;
+
+	private final long[] entries;
+	private final int indexMask;
+	private volatile int age = 0;
+
+	/**
+	 * @param megabytes the maximum size of the table, it is rounded down to a power of 2 of entries
+	 * @throws IllegalArgumentException if the size is too small for a single entry
+	 */
+	public TranspositionTable(int megabytes) throws IllegalArgumentException {
+		long bytes = (long) megabytes << 20;
+		long maxEntries = Math.min(bytes / (LONGS_PER_ENTRY * Long.BYTES), Integer.MAX_VALUE / LONGS_PER_ENTRY);
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("hash size too small: " + megabytes + "MB");
+		}
+		int numEntries = Integer.highestOneBit((int) maxEntries);
+		this.entries = new long[numEntries * LONGS_PER_ENTRY];
+		this.indexMask = numEntries - 1;
+	}
+
+	/**
+	 * @return the number of entries the table can hold
+	 */
+	public int capacity() {
+		return this.indexMask + 1;
+	}
+
+	/**
+	 * Marks the start of a new search, entries of older searches are replaced first from now on.
+	 */
+	public void newSearch() {
+		this.age = (this.age + 1) & (int) AGE_MASK;
+	}
+
+	/**
+	 * @return the age of the entries stored now, it advances with every {@link #newSearch()}
+	 */
+	int getAge() {
+		return this.age;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		Arrays.fill(this.entries, 0);
+	}
+
+	/**
+	 * The content of an entry, filled by {@link #probe(long, Entry)}.
+	 * Every search thread keeps its own, so probing does not allocate.
+	 */
+	public static final class Entry {
+		public int depth;
+		/** {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND} */
+		public int bound;
+		public float score;
+		/** the best packed turn (see {@link PackedTurn}), or {@link #NO_TURN} */
+		public int turn;
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param hash the hash of the position
+	 * @param entry the entry to fill
+	 * @return true if the position is stored, false if `entry` was not changed
+	 */
+	public boolean probe(long hash, Entry entry) {
+		int i = this.slot(hash);
+		long check = this.entries[i];
+		long data = this.entries[i + 1];
+		long score = this.entries[i + 2];
+		if ((check ^ data ^ score) != hash || data == 0) {
+			return false;
+		}
+		entry.depth = (int) ((data >>> DEPTH_SHIFT) & DEPTH_MASK);
+		entry.bound = (int) ((data >>> BOUND_SHIFT) & BOUND_MASK);
+		entry.score = Float.intBitsToFloat((int) score);
+		entry.turn = getTurn(data);
+		return true;
+	}
+
+	/**
+	 * Stores the result of a search, keeping a deeper result of the current search in the same slot.
+	 * A deeper bound of the same position is only replaced by an exact score.
+	 *
+	 * @param hash the hash of the position
+	 * @param depth the depth the position was searched to
+	 * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+	 * @param score the score of the position
+	 * @param bestTurn the best packed turn, or {@link #NO_TURN}
+	 */
+	public void store(long hash, int depth, int bound, float score, int bestTurn) {
+		int i = this.slot(hash);
+		long oldData = this.entries[i + 1];
+		long oldScore = this.entries[i + 2];
+		boolean sameKey = (this.entries[i] ^ oldData ^ oldScore) == hash;
+
+		if (oldData != 0 && getAge(oldData) == this.age && ((oldData >>> DEPTH_SHIFT) & DEPTH_MASK) > depth
+				&& (!sameKey || bound != EXACT)) {
+			return;
+		}
+		// keep the best turn of the position if the new search did not find one
+		if (bestTurn == NO_TURN && sameKey && hasTurn(oldData)) {
+			bestTurn = getTurn(oldData);
+		}
+
+		long data = (Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) this.age << AGE_SHIFT)
+				| (1L << USED_SHIFT);
+		if (bestTurn != NO_TURN) {
+			data |= (bestTurn & TURN_MASK) | (1L << HAS_TURN_SHIFT);
+		}
+		long scoreBits = Float.floatToRawIntBits(score) & 0xFFFFFFFFL;
+
+		this.entries[i] = hash ^ data ^ scoreBits;
+		this.entries[i + 1] = data;
+		this.entries[i + 2] = scoreBits;
+	}
+
+	private int slot(long hash) {
+		// fold the high bits in, the mask only keeps the low ones
+		return ((int) (hash ^ (hash >>> 32)) & this.indexMask) * LONGS_PER_ENTRY;
+	}
+
+	private static int getTurn(long data) {
+		return hasTurn(data) ? (int) (data & TURN_MASK) : NO_TURN;
+	}
+
+	private static boolean hasTurn(long data) {
+		return (data >>> HAS_TURN_SHIFT & 1) != 0;
+	}
+
+	private static int getAge(long data) {
+		return (int) ((data >>> AGE_SHIFT) & AGE_MASK);
+	}
+}
@@ -12,6 +12,7 @@ import model.ids.GameId;
 import model.ids.GamePlayerId;
 import model.jsonstruct.BoardStruct;
 import model.jsonstruct.TurnStruct;
+import model.player.PackedTurn;
 import model.player.Turn;
 import validation.JsonRequireRecv;
 import validation.JsonRequireRecvRecursive;
@@ -23,17 +24,42 @@ import java.io.OutputStream;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Class used to handle incoming http requests for the ai-player
+ *
+ * If pondering is enabled the ai keeps searching in the background after every turn response (see {@link AIPlayer#ponder}),
+ * until the next message arrives.
  */
 public class TurnRequestHandler implements HttpHandler {
 
 	private final Map<GameId, Duration> maxTurnTimes = new HashMap<>();
 	private final AIPlayer aiPlayer;
 
+	/**
+	 * runs the pondering of the ai, null if pondering is disabled
+	 */
+	private final ExecutorService ponderExecutor;
+	private Future<?> pondering;
+	private AtomicBoolean ponderStop;
+
 	public TurnRequestHandler(AIPlayer aiPlayer) {
+		this(aiPlayer, false);
+	}
+
+	public TurnRequestHandler(AIPlayer aiPlayer, boolean ponder) {
 		this.aiPlayer = aiPlayer;
+		this.ponderExecutor = ponder ? Executors.newSingleThreadExecutor(runnable -> {
+			// pondering must not keep the program alive
+			Thread thread = new Thread(runnable, "ponder");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
 	}
 
 	@Override
@@ -103,6 +129,9 @@ public class TurnRequestHandler implements HttpHandler {
 
 		JsonValidatingParser parser = new JsonValidatingParser();
 
+		// the ai needs all threads for the next message
+		this.stopPondering();
+
 		try {
 			JsonObject parsedBody = parseRequestBody(exchange);
 
@@ -167,6 +196,9 @@ public class TurnRequestHandler implements HttpHandler {
 			return;
 		}
 
+		// the board of a turn message carries no history, so it does not know who is to move
+		incomingBoard.setPlayerToMove(playerId);
+
 		Duration maxTurnTime = this.maxTurnTimes.get(new GameId(turnMessage.gameId));
 		if (maxTurnTime == null) {
 			respond(400 /*bad request*/, "Error: received turn message before start message", exchange);
@@ -181,6 +213,40 @@ public class TurnRequestHandler implements HttpHandler {
 
 		JsonElement msgObj = new Gson().toJsonTree(msg);
 		respond(200, msgObj, exchange);
+
+		if (this.ponderExecutor != null) {
+			Board ponderBoard = incomingBoard.clone();
+			ponderBoard.applyPackedTurn(PackedTurn.fromTurn(responseTurn, ponderBoard.getNumColumns()));
+			this.startPondering(ponderBoard, playerId, maxTurnTime);
+		}
+	}
+
+	/**
+	 * Lets the ai ponder in the background on the board after our turn
+	 */
+	private synchronized void startPondering(Board board, GamePlayerId playerId, Duration maxTurnTime) {
+		AtomicBoolean stop = new AtomicBoolean(false);
+		this.ponderStop = stop;
+		this.pondering = this.ponderExecutor.submit(() -> this.aiPlayer.ponder(board, playerId, maxTurnTime, stop));
+	}
+
+	/**
+	 * Stops the pondering of the ai and waits until it returned, does nothing if it is not pondering
+	 */
+	private synchronized void stopPondering() {
+		if (this.pondering == null) {
+			return;
+		}
+		this.ponderStop.set(true);
+		try {
+			this.pondering.get();
+		} catch (ExecutionException e) {
+			System.err.println("Error while pondering: " + e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.pondering = null;
+		this.ponderStop = null;
 	}
 	
 	/**
@@ -4,6 +4,7 @@ import model.ids.GamePlayerId;
 import model.player.Turn;
 import org.junit.Test;
 import static org.junit.Assert.*;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -50,4 +51,24 @@ public class AIBuildInTest {
         int[][] queens = AIPlayerGreedy.getQueensOfPlayer(squares, GamePlayerId.PLAYER1);
         //System.out.println(aiplayer.buildIn(squares,queens,GamePlayerId.PLAYER1));
     }
+
+    /*
+     * a build-in AI is solved exactly, moving to the end of the corridor first would waste squares
+     */
+    @Test
+    public void bestBuildInTurnTest() {
+        int[][] squares = new int[][] {
+                { -1, -1,  0, -1, -1, -1},
+                { -2, -2, -2, -2, -2, -2},
+                { -2, -2, -2, -2, -1,  1}};
+        Board board = Board.fromSquares(3, 6, squares);
+        AIPlayerGreedy aiGreedy = new AIPlayerGreedy(3, new float[]{100, 10, 1}, 0.5f,1);
+        AIBuildIn aiplayer = new AIBuildIn(3, new float[]{100, 10, 1}, 0.5f,1, aiGreedy);
+        assertEquals(5, aiplayer.buildIn(board, board.getAmazonCoordinates(GamePlayerId.PLAYER1), GamePlayerId.PLAYER1));
+
+        Turn turn = aiplayer.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(4));
+        assertEquals(0, turn.getMove().getStart().getX());
+        assertEquals(2, turn.getMove().getStart().getY());
+        assertTrue(turn.getMove().getEnd().getY() != 0 && turn.getMove().getEnd().getY() != 5);
+    }
 }
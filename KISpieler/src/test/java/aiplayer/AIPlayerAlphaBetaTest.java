@@ -1,15 +1,19 @@
 package aiplayer;
 
 import model.board.Board;
+import model.board.Perft;
 import model.exceptions.UnsupportedPieceCodeException;
 import model.ids.GamePlayerId;
+import model.player.PackedTurn;
 import model.player.Turn;
+import model.player.TurnBuffer;
 import model.util.PieceMap;
 import org.junit.Test;
 
 import java.time.Duration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -46,4 +50,95 @@ public class AIPlayerAlphaBetaTest {
         assertEquals(3,result.getShot().getShotPosition().getX());
         assertEquals(9,result.getShot().getShotPosition().getY());
     }
+
+    /*
+     * the shots of a move are generated once, and moves after a cutoff are never expanded.
+     * the numbers of a depth 3 search from this position before the split were 4230 positions and 2110 shot generations
+     */
+    @Test
+    public void halfPlyNodeCountTest() throws UnsupportedPieceCodeException {
+        AIPlayerAlphaBeta ai = new AIPlayerAlphaBeta(5, new int[]{}, new float[] {125, 64, 27, 8, 1}, 0.9f, 1);
+        Integer[][] squares = new Integer[][] {
+                { -2,  1, -2, -1, -1, -1, -1, -2, -2, -2},
+                { -2,  1, -2, -1, -1, -1, -1, -2, -2, -2},
+                { -1, -1, -2, -2, -1, -1, -1, -2, -2, -2},
+                { -2, -2, -2, -1, -1, -1, -1, -2, -2,  0},
+                { -1, -2, -2, -1, -1, -1, -1, -2, -2, -1},
+                { -1, -2, -2, -2, -2, -1, -1, -1, -2,  1},
+                { -1, -2, -2, -2, -2, -1, -1, -1, -2, -2},
+                { -2, -2, -2, -1, -1, -1, -1, -1, -1, -1},
+                { -2, -1, -2, -2, -2, -2, -2, -2, -2, -2},
+                {  0,  0, -1, -1, -1, -1, -1, -1, -1,  0}};
+        long[] counts = ai.countNodes(new Board(PieceMap.fromSquares(10, 10, squares)), GamePlayerId.PLAYER1, 3);
+        long nodes = counts[0];
+        long movesGenerated = counts[1];
+        long movesSearched = counts[2];
+
+        assertTrue("searched " + nodes + " positions", nodes <= 3000);
+        assertTrue("generated the shots of " + movesSearched + " moves", movesSearched <= 900);
+        assertTrue(movesSearched < movesGenerated);
+    }
+
+    /*
+     * the search deepens as far as the time allows and still returns in time
+     */
+    @Test
+    public void timeLimitTest() {
+        AIPlayerAlphaBeta ai = new AIPlayerAlphaBeta(5, new int[]{0, 0, 0, 0, 0, 0}, new float[] {125, 64, 27, 8, 1}, 0.9f, 1);
+        Board board = Perft.standardBoard();
+        long start = System.currentTimeMillis();
+        Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(2));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue("took " + elapsed + "ms", elapsed < 2000);
+        assertTrue(board.isValid(result));
+    }
+
+    /*
+     * the search finds a valid turn with helper threads as well
+     */
+    @Test
+    public void parallelSearchTest() {
+        Board board = Perft.standardBoard();
+        TurnBuffer turns = new TurnBuffer();
+        board.generateTurns(GamePlayerId.PLAYER1, turns);
+        board.applyPackedTurn(turns.get(turns.size() / 2));
+        board.generateTurns(GamePlayerId.PLAYER2, turns);
+        board.applyPackedTurn(turns.get(turns.size() / 2));
+
+        for (int threads = 1; threads <= 4; threads++) {
+            AIPlayerAlphaBeta ai = new AIPlayerAlphaBeta(3, new int[1], new float[] {9, 3, 1}, 0.7f, threads);
+            Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(60));
+            assertTrue(board.isValid(result));
+        }
+    }
+
+    /*
+     * pondering stores the replies of the enemy in the table without advancing its age,
+     * so the entries are still current when the search of the next turn starts
+     */
+    @Test
+    public void ponderTest() throws InterruptedException {
+        Board board = Perft.standardBoard();
+        AIPlayerAlphaBeta ai = new AIPlayerAlphaBeta(3, new int[3], new float[] {9, 3, 1}, 0.7f, 2);
+        TranspositionTable table = ai.getTable();
+        Turn ours = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(1));
+        board.applyPackedTurn(PackedTurn.fromTurn(ours, board.getNumColumns()));
+        int age = table.getAge();
+        Pondering.ponder(ai, board, GamePlayerId.PLAYER1, 500);
+        assertEquals(age, table.getAge());
+
+        // the enemy plays the reply the pondering found best
+        Board pondered = board.clone();
+        pondered.setPlayerToMove(GamePlayerId.PLAYER2);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        assertTrue(table.probe(pondered.getHash(), entry));
+        assertTrue(entry.turn != TranspositionTable.NO_TURN);
+        board.applyPackedTurn(entry.turn);
+
+        Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(1));
+        assertTrue(board.isValid(result));
+        // the age only advances once the turn is decided
+        assertEquals(age + 1, table.getAge());
+    }
 }
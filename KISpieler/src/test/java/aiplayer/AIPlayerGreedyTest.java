@@ -379,6 +379,32 @@ public class AIPlayerGreedyTest {
         assertEquals(3*8+2*4+1*1, result, 0);
     }
 
+    /**
+     * Tests if the buffers kept between evaluations give the same results, also when the board size changes.
+     */
+    @Test
+    public void evaluateSquaresReuseTest() {
+        float [] weights = {3, 2, 1};
+        AIPlayerGreedy ai = new AIPlayerGreedy(3, weights, 1, 1);
+        int[][] squares = new int[][] {
+                { -2, -1, -1},
+                { -2, -2, -1},
+                { -1, -1, -1}};
+        int[][] queens = new int[][] {{0,0}};
+        //(0,1), (0,2) in 1 turn, (1,2), (2,2) in 2 turns, (2,1) and (2,0) in 3 turns
+        assertEquals(3*2+2*2+1*2, ai.evaluateSquares(squares, queens), 0);
+        assertEquals(3*2+2*2+1*2, ai.evaluateSquares(squares, queens), 0);
+
+        int[][] bigSquares = new int[][] {
+                { -2, -1, -1, -1},
+                { -1, -1, -1, -1},
+                { -2, -2, -2, -2},
+                { -1, -1, -1, -1}};
+        //the queen on (0,0) reaches all 7 empty fields of the first two rows in 1 or 2 turns
+        assertEquals(3*5+2*2, ai.evaluateSquares(bigSquares, queens), 0);
+        assertEquals(3*2+2*2+1*2, ai.evaluateSquares(squares, queens), 0);
+    }
+
     /**
      * Tests if the ai returns the best possible turn on some simple boards
      */
@@ -0,0 +1,80 @@
+package aiplayer;
+
+import model.board.Board;
+import model.board.Perft;
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.Turn;
+import model.util.PieceMap;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests all methods of the class AIPlayerMCTS.
+ */
+public class AIPlayerMCTSTest {
+
+    /*
+     * only moving to the top right corner and shooting below it locks the enemy in,
+     * right below leaves the enemy one square against our three
+     */
+    @Test
+    public void winningTurnTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[][] {
+                {  0, -1, -1, -1},
+                { -2, -2, -2, -1},
+                { -2, -2, -2, -1},
+                { -2, -2, -2,  1}};
+        Board board = new Board(PieceMap.fromSquares(4, 4, squares));
+        AIPlayerMCTS ai = new AIPlayerMCTS(1.4f, 0, 2);
+        Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(2));
+
+        assertEquals(0, result.getMove().getStart().getX());
+        assertEquals(0, result.getMove().getStart().getY());
+        assertEquals(0, result.getMove().getEnd().getX());
+        assertEquals(3, result.getMove().getEnd().getY());
+        int shotRow = result.getShot().getShotPosition().getX();
+        assertTrue(shotRow == 1 || shotRow == 2);
+        assertEquals(3, result.getShot().getShotPosition().getY());
+    }
+
+    /*
+     * the search uses the time of the turn, but not more
+     */
+    @Test
+    public void timeLimitTest() {
+        Board board = Perft.standardBoard();
+        AIPlayerMCTS ai = new AIPlayerMCTS(1.4f, 10, 2);
+        long start = System.currentTimeMillis();
+        Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(2));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue("took " + elapsed + "ms", elapsed < 2000);
+        assertTrue(board.isValid(result));
+    }
+
+    /*
+     * pondering grows the tree after our turn, the next search continues with the subtree of the enemy's reply
+     */
+    @Test
+    public void ponderTest() throws InterruptedException {
+        Board board = Perft.standardBoard();
+        AIPlayerMCTS ai = new AIPlayerMCTS(1.4f, 10, 2);
+        Turn ours = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(1));
+        board.applyPackedTurn(PackedTurn.fromTurn(ours, board.getNumColumns()));
+        Pondering.ponder(ai, board, GamePlayerId.PLAYER1, 500);
+
+        // the enemy plays the reply the tree expects most
+        int reply = ai.getKeptBestTurn();
+        assertTrue(reply != TranspositionTable.NO_TURN);
+        board.applyPackedTurn(reply);
+        Turn result = ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofSeconds(1));
+        assertTrue(ai.getReusedVisits() > 0);
+        assertTrue(board.isValid(result));
+    }
+}
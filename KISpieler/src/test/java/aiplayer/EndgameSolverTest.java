@@ -0,0 +1,124 @@
+package aiplayer;
+
+import model.board.Board;
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.util.PieceMap;
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests all methods of the class EndgameSolver.
+ */
+public class EndgameSolverTest {
+
+    private static TimeManager time(int seconds) {
+        return new TimeManager(Duration.ofSeconds(seconds), 10, 100);
+    }
+
+    /*
+     * the amazon can use every square of the corridor, but not if it moves to its end first
+     */
+    @Test
+    public void corridorTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[][] {
+                { -1, -1,  0, -1, -1, -1},
+                { -2, -2, -2, -2, -2, -2},
+                { -2, -2, -2, -2, -1,  1}};
+        Board board = new Board(PieceMap.fromSquares(3, 6, squares));
+        EndgameSolver solver = new EndgameSolver(board, GamePlayerId.PLAYER1);
+        int turn = solver.bestTurn(time(10));
+
+        assertEquals(5, solver.getFreeFields());
+        assertEquals(5, solver.getBestValue());
+        assertEquals(2, PackedTurn.from(turn));
+        assertTrue(PackedTurn.to(turn) != 0 && PackedTurn.to(turn) != 5);
+    }
+
+    /*
+     * the two corners can not both be used, whatever the amazon does
+     */
+    @Test
+    public void unusableSquareTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[][] {
+                { -1, -2, -1},
+                { -2,  0, -2},
+                { -2, -2, -2},
+                {  1, -1, -2}};
+        Board board = new Board(PieceMap.fromSquares(4, 3, squares));
+        EndgameSolver solver = new EndgameSolver(board, GamePlayerId.PLAYER1);
+        int turn = solver.bestTurn(time(10));
+
+        assertEquals(2, solver.getFreeFields());
+        assertEquals(1, solver.getBestValue());
+        assertEquals(4, PackedTurn.from(turn));
+        assertEquals(4, PackedTurn.shot(turn));
+    }
+
+    /*
+     * no turn is possible for an amazon without free neighbours
+     */
+    @Test
+    public void noTurnTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[][] {
+                {  0, -2, -1},
+                { -2, -2,  1}};
+        Board board = new Board(PieceMap.fromSquares(2, 3, squares));
+        EndgameSolver solver = new EndgameSolver(board, GamePlayerId.PLAYER1);
+
+        assertEquals(TranspositionTable.NO_TURN, solver.bestTurn(time(10)));
+        assertEquals(0, solver.getBestValue());
+    }
+
+    /*
+     * four amazons in separate rooms, every room on its own is easy
+     */
+    @Test
+    public void independentRegionsTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[][] {
+                {  0, -1, -1, -1, -2, -1, -1, -1, -1, -1},
+                { -1, -1, -1, -1, -2, -1, -1, -1, -1, -1},
+                { -1, -1, -2, -1, -2, -1, -1,  0, -1, -1},
+                { -2, -2, -2, -2, -2, -2, -2, -2, -2, -2},
+                { -1, -1, -1, -1, -2, -1, -2, -1, -1, -1},
+                { -1,  0, -1, -1, -2, -1, -1, -1,  0, -1},
+                { -1, -1, -2, -1, -2, -2, -2, -1, -1, -1},
+                { -2, -2, -2, -2, -2, -2, -2, -2, -2, -2},
+                { -1, -1, -1, -1, -1, -1, -1, -1, -1, -2},
+                { -1, -1, -1, -1,  1, -1, -1, -1, -1, -1}};
+        Board board = new Board(PieceMap.fromSquares(10, 10, squares));
+        EndgameSolver solver = new EndgameSolver(board, GamePlayerId.PLAYER1);
+        long start = System.currentTimeMillis();
+        solver.bestTurn(time(10));
+
+        assertEquals(solver.getFreeFields(), solver.getBestValue());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+    }
+
+    /*
+     * the solver only supports areas that fit into a long
+     */
+    @Test
+    public void areaTooLargeTest() throws UnsupportedPieceCodeException {
+        Integer[][] squares = new Integer[10][10];
+        for (Integer[] row : squares) {
+            java.util.Arrays.fill(row, -1);
+        }
+        squares[0][0] = 0;
+        squares[9][9] = 1;
+        Board board = new Board(PieceMap.fromSquares(10, 10, squares));
+
+        try {
+            new EndgameSolver(board, GamePlayerId.PLAYER1);
+            fail("solver accepted 100 squares");
+        } catch (IllegalArgumentException e) {
+            //pass
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package aiplayer;
+
+import model.board.Board;
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.util.PieceMap;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * This class tests the classes EndgameTablebase and TablebaseGenerator.
+ */
+public class EndgameTablebaseTest {
+
+    private static EndgameTablebase generate(int maxSquares) throws IOException {
+        Path file = Files.createTempFile("tablebase", ".bin");
+        file.toFile().deleteOnExit();
+        TablebaseGenerator.generate(file, maxSquares);
+        return EndgameTablebase.open(file);
+    }
+
+    /*
+     * the number of shapes of squares connected like a king moves is known
+     */
+    @Test
+    public void allShapesTest() {
+        assertEquals(1, TablebaseGenerator.allShapes(1).length);
+        assertEquals(1 + 4, TablebaseGenerator.allShapes(2).length);
+        assertEquals(1 + 4 + 20, TablebaseGenerator.allShapes(3).length);
+        assertEquals(1 + 4 + 20 + 110 + 638, TablebaseGenerator.allShapes(5).length);
+    }
+
+    /*
+     * a few shapes that are easy to solve by hand
+     */
+    @Test
+    public void lookupTest() throws IOException {
+        EndgameTablebase tablebase = generate(5);
+        assertEquals(5, tablebase.getMaxSquares());
+
+        // a single amazon without any free square
+        assertEquals(0, tablebase.lookup(0b1L, 0b1));
+        // an amazon next to a free square, in a row and diagonally
+        assertEquals(1, tablebase.lookup(0b11L, 0b01));
+        assertEquals(1, tablebase.lookup(0b10L | (0b01L << 8), 0b01));
+        // a corridor of 5 squares with the amazon in the middle
+        assertEquals(4, tablebase.lookup(0b11111L, 0b00100));
+        // no amazon, no turns
+        assertEquals(0, tablebase.lookup(0b11111L, 0));
+
+        try {
+            tablebase.lookup(0b111111L, 0b1);
+            fail("looked up a shape of 6 squares");
+        } catch (IllegalArgumentException e) {
+            //pass
+        }
+    }
+
+    /*
+     * the tablebase gives the same results as the solver for all parts of a separated board
+     */
+    @Test
+    public void probeTest() throws IOException, UnsupportedPieceCodeException {
+        EndgameTablebase tablebase = generate(6);
+        Integer[][] squares = new Integer[][] {
+                {  0, -1, -1, -2, -2, -1},
+                { -1, -2, -1, -2,  1, -1},
+                { -2, -2, -2, -2, -1, -2},
+                { -1,  0, -2, -2, -2, -2},
+                { -2, -1, -1, -2, -1,  1}};
+        Board board = new Board(PieceMap.fromSquares(5, 6, squares));
+        EndgameTablebase.Probe probe = tablebase.newProbe();
+
+        assertTrue(probe.probe(board));
+        for (GamePlayerId id : GamePlayerId.values()) {
+            EndgameSolver solver = new EndgameSolver(board, id);
+            solver.bestTurn(new TimeManager(Duration.ofSeconds(10), 10, 30));
+            assertEquals(solver.getBestValue(), probe.turns[id.get()]);
+        }
+        assertEquals(7, probe.turns[GamePlayerId.PLAYER1.get()]);
+        assertEquals(4, probe.turns[GamePlayerId.PLAYER2.get()]);
+
+        // both players next to the same region
+        Integer[][] contested = new Integer[][] {
+                {  0, -1,  1}};
+        assertFalse(probe.probe(new Board(PieceMap.fromSquares(1, 3, contested))));
+
+        // a region too big for the tablebase
+        Integer[][] open = new Integer[][] {
+                {  0, -1, -1, -1, -1, -1, -1, -1},
+                { -2, -2, -2, -2, -2, -2, -2, -2},
+                {  1, -1, -2, -2, -2, -2, -2, -2}};
+        assertFalse(probe.probe(new Board(PieceMap.fromSquares(3, 8, open))));
+    }
+
+    /*
+     * the solver looks up small parts and still finds the same result
+     */
+    @Test
+    public void solverTest() throws IOException, UnsupportedPieceCodeException {
+        EndgameTablebase tablebase = generate(6);
+        Integer[][] squares = new Integer[][] {
+                { -1, -1,  0, -1, -1, -1, -1, -1},
+                { -2, -2, -2, -2, -2, -2, -2, -2},
+                { -2, -2, -2, -2, -2, -2, -1,  1}};
+        Board board = new Board(PieceMap.fromSquares(3, 8, squares));
+        EndgameSolver solver = new EndgameSolver(board, GamePlayerId.PLAYER1, tablebase);
+        solver.bestTurn(new TimeManager(Duration.ofSeconds(10), 10, 24));
+
+        assertEquals(7, solver.getBestValue());
+    }
+
+    /*
+     * files that are not a tablebase are rejected
+     */
+    @Test
+    public void invalidFileTest() {
+        try {
+            new EndgameTablebase(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}));
+            fail("opened a file without the magic number");
+        } catch (IOException e) {
+            //pass
+        }
+
+        ByteBuffer truncated = ByteBuffer.allocate(EndgameTablebase.HEADER_BYTES);
+        truncated.putInt(EndgameTablebase.MAGIC).putInt(EndgameTablebase.VERSION).putInt(4).putInt(100);
+        try {
+            new EndgameTablebase(truncated);
+            fail("opened a truncated tablebase");
+        } catch (IOException e) {
+            //pass
+        }
+    }
+}
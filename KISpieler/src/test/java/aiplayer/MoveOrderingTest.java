@@ -0,0 +1,110 @@
+package aiplayer;
+
+import model.board.Board;
+import model.board.Perft;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.TurnBuffer;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests all methods of the class MoveOrdering.
+ */
+public class MoveOrderingTest {
+
+    /*
+     * the move of the table turn comes first, then the moves of the killers, then the moves with history,
+     * and no move is lost
+     */
+    @Test
+    public void orderMovesTest() {
+        Board board = Perft.standardBoard();
+        TurnBuffer turns = new TurnBuffer();
+        board.generateTurns(GamePlayerId.PLAYER1, turns);
+        int tableTurn = turns.get(100);
+        int killer = turns.get(1000);
+        int history = turns.get(2000);
+
+        TurnBuffer moves = new TurnBuffer();
+        board.generateMoves(GamePlayerId.PLAYER1, moves);
+        int[] generated = moves.toArray();
+
+        MoveOrdering ordering = new MoveOrdering(100, 4);
+        ordering.cutoff(killer, 1, 1);
+        ordering.cutoff(history, 2, 3);
+
+        ordering.orderMoves(board, moves, 1, tableTurn);
+        assertEquals(PackedTurn.pack(PackedTurn.from(tableTurn), PackedTurn.to(tableTurn), 0), moves.get(0));
+        assertEquals(PackedTurn.pack(PackedTurn.from(killer), PackedTurn.to(killer), 0), moves.get(1));
+        assertEquals(PackedTurn.pack(PackedTurn.from(history), PackedTurn.to(history), 0), moves.get(2));
+
+        int[] ordered = moves.toArray();
+        Arrays.sort(generated);
+        Arrays.sort(ordered);
+        assertArrayEquals(generated, ordered);
+    }
+
+    /*
+     * the good shots (table turn, killers, next to an enemy) come first and are counted
+     */
+    @Test
+    public void orderShotsTest() {
+        Board board = Perft.standardBoard();
+        TurnBuffer shots = new TurnBuffer();
+        // the amazon of player 2 on (3,0) moves to (3,5)
+        int from = 30;
+        int to = 35;
+        board.generateShots(from, to, shots);
+        int[] generated = shots.toArray();
+        int tableTurn = generated[5];
+        int killer = generated[6];
+
+        MoveOrdering ordering = new MoveOrdering(100, 4);
+        ordering.cutoff(killer, 2, 1);
+        int good = ordering.orderShots(board, GamePlayerId.PLAYER2, shots, 2, tableTurn);
+        assertEquals(tableTurn, shots.get(0));
+        assertEquals(killer, shots.get(1));
+
+        int blocking = 0;
+        for (int turn : generated) {
+            if (board.getRayTable().getNeighbourMask(PackedTurn.shot(turn)).intersects(board.getAmazons(GamePlayerId.PLAYER1))
+                    && turn != tableTurn && turn != killer) {
+                blocking++;
+            }
+        }
+        assertTrue(blocking > 0);
+        assertEquals(2 + blocking, good);
+
+        int[] ordered = shots.toArray();
+        Arrays.sort(generated);
+        Arrays.sort(ordered);
+        assertArrayEquals(generated, ordered);
+    }
+
+    /*
+     * the last two cutoffs of a ply are its killers
+     */
+    @Test
+    public void killerTest() {
+        Board board = Perft.standardBoard();
+        TurnBuffer turns = new TurnBuffer();
+        board.generateTurns(GamePlayerId.PLAYER2, turns);
+        int[] generated = turns.toArray();
+
+        MoveOrdering ordering = new MoveOrdering(100, 4);
+        ordering.cutoff(generated[10], 3, 1);
+        ordering.cutoff(generated[500], 3, 1);
+        ordering.cutoff(generated[1000], 3, 1);
+
+        TurnBuffer moves = new TurnBuffer();
+        board.generateMoves(GamePlayerId.PLAYER2, moves);
+        ordering.orderMoves(board, moves, 3, TranspositionTable.NO_TURN);
+        assertEquals(PackedTurn.from(generated[1000]), PackedTurn.from(moves.get(0)));
+        assertEquals(PackedTurn.to(generated[1000]), PackedTurn.to(moves.get(0)));
+        assertEquals(PackedTurn.to(generated[500]), PackedTurn.to(moves.get(1)));
+    }
+}
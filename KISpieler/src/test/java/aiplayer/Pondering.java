@@ -0,0 +1,26 @@
+package aiplayer;
+
+import model.board.Board;
+import model.ids.GamePlayerId;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Lets an ai ponder on its own thread for a while and stops it again, like the TurnRequestHandler between two turns.
+ */
+class Pondering {
+
+    static void ponder(AIPlayer ai, Board board, GamePlayerId id, long millis) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean(false);
+        Board ponderBoard = board.clone();
+        Thread pondering = new Thread(() -> ai.ponder(ponderBoard, id, Duration.ofSeconds(60), stop));
+        pondering.start();
+        Thread.sleep(millis);
+        stop.set(true);
+        pondering.join(2000);
+        assertFalse("still pondering after it was stopped", pondering.isAlive());
+    }
+}
@@ -0,0 +1,70 @@
+package aiplayer;
+
+import model.board.Board;
+import model.board.Perft;
+import model.ids.GamePlayerId;
+import model.player.TurnBuffer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * This class measures how much faster the parallel alpha-beta search reaches a fixed depth with more threads.
+ * It is not part of the normal test run, run it with gradle :KISpieler:benchmark
+ */
+public class SearchBenchmark {
+
+    static final int DEPTH = 2;
+
+    static ArrayList<Board> positions = new ArrayList<>();
+
+    @BeforeClass
+    public static void setupPositions() {
+        // middle game positions from random games, the same for every run
+        Random random = new Random(20);
+        TurnBuffer turns = new TurnBuffer();
+        while (positions.size() < 5) {
+            Board board = Perft.standardBoard();
+            GamePlayerId id = GamePlayerId.PLAYER1;
+            for (int i = 0; i < 30 && board.generateTurns(id, turns) > 0; i++) {
+                board.applyPackedTurn(turns.get(random.nextInt(turns.size())));
+                id = id.other();
+            }
+            if (board.getPlayerToMove() == GamePlayerId.PLAYER1 && board.isTurnPossible(GamePlayerId.PLAYER1)) {
+                positions.add(board);
+            }
+        }
+    }
+
+    @Test
+    public void speedupPerCore() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long singleThreadNanos = 0;
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            long nanos = timeToDepth(threads);
+            if (threads == 1) {
+                singleThreadNanos = nanos;
+            }
+            double speedup = (double) singleThreadNanos / nanos;
+            System.out.printf("depth %d on %d threads: %d ms, speedup %.2f, speedup per core %.2f%n",
+                    DEPTH, threads, nanos / 1000000, speedup, speedup / threads);
+        }
+    }
+
+    private static long timeToDepth(int threads) {
+        // a new AI for every run, so no run profits from the transposition table of another
+        AIPlayerAlphaBeta ai = new AIPlayerAlphaBeta(5, new int[DEPTH], new float[] {125, 64, 27, 8, 1}, 0.9f, threads);
+        // warm up, so the measured runs are compiled
+        ai.bestTurn(positions.get(0), GamePlayerId.PLAYER1, Duration.ofHours(1));
+
+        ai = new AIPlayerAlphaBeta(5, new int[DEPTH], new float[] {125, 64, 27, 8, 1}, 0.9f, threads);
+        long start = System.nanoTime();
+        for (Board board : positions) {
+            ai.bestTurn(board, GamePlayerId.PLAYER1, Duration.ofHours(1));
+        }
+        return Math.max(System.nanoTime() - start, 1);
+    }
+}
@@ -0,0 +1,41 @@
+package aiplayer;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * This class tests all methods of the class TimeManager.
+ */
+public class TimeManagerTest {
+
+    /*
+     * the safety margin leaves no time at all for a turn time of 0
+     */
+    @Test
+    public void noTimeTest() {
+        TimeManager time = new TimeManager(Duration.ZERO, 50, 100);
+        assertTrue(time.isTimeUp());
+        assertFalse(time.canStartIteration());
+    }
+
+    /*
+     * a fast iteration leaves enough time for the next one, a slow one does not
+     */
+    @Test
+    public void iterationTest() throws InterruptedException {
+        TimeManager time = new TimeManager(Duration.ofSeconds(10), 50, 100);
+        assertFalse(time.isTimeUp());
+        time.iterationFinished();
+        assertTrue(time.canStartIteration());
+
+        Thread.sleep(300);
+        time.iterationFinished();
+        // the next iteration is expected to take 300ms * 30, more than the middle game share of 8s
+        assertFalse(time.canStartIteration());
+        assertFalse(time.isTimeUp());
+    }
+}
@@ -0,0 +1,122 @@
+package aiplayer;
+
+import model.player.PackedTurn;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests all methods of the class TranspositionTable.
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void storeAndProbeTest() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        int turn = PackedTurn.pack(1023, 512, 0);
+
+        assertFalse(table.probe(42, entry));
+        table.store(42, 3, TranspositionTable.LOWER_BOUND, -12.5f, turn);
+        assertTrue(table.probe(42, entry));
+        assertEquals(3, entry.depth);
+        assertEquals(TranspositionTable.LOWER_BOUND, entry.bound);
+        assertEquals(-12.5f, entry.score, 0);
+        assertEquals(turn, entry.turn);
+
+        // infinite scores of decided games survive
+        table.store(43, 1, TranspositionTable.EXACT, Float.NEGATIVE_INFINITY, TranspositionTable.NO_TURN);
+        assertTrue(table.probe(43, entry));
+        assertEquals(Float.NEGATIVE_INFINITY, entry.score, 0);
+        assertEquals(TranspositionTable.NO_TURN, entry.turn);
+
+        // a hash that maps to the same slot does not match
+        assertFalse(table.probe(42 + table.capacity(), entry));
+
+        table.clear();
+        assertFalse(table.probe(42, entry));
+    }
+
+    /*
+     * deeper entries of the current search are kept, entries of older searches are replaced
+     */
+    @Test
+    public void replacementTest() {
+        TranspositionTable table = new TranspositionTable(1);
+        TranspositionTable.Entry entry = new TranspositionTable.Entry();
+        long deep = 7;
+        long shallow = 7 + table.capacity();
+
+        table.store(deep, 5, TranspositionTable.EXACT, 1, TranspositionTable.NO_TURN);
+        table.store(shallow, 2, TranspositionTable.EXACT, 2, TranspositionTable.NO_TURN);
+        assertTrue(table.probe(deep, entry));
+        assertFalse(table.probe(shallow, entry));
+
+        // a shallower bound does not replace the deeper result of the same position, a shallower exact score does
+        table.store(deep, 3, TranspositionTable.UPPER_BOUND, 5, TranspositionTable.NO_TURN);
+        assertTrue(table.probe(deep, entry));
+        assertEquals(5, entry.depth);
+        assertEquals(TranspositionTable.EXACT, entry.bound);
+        table.store(deep, 1, TranspositionTable.EXACT, 3, 99);
+        assertTrue(table.probe(deep, entry));
+        assertEquals(1, entry.depth);
+        assertEquals(3, entry.score, 0);
+
+        // results of the same depth are updated, the best turn is kept
+        table.store(deep, 1, TranspositionTable.UPPER_BOUND, 4, TranspositionTable.NO_TURN);
+        assertTrue(table.probe(deep, entry));
+        assertEquals(TranspositionTable.UPPER_BOUND, entry.bound);
+        assertEquals(99, entry.turn);
+
+        table.newSearch();
+        table.store(shallow, 0, TranspositionTable.EXACT, 2, TranspositionTable.NO_TURN);
+        assertTrue(table.probe(shallow, entry));
+        assertFalse(table.probe(deep, entry));
+    }
+
+    /*
+     * entries written by many threads at once are either read completely or not at all
+     */
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1);
+        // few slots, so the threads overwrite each other all the time
+        long[] hashes = new long[64];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = (long) (i % 8) | ((long) i << 40);
+        }
+        boolean[] failed = new boolean[1];
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                TranspositionTable.Entry entry = new TranspositionTable.Entry();
+                for (int n = 0; n < 200000; n++) {
+                    int i = n % hashes.length;
+                    // every field is derived from the hash, so a mixed up entry is detected
+                    table.store(hashes[i], i, TranspositionTable.EXACT, i, i);
+                    int j = (n * 7) % hashes.length;
+                    if (table.probe(hashes[j], entry) && (entry.depth != j || entry.score != j || entry.turn != j)) {
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed[0]);
+    }
+
+    @Test
+    public void sizeTest() {
+        assertEquals(Integer.highestOneBit((1 << 20) / 24), new TranspositionTable(1).capacity());
+        try {
+            new TranspositionTable(0);
+            fail("created an empty table");
+        } catch (IllegalArgumentException e) {
+            //pass
+        }
+    }
+}
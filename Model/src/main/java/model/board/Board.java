@@ -5,31 +5,63 @@ import model.exceptions.UnsupportedPieceCodeException;
 import model.ids.GamePlayerId;
 import model.ids.TurnId;
 import model.player.Move;
+import model.player.PackedTurn;
 import model.player.Player;
 import model.player.Shot;
 import model.player.Turn;
+import model.player.TurnBuffer;
+import model.player.TurnHistory;
+import model.util.BitBoard;
+import model.util.BitPieceMap;
 import model.util.PieceMap;
 import model.util.Position;
+import model.util.RayTable;
+import model.util.ZobristKeys;
 import model.util.Vec2i;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
  * <p>This class represents a board in the Amazon Game.
  * Each board can have a specific size (in most cases this will be 10x10).</p>
- * The board has an {@link PieceMap} to store all the fields of this board and within these the pieces
+ * The board is a {@link BitPieceMap} that stores all the fields of this board and within these the pieces
  * and their position currently in the game. Thus the board knows the current position of all pieces
  * and can therefore decide if a piece can move to to specific position or not. Look at {@link #isValid} for this.
  * The board can also find out if a player can't move at all.
  *
  */
-public class Board extends PieceMap {
+public class Board extends BitPieceMap {
 
-	private final ArrayList<Turn> appliedTurns;
+	/**
+	 * the turns applied to this board, shared with every clone of this board
+	 */
+	private TurnHistory appliedTurns;
+
+	/**
+	 * the square indices of the amazons of each player indexed by {@link GamePlayerId#get()},
+	 * only the first `amazonCounts[player]` entries are valid.
+	 * this is kept up to date by {@link #setAtSquare} and {@link #movePieceToSquare}, a moving amazon keeps its slot
+	 */
+	private final int[][] amazonSquares = new int[2][4];
+	private final int[] amazonCounts = new int[2];
+
+	/**
+	 * the player who makes the next turn, this is part of {@link #getHash()}
+	 */
+	private GamePlayerId playerToMove = GamePlayerId.PLAYER1;
+
+	/**
+	 * scratch space for the distance maps, created on first use and not shared with clones
+	 */
+	private Reachability reachability;
+
+	/**
+	 * scratch set of the empty squares for the distance maps
+	 */
+	private BitBoard empty;
 
 	/***
 	 * constructs a board from a `FieldMap`
@@ -37,17 +69,38 @@ public class Board extends PieceMap {
 	 */
 	public Board(PieceMap init) {
 		super(init);
-		this.appliedTurns = new ArrayList<>();
+		this.appliedTurns = TurnHistory.empty();
+		this.initAmazonIndex(init);
+
+		if (init instanceof Board) {
+			this.playerToMove = ((Board) init).playerToMove;
+		}
 	}
 
 	public Board(int numRows, int numColumns) {
 		super(numRows, numColumns);
-		this.appliedTurns = new ArrayList<>();
+		this.appliedTurns = TurnHistory.empty();
 	}
 
 	public Board(PieceMap init, Stream<Turn> appliedTurns) {
+		this(init, TurnHistory.of(appliedTurns));
+	}
+
+	/**
+	 * constructs a board from a `FieldMap` and the turns that lead to it
+	 * @param init the array to construct `this` from, precondition: the array must be completely filled
+	 * @param appliedTurns the turns applied to this board, the history is shared and not copied
+	 */
+	public Board(PieceMap init, TurnHistory appliedTurns) {
 		super(init);
-		this.appliedTurns = appliedTurns.collect(Collectors.toCollection(ArrayList::new));
+		this.appliedTurns = appliedTurns;
+		this.initAmazonIndex(init);
+
+		if (init instanceof Board) {
+			this.playerToMove = ((Board) init).playerToMove;
+		} else {
+			this.getLastTurn().ifPresent(t -> this.playerToMove = t.getPlayerId().other());
+		}
 	}
 
 	/**
@@ -89,10 +142,45 @@ public class Board extends PieceMap {
 	 * @return the last turn that was applied to this board (if it exists)
 	 */
 	public Optional<Turn> getLastTurn() {
-		if (this.appliedTurns.isEmpty()) {
-			return Optional.empty();
+		return this.appliedTurns.getLast();
+	}
+
+	/**
+	 * @return the (immutable) history of the turns that are applied to this board
+	 */
+	public TurnHistory getTurnHistory() {
+		return this.appliedTurns;
+	}
+
+	/**
+	 * @return the player who makes the next turn on this board
+	 */
+	public GamePlayerId getPlayerToMove() {
+		return this.playerToMove;
+	}
+
+	/**
+	 * sets the player who makes the next turn, this is only needed for boards that do not start
+	 * at the beginning of a game (applying and undoing turns keeps it up to date)
+	 *
+	 * @param id the player who makes the next turn
+	 */
+	public void setPlayerToMove(GamePlayerId id) {
+		this.playerToMove = id;
+	}
+
+	/**
+	 * calculates the zobrist hash of this position (the pieces and the player to move) in O(1),
+	 * equal positions have equal hashes, see {@link ZobristKeys}
+	 *
+	 * @return the 64 bit hash of this position
+	 */
+	public long getHash() {
+		long hash = this.getPieceHash();
+		if (this.playerToMove == GamePlayerId.PLAYER2) {
+			hash ^= this.getZobristKeys().getPlayerToMoveKey();
 		}
-		return Optional.of(this.appliedTurns.get(this.appliedTurns.size() - 1));
+		return hash;
 	}
 
 	/**
@@ -129,17 +217,135 @@ public class Board extends PieceMap {
 	 * @return a {@link Stream} of every valid row-column-pair, so (0,0), (0,1), (0,2)...(1,0)...
 	 */
 	public Stream<Position> getAllValidPositions() {
-		return generateIntPairs(new Vec2i(0, 0), new Vec2i(this.getNumRows(), this.getNumColumns()))
-				.map(Position::new);
+		return IntStream.range(0, this.getNumRows() * this.getNumColumns())
+				.mapToObj(this::positionOf);
 	}
 
 	/**
 	 * This method creates an {@link Stream} containing all amazon positions on this board.
+	 * The amazons of {@link GamePlayerId#PLAYER1} come first.
 	 * @return a stream containing all Amazons on the board.
 	 */
 	public Stream<Position> getAmazonPositions() {
-		return this.getAllValidPositions()
-				.filter(p -> this.getAt(p).isAmazon());
+		return Stream.of(GamePlayerId.PLAYER1, GamePlayerId.PLAYER2)
+				.flatMapToInt(id -> Arrays.stream(this.getAmazonSquares(id)))
+				.mapToObj(this::positionOf);
+	}
+
+	/**
+	 * @param id the player whose amazons to count
+	 * @return the number of amazons `id` has on this board
+	 */
+	public int getAmazonCount(GamePlayerId id) {
+		return this.amazonCounts[id.get()];
+	}
+
+	/**
+	 * fetches a single amazon from the amazon index without allocating
+	 *
+	 * @param id the player who owns the amazon
+	 * @param i the slot of the amazon, between 0 (inclusive) and {@link #getAmazonCount} (exclusive)
+	 * @return the square index of the amazon, see {@link #squareIndex(int, int)}
+	 */
+	public int getAmazonSquare(GamePlayerId id, int i) {
+		assert i < this.amazonCounts[id.get()];
+		return this.amazonSquares[id.get()][i];
+	}
+
+	/**
+	 * @param id the player whose amazons to fetch
+	 * @return a copy of the square indices of all amazons of `id`, see {@link #squareIndex(int, int)}
+	 */
+	public int[] getAmazonSquares(GamePlayerId id) {
+		return Arrays.copyOf(this.amazonSquares[id.get()], this.amazonCounts[id.get()]);
+	}
+
+	/**
+	 * @param id the player whose amazons to fetch
+	 * @return an array containing a {row, column} pair for every amazon of `id`
+	 */
+	public int[][] getAmazonCoordinates(GamePlayerId id) {
+		int[][] coordinates = new int[this.amazonCounts[id.get()]][];
+		for (int i = 0; i < coordinates.length; i++) {
+			int square = this.amazonSquares[id.get()][i];
+			coordinates[i] = new int[] { square / this.getNumColumns(), square % this.getNumColumns() };
+		}
+		return coordinates;
+	}
+
+	/**
+	 * @param square a square index, see {@link #squareIndex(int, int)}
+	 * @return the {@link Position} of that square
+	 */
+	public Position positionOf(int square) {
+		return Position.ofSquare(square, this.getNumColumns());
+	}
+
+	/**
+	 * builds the amazon index after the whole board was copied from `init`,
+	 * if `init` is a board its index is copied so every amazon keeps its slot
+	 */
+	private void initAmazonIndex(PieceMap init) {
+		for (GamePlayerId id : GamePlayerId.values()) {
+			if (init instanceof Board) {
+				Board b = (Board) init;
+				this.amazonSquares[id.get()] = b.amazonSquares[id.get()].clone();
+				this.amazonCounts[id.get()] = b.amazonCounts[id.get()];
+				continue;
+			}
+
+			BitBoard amazons = this.getAmazons(id);
+			for (int square = amazons.nextSetBit(0); square >= 0; square = amazons.nextSetBit(square + 1)) {
+				this.addToAmazonIndex(id.get(), square);
+			}
+		}
+	}
+
+	private void addToAmazonIndex(int player, int square) {
+		if (this.amazonCounts[player] == this.amazonSquares[player].length) {
+			this.amazonSquares[player] = Arrays.copyOf(this.amazonSquares[player], 2 * this.amazonCounts[player]);
+		}
+		this.amazonSquares[player][this.amazonCounts[player]++] = square;
+	}
+
+	private int amazonSlotOf(int player, int square) {
+		for (int i = 0; i < this.amazonCounts[player]; i++) {
+			if (this.amazonSquares[player][i] == square) {
+				return i;
+			}
+		}
+		throw new IllegalStateException("amazon index out of sync");
+	}
+
+	private void removeFromAmazonIndex(int player, int square) {
+		int slot = this.amazonSlotOf(player, square);
+		int last = --this.amazonCounts[player];
+		this.amazonSquares[player][slot] = this.amazonSquares[player][last];
+	}
+
+	@Override
+	public void setAtSquare(int square, Piece p) {
+		Piece old = this.getAtSquare(square);
+		if (old.isAmazon()) {
+			this.removeFromAmazonIndex(old.toPieceCode(), square);
+		}
+
+		super.setAtSquare(square, p);
+
+		if (p.isAmazon()) {
+			this.addToAmazonIndex(p.toPieceCode(), square);
+		}
+	}
+
+	@Override
+	public void movePieceToSquare(int from, int to) {
+		super.movePieceToSquare(from, to);
+
+		Piece p = this.getAtSquare(to);
+		if (p.isAmazon()) {
+			int player = p.toPieceCode();
+			this.amazonSquares[player][this.amazonSlotOf(player, from)] = to;
+		}
 	}
 
 
@@ -168,23 +374,26 @@ public class Board extends PieceMap {
 			return false;
 		}
 
-		// Calculate the direction of the move
-		Vec2i direction = new Vec2i(
-				(int) Math.signum(end.getRow() - start.getRow()),
-				(int) Math.signum(end.getColumn() - start.getColumn())
-		);
+		int dir = RayTable.directionOf(
+				Integer.signum(end.getRow() - start.getRow()),
+				Integer.signum(end.getColumn() - start.getColumn()));
+
+		// start and end are the same (empty) square
+		if (dir < 0) {
+			return true;
+		}
 
-		// Start looking for obstacles one square away from the start
-		Position p = start.moveBy(direction);
+		// Search every square on the precomputed line from the start point to the end point for an obstacle,
+		// end is known to be on that line so the walk stops there
+		RayTable rays = this.getRayTable();
+		int[] raySquares = rays.getSquares();
+		int target = this.squareIndex(end.getRow(), end.getColumn());
 
-		// Search every square from the start point to the end point for an obstacle
-		while (!p.equals(end)) {
+		for (int i = rays.rayStart(this.squareIndex(start.getRow(), start.getColumn()), dir); raySquares[i] != target; i++) {
 			// Return false if an obstruction was found
-			if (this.getAt(p) != Piece.Empty) {
+			if (!this.isEmptySquare(raySquares[i])) {
 				return false;
 			}
-			// Go one square further in the previously calculated direction
-			p = p.moveBy(direction);
 		}
 		// Return true if a path between (y1, x1) and (y2, x2) is not obstructed
 		return true;
@@ -235,21 +444,30 @@ public class Board extends PieceMap {
 		// So the move of the amazon is valid
 		// question remains if the shot is valid:
 
-		// Copy the current board to a temporary board to avoid making changes until
-		// after the move is valid
-		Board tempBoard = this.clone();
-
-		// move the amazon
-		tempBoard.movePieceTo(move.getStart(), move.getEnd());
-
-		// Return true after the move as well as the shot move to valid positions
-		return !move.getEnd().equals(shot.getShotPosition())
-				&& tempBoard.isPathClear(move.getEnd(), shot.getShotPosition());
+		// move the amazon on this board and move it back afterwards,
+		// this avoids copying the board (and its turn history) for every validation
+		this.movePieceTo(move.getStart(), move.getEnd());
+		try {
+			// Return true after the move as well as the shot move to valid positions
+			return !move.getEnd().equals(shot.getShotPosition())
+					&& this.isPathClear(move.getEnd(), shot.getShotPosition());
+		} finally {
+			this.movePieceTo(move.getEnd(), move.getStart());
+		}
 	}
 
+	/**
+	 * checks if the piece at `p` has at least one empty square next to it
+	 *
+	 * @param p the position of the piece
+	 * @return true if the piece could move at least one square
+	 */
 	public boolean canPieceMove(Position p) {
-		return this.getNeighboursOf(p)
-				.anyMatch(v -> this.getAt(v) == Piece.Empty);
+		return this.canPieceMove(this.squareIndex(p.getRow(), p.getColumn()));
+	}
+
+	private boolean canPieceMove(int square) {
+		return !this.getOccupied().containsAll(this.getRayTable().getNeighbourMask(square));
 	}
 
 	/**
@@ -273,10 +491,17 @@ public class Board extends PieceMap {
 	 * @return a valid stream containing the neighbours
 	 */
 	public Stream<Position> getNeighboursOf(Position p) {
-		return generateIntPairs(new Vec2i(-1, -1), new Vec2i(2, 2))
-				.filter(v -> !v.equals(new Vec2i(0, 0)))
-				.map(p::moveBy)
-				.filter(v -> !isOutOfBounds(v));
+		Stream.Builder<Position> neighbours = Stream.builder();
+		for (int row = p.getRow() - 1; row <= p.getRow() + 1; row++) {
+			for (int column = p.getColumn() - 1; column <= p.getColumn() + 1; column++) {
+				if ((row != p.getRow() || column != p.getColumn())
+						&& row >= 0 && row < this.getNumRows()
+						&& column >= 0 && column < this.getNumColumns()) {
+					neighbours.add(Position.of(row, column));
+				}
+			}
+		}
+		return neighbours.build();
 	}
 
 	/**
@@ -287,9 +512,211 @@ public class Board extends PieceMap {
 	 *         false otherwise
 	 */
 	public boolean isTurnPossible(GamePlayerId id) {
-		return this.getAmazonPositions()
-				.filter(p -> this.getAt(p) == Piece.fromPlayerId(id))
-				.anyMatch(this::canPieceMove);
+		for (int i = 0; i < this.amazonCounts[id.get()]; i++) {
+			if (this.canPieceMove(this.amazonSquares[id.get()][i])) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * counts the squares the piece on `square` could move to, this is the number of moves of an amazon there
+	 *
+	 * @param square the square index of the piece
+	 * @return the number of empty squares on the queen lines of `square` before the first blocked square
+	 */
+	public int getMobilityOf(int square) {
+		RayTable rays = this.getRayTable();
+		int[] raySquares = rays.getSquares();
+		BitBoard occupied = this.getOccupied();
+
+		int mobility = 0;
+		for (int dir = 0; dir < RayTable.NUM_DIRECTIONS; dir++) {
+			for (int i = rays.rayStart(square, dir); i < rays.rayEnd(square, dir) && !occupied.get(raySquares[i]); i++) {
+				mobility++;
+			}
+		}
+		return mobility;
+	}
+
+	/**
+	 * @param id the player whose moves to count
+	 * @return the number of moves (without the shots) all amazons of `id` can make, 0 if `id` cannot move
+	 */
+	public int getMobility(GamePlayerId id) {
+		int mobility = 0;
+		for (int i = 0; i < this.amazonCounts[id.get()]; i++) {
+			mobility += this.getMobilityOf(this.amazonSquares[id.get()][i]);
+		}
+		return mobility;
+	}
+
+	/**
+	 * fills the number of queen moves the amazons of `id` need to reach every square, see {@link Reachability}.
+	 * the squares of the amazons get 0, every other square that cannot be reached {@link Reachability#UNREACHABLE}
+	 *
+	 * @param id the player whose amazons to start from
+	 * @param maxDistance the number of moves after which to stop, farther squares are unreachable
+	 * @param distances the map to fill, indexed by square index, reuse it across calls
+	 * @return the number of squares reached
+	 */
+	public int getQueenDistances(GamePlayerId id, int maxDistance, int[] distances) {
+		return this.getReachability().queenDistances(this.getAmazons(id), this.getEmpty(), maxDistance, distances);
+	}
+
+	/**
+	 * like {@link #getQueenDistances(GamePlayerId, int, int[])} without a maximum distance
+	 *
+	 * @param id the player whose amazons to start from
+	 * @param distances the map to fill, indexed by square index, reuse it across calls
+	 * @return the number of squares reached
+	 */
+	public int getQueenDistances(GamePlayerId id, int[] distances) {
+		return this.getQueenDistances(id, Integer.MAX_VALUE, distances);
+	}
+
+	/**
+	 * fills the number of single steps (like a king) the amazons of `id` need to reach every square,
+	 * see {@link #getQueenDistances(GamePlayerId, int, int[])}
+	 *
+	 * @param id the player whose amazons to start from
+	 * @param maxDistance the number of steps after which to stop, farther squares are unreachable
+	 * @param distances the map to fill, indexed by square index, reuse it across calls
+	 * @return the number of squares reached
+	 */
+	public int getKingDistances(GamePlayerId id, int maxDistance, int[] distances) {
+		return this.getReachability().kingDistances(this.getAmazons(id), this.getEmpty(), maxDistance, distances);
+	}
+
+	/**
+	 * like {@link #getKingDistances(GamePlayerId, int, int[])} without a maximum distance
+	 *
+	 * @param id the player whose amazons to start from
+	 * @param distances the map to fill, indexed by square index, reuse it across calls
+	 * @return the number of squares reached
+	 */
+	public int getKingDistances(GamePlayerId id, int[] distances) {
+		return this.getKingDistances(id, Integer.MAX_VALUE, distances);
+	}
+
+	private Reachability getReachability() {
+		if (this.reachability == null) {
+			this.reachability = new Reachability(this.getNumRows(), this.getNumColumns());
+			this.empty = new BitBoard(this.getNumRows() * this.getNumColumns());
+		}
+		return this.reachability;
+	}
+
+	/**
+	 * @return the scratch set filled with the empty squares, {@link #getReachability()} must have been called
+	 */
+	private BitBoard getEmpty() {
+		this.empty.setAll();
+		this.empty.andNot(this.getOccupied());
+		return this.empty;
+	}
+
+	/**
+	 * Generates every valid {@link Turn} `id` can make on this board as packed turns (see {@link PackedTurn}).
+	 * Turns are generated amazon by amazon (in the order of the amazon index), then by direction
+	 * (in the order of {@link RayTable#DIRECTIONS}) and distance of the move, then of the shot.
+	 * Apart from growing `buffer` this does not allocate, so reuse the buffer.
+	 *
+	 * @param id the player whose turns to generate
+	 * @param buffer the buffer to fill, it is cleared first
+	 * @return the number of generated turns
+	 */
+	public int generateTurns(GamePlayerId id, TurnBuffer buffer) {
+		assert this.getNumRows() * this.getNumColumns() <= PackedTurn.MAX_SQUARES;
+		buffer.clear();
+
+		RayTable rays = this.getRayTable();
+		int[] raySquares = rays.getSquares();
+		BitBoard occupied = this.getOccupied();
+		int player = id.get();
+
+		for (int a = 0; a < this.amazonCounts[player]; a++) {
+			int from = this.amazonSquares[player][a];
+
+			for (int moveDir = 0; moveDir < RayTable.NUM_DIRECTIONS; moveDir++) {
+				for (int i = rays.rayStart(from, moveDir); i < rays.rayEnd(from, moveDir); i++) {
+					int to = raySquares[i];
+					if (occupied.get(to)) {
+						break;
+					}
+
+					this.addShots(from, to, buffer);
+				}
+			}
+		}
+		return buffer.size();
+	}
+
+	/**
+	 * Generates the moves (without the shots) `id` can make on this board, like {@link #generateTurns},
+	 * so a search can try the moves first and only generate the shots of a move with {@link #generateShots}
+	 * when it gets to it.
+	 *
+	 * @param id the player whose moves to generate
+	 * @param buffer the buffer to fill with packed turns whose shot is 0, it is cleared first
+	 * @return the number of generated moves
+	 */
+	public int generateMoves(GamePlayerId id, TurnBuffer buffer) {
+		assert this.getNumRows() * this.getNumColumns() <= PackedTurn.MAX_SQUARES;
+		buffer.clear();
+
+		RayTable rays = this.getRayTable();
+		int[] raySquares = rays.getSquares();
+		BitBoard occupied = this.getOccupied();
+		int player = id.get();
+
+		for (int a = 0; a < this.amazonCounts[player]; a++) {
+			int from = this.amazonSquares[player][a];
+
+			for (int moveDir = 0; moveDir < RayTable.NUM_DIRECTIONS; moveDir++) {
+				for (int i = rays.rayStart(from, moveDir); i < rays.rayEnd(from, moveDir); i++) {
+					int to = raySquares[i];
+					if (occupied.get(to)) {
+						break;
+					}
+					buffer.add(PackedTurn.pack(from, to, 0));
+				}
+			}
+		}
+		return buffer.size();
+	}
+
+	/**
+	 * Generates every turn of a move generated by {@link #generateMoves}, in the order of {@link #generateTurns}.
+	 * The board is not changed, the square the amazon comes from is treated as empty.
+	 *
+	 * @param from the square of the moving amazon
+	 * @param to the empty square it moves to, it has to be reachable from `from`
+	 * @param buffer the buffer to fill with the packed turns, it is cleared first
+	 * @return the number of generated turns
+	 */
+	public int generateShots(int from, int to, TurnBuffer buffer) {
+		buffer.clear();
+		this.addShots(from, to, buffer);
+		return buffer.size();
+	}
+
+	private void addShots(int from, int to, TurnBuffer buffer) {
+		RayTable rays = this.getRayTable();
+		int[] raySquares = rays.getSquares();
+		BitBoard occupied = this.getOccupied();
+
+		for (int shotDir = 0; shotDir < RayTable.NUM_DIRECTIONS; shotDir++) {
+			for (int j = rays.rayStart(to, shotDir); j < rays.rayEnd(to, shotDir); j++) {
+				int shot = raySquares[j];
+				// the square the amazon came from is empty after the move
+				if (occupied.get(shot) && shot != from) {
+					break;
+				}
+				buffer.add(PackedTurn.pack(from, to, shot));
+			}
+		}
 	}
 
 	/**
@@ -306,6 +733,17 @@ public class Board extends PieceMap {
 			throw new InvalidTurnException("Invalid move or shot");
 		}
 
+		this.applyTurnUnchecked(turn);
+	}
+
+	/**
+	 * Applies a {@link Turn} to the board without checking if it is valid.
+	 * Every turn applied this way can be reverted exactly with {@link #undoTurn()},
+	 * which makes this suitable for trying out turns on a board in place.
+	 *
+	 * @param turn the turn to apply, precondition: {@link #isValid(Turn)} holds for it
+	 */
+	public void applyTurnUnchecked(Turn turn) {
 		// apply changes to the board:
 		Move move = turn.getMove();
 		Shot shot = turn.getShot();
@@ -315,11 +753,161 @@ public class Board extends PieceMap {
 		this.setAt(shot.getShotPosition(), Piece.Arrow);
 
 		turn.setId(new TurnId(this.appliedTurns.size()));
-		this.appliedTurns.add(turn);
+		this.appliedTurns = this.appliedTurns.append(turn);
+		this.playerToMove = turn.getPlayerId().other();
 	}
 
+	/**
+	 * Applies a {@link Turn} from a trusted source, like a game this program stored itself.
+	 * Instead of the full validation of {@link #applyTurn(Turn)} only a constant time consistency check is done:
+	 * the start square holds an amazon of the player making the turn, the end square is empty
+	 * and the shot lands on an empty square or the start square. The paths are not checked.
+	 *
+	 * @param turn the turn to apply
+	 * @throws InvalidTurnException if the turn does not fit this board at all
+	 */
+	public void applyTurnTrusted(Turn turn) throws InvalidTurnException {
+		Position start = turn.getMove().getStart();
+		Position end = turn.getMove().getEnd();
+		Position shot = turn.getShot().getShotPosition();
+
+		if (turn.getPlayerId() == null || this.isOutOfBounds(start) || this.isOutOfBounds(end) || this.isOutOfBounds(shot)) {
+			throw new InvalidTurnException("Turn does not fit the board");
+		}
+		if (this.getAt(start) != Piece.fromPlayerId(turn.getPlayerId())
+				|| this.getAt(end) != Piece.Empty
+				|| !(this.getAt(shot) == Piece.Empty || shot.equals(start))
+				|| start.equals(end) || shot.equals(end)) {
+			throw new InvalidTurnException("Turn is inconsistent with the board");
+		}
+
+		this.applyTurnUnchecked(turn);
+	}
+
+	/**
+	 * Applies a packed turn (see {@link PackedTurn}) without checking if it is valid.
+	 * In contrast to {@link #applyTurnUnchecked(Turn)} this does not record the turn in the turn history,
+	 * it only changes the pieces (and with them the amazon index and hash) and the player to move.
+	 * This is meant for searches that revert every turn they try with {@link #undoPackedTurn(int)}.
+	 *
+	 * @param turn the packed turn, precondition: it was generated by {@link #generateTurns} for this position
+	 */
+	public void applyPackedTurn(int turn) {
+		int from = PackedTurn.from(turn);
+		this.playerToMove = this.getAtSquare(from) == Piece.AmazonPlayer1 ? GamePlayerId.PLAYER2 : GamePlayerId.PLAYER1;
+
+		this.movePieceToSquare(from, PackedTurn.to(turn));
+		this.setAtSquare(PackedTurn.shot(turn), Piece.Arrow);
+	}
+
+	/**
+	 * Reverts a packed turn applied with {@link #applyPackedTurn(int)},
+	 * packed turns have to be reverted in the reverse order they were applied in.
+	 *
+	 * @param turn the packed turn that was applied last
+	 */
+	public void undoPackedTurn(int turn) {
+		int from = PackedTurn.from(turn);
+
+		// remove the arrow first, it may have been shot onto the square the amazon came from
+		this.setAtSquare(PackedTurn.shot(turn), Piece.Empty);
+		this.movePieceToSquare(PackedTurn.to(turn), from);
+		this.playerToMove = this.getAtSquare(from) == Piece.AmazonPlayer1 ? GamePlayerId.PLAYER1 : GamePlayerId.PLAYER2;
+	}
+
+	/**
+	 * Reverts the last applied {@link Turn}, so the board is in exactly the state it was in before it was applied.
+	 *
+	 * @return the reverted turn
+	 * @throws IllegalStateException if no turn was applied to this board
+	 */
+	public Turn undoTurn() throws IllegalStateException {
+		if (this.appliedTurns.isEmpty()) {
+			throw new IllegalStateException("no turn to undo");
+		}
+
+		Turn turn = this.appliedTurns.getLast().get();
+		this.appliedTurns = this.appliedTurns.removeLast();
+		Move move = turn.getMove();
+
+		// remove the arrow first, it may have been shot onto the square the amazon came from
+		this.setAt(turn.getShot().getShotPosition(), Piece.Empty);
+		this.movePieceTo(move.getEnd(), move.getStart());
+		this.playerToMove = turn.getPlayerId();
+
+		return turn;
+	}
+
+	/**
+	 * constructs the image of this board under a symmetry, the turn history is mapped as well
+	 * and the player to move is kept
+	 *
+	 * @param symmetry the symmetry to apply
+	 * @return a new board
+	 * @throws IllegalArgumentException if the symmetry does not fit the size of this board
+	 */
+	public Board transform(Symmetry symmetry) throws IllegalArgumentException {
+		int rows = this.getNumRows();
+		int columns = this.getNumColumns();
+		if (!symmetry.isApplicable(rows, columns)) {
+			throw new IllegalArgumentException(symmetry + " does not map a " + rows + "x" + columns + " board onto itself");
+		}
+
+		BitPieceMap image = new BitPieceMap(rows, columns);
+		BitBoard occupied = this.getOccupied();
+		for (int square = occupied.nextSetBit(0); square >= 0; square = occupied.nextSetBit(square + 1)) {
+			image.setAtSquare(symmetry.mapSquare(square, rows, columns), this.getAtSquare(square));
+		}
+
+		Board board = new Board(image, TurnHistory.of(this.appliedTurns.stream().map(t -> symmetry.map(t, rows, columns))));
+		board.playerToMove = this.playerToMove;
+		return board;
+	}
+
+	/**
+	 * finds the canonical form of this board: of all images under the symmetries that fit its size
+	 * the one whose squares (read row by row) are the least, compared by {@link Piece#ordinal()}.
+	 * symmetric boards have the same canonical form
+	 *
+	 * @return the canonical board and the symmetry that maps this board to it
+	 */
+	public CanonicalForm canonicalize() {
+		Symmetry best = Symmetry.IDENTITY;
+		for (Symmetry symmetry : Symmetry.values()) {
+			if (symmetry.isApplicable(this.getNumRows(), this.getNumColumns()) && this.compareImages(symmetry, best) < 0) {
+				best = symmetry;
+			}
+		}
+		return new CanonicalForm(best == Symmetry.IDENTITY ? this.clone() : this.transform(best), best);
+	}
+
+	/**
+	 * compares the images of this board under two symmetries square by square without constructing them
+	 */
+	private int compareImages(Symmetry a, Symmetry b) {
+		Symmetry aInverse = a.inverse();
+		Symmetry bInverse = b.inverse();
+		int rows = this.getNumRows();
+		int columns = this.getNumColumns();
+
+		for (int square = 0; square < rows * columns; square++) {
+			int pieceA = this.getAtSquare(aInverse.mapSquare(square, rows, columns)).ordinal();
+			int pieceB = this.getAtSquare(bInverse.mapSquare(square, rows, columns)).ordinal();
+			if (pieceA != pieceB) {
+				return pieceA - pieceB;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * copies the pieces of this board, the turn history is immutable and shared
+	 * so this does not depend on the number of applied turns
+	 *
+	 * @return a copy of this board
+	 */
 	@Override
 	public Board clone() {
-		return new Board(super.clone(), this.appliedTurns.stream().map(Turn::clone));
+		return new Board(this, this.appliedTurns);
 	}
 }
\ No newline at end of file
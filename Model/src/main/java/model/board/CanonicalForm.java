@@ -0,0 +1,33 @@
+package model.board;
+
+/**
+ * the canonical form of a board: the least of all its symmetric images, see {@link Board#canonicalize()}
+ *
+ * all boards of one symmetry class have the same canonical board (and so the same hash),
+ * which lets position tables store one entry for the whole class
+ */
+public final class CanonicalForm {
+
+	private final Board board;
+	private final Symmetry symmetry;
+
+	CanonicalForm(Board board, Symmetry symmetry) {
+		this.board = board;
+		this.symmetry = symmetry;
+	}
+
+	/**
+	 * @return the canonical board
+	 */
+	public Board getBoard() {
+		return this.board;
+	}
+
+	/**
+	 * @return the symmetry that maps the original board to the canonical one,
+	 *         turns found for the canonical board are mapped back with its {@link Symmetry#inverse()}
+	 */
+	public Symmetry getSymmetry() {
+		return this.symmetry;
+	}
+}
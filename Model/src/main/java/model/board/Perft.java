@@ -0,0 +1,175 @@
+package model.board;
+
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.jsonstruct.BoardStruct;
+import model.player.TurnBuffer;
+import validation.JsonValidatingParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * counts the leaf positions of the turn tree of a board to a given depth ("perft"),
+ * this is the standard way of checking a turn generator for correctness (by comparing against known counts)
+ * and of measuring its throughput.
+ *
+ * every turn is applied and reverted in place with {@link Board#applyPackedTurn(int)} and {@link Board#undoPackedTurn(int)}
+ * and every ply reuses its own {@link TurnBuffer}, so counting does not allocate once the buffers have grown.
+ * the last ply is not applied, its turns are only generated and counted
+ *
+ * usage: {@code Perft <depth> [<board json file> [<player to move: 0 or 1>]]},
+ * the board file contains a {@link BoardStruct}, without one the standard 10x10 opening is counted
+ */
+public final class Perft {
+
+	/**
+	 * the leaf counts of {@link #standardBoard()} with {@link GamePlayerId#PLAYER1} to move, index = depth
+	 */
+	public static final long[] STANDARD_REFERENCE_COUNTS = { 1L, 2176L, 4307152L, 8350439170L };
+
+	private final Board board;
+
+	/**
+	 * one buffer per ply, buffers[0] holds the turns of the root
+	 */
+	private final List<TurnBuffer> buffers = new ArrayList<>();
+
+	/**
+	 * @param board the board to count the turns of, it is modified while counting
+	 *              but in its original state whenever {@link #count(int)} returns
+	 */
+	public Perft(Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * @return the standard 10x10 opening position, the amazons of {@link GamePlayerId#PLAYER1} start at the bottom
+	 */
+	public static Board standardBoard() {
+		int[][] squares = new int[10][10];
+		for (int[] row : squares) {
+			Arrays.fill(row, Piece.SQUARE_FREE);
+		}
+
+		squares[0][3] = Piece.SQUARE_PLAYER1;
+		squares[0][6] = Piece.SQUARE_PLAYER1;
+		squares[3][0] = Piece.SQUARE_PLAYER1;
+		squares[3][9] = Piece.SQUARE_PLAYER1;
+		squares[6][0] = Piece.SQUARE_PLAYER0;
+		squares[6][9] = Piece.SQUARE_PLAYER0;
+		squares[9][3] = Piece.SQUARE_PLAYER0;
+		squares[9][6] = Piece.SQUARE_PLAYER0;
+
+		try {
+			return Board.fromSquares(10, 10, squares);
+		} catch (UnsupportedPieceCodeException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * counts the leaves of the turn tree of the board, starting with {@link Board#getPlayerToMove()}
+	 *
+	 * @param depth the number of turns, 0 counts only the position itself
+	 * @return the number of turn sequences of length `depth`
+	 */
+	public long count(int depth) {
+		if (depth < 0) {
+			throw new IllegalArgumentException("depth must not be negative");
+		}
+		return this.count(depth, 0);
+	}
+
+	private long count(int depth, int ply) {
+		if (depth == 0) {
+			return 1;
+		}
+
+		TurnBuffer turns = this.bufferOf(ply);
+		int n = this.board.generateTurns(this.board.getPlayerToMove(), turns);
+		if (depth == 1) {
+			return n;
+		}
+
+		long leaves = 0;
+		for (int i = 0; i < n; i++) {
+			int turn = turns.get(i);
+			this.board.applyPackedTurn(turn);
+			leaves += this.count(depth - 1, ply + 1);
+			this.board.undoPackedTurn(turn);
+		}
+		return leaves;
+	}
+
+	private TurnBuffer bufferOf(int ply) {
+		while (this.buffers.size() <= ply) {
+			this.buffers.add(new TurnBuffer());
+		}
+		return this.buffers.get(ply);
+	}
+
+	private static void usage() {
+		System.err.println("usage: Perft <depth> [<board json file> [<player to move: 0 or 1>]]");
+		System.exit(1);
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1 || args.length > 3) {
+			usage();
+		}
+
+		int maxDepth = 0;
+		try {
+			maxDepth = Integer.parseInt(args[0]);
+		} catch (NumberFormatException e) {
+			usage();
+		}
+
+		Board board;
+		boolean standard = args.length == 1;
+		if (standard) {
+			board = standardBoard();
+		} else {
+			try {
+				String json = new String(Files.readAllBytes(Paths.get(args[1])), StandardCharsets.UTF_8);
+				board = new JsonValidatingParser().fromJson(json, BoardStruct.class).intoModel();
+			} catch (IOException e) {
+				System.err.println("could not read board: " + e.getMessage());
+				System.exit(1);
+				return;
+			}
+
+			if (args.length == 3) {
+				board.setPlayerToMove(GamePlayerId.fromInt(Integer.parseInt(args[2])));
+			}
+		}
+
+		Perft perft = new Perft(board);
+		boolean allMatch = true;
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			long start = System.nanoTime();
+			long leaves = perft.count(depth);
+			long nanos = Math.max(System.nanoTime() - start, 1);
+
+			String reference = "";
+			if (standard && depth < STANDARD_REFERENCE_COUNTS.length) {
+				boolean match = leaves == STANDARD_REFERENCE_COUNTS[depth];
+				allMatch &= match;
+				reference = match ? "  ok" : "  MISMATCH, expected " + STANDARD_REFERENCE_COUNTS[depth];
+			}
+
+			System.out.printf("depth %d: %d leaves in %.3f s, %.0f leaves/s%s%n",
+					depth, leaves, nanos / 1e9, leaves * 1e9 / nanos, reference);
+		}
+
+		if (!allMatch) {
+			System.exit(2);
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package model.board;
+
+import model.util.BitBoard;
+import model.util.RayTable;
+
+import java.util.Arrays;
+
+/**
+ * breadth-first distance maps over the empty squares of a board, computed bit-parallel:
+ * every step expands the whole frontier at once with a few {@link BitBoard} word operations
+ * instead of visiting squares one by one.
+ *
+ * the queen distance of a square is the number of queen moves an amazon needs to get there,
+ * the king distance the number of single steps (including diagonal ones). both only pass empty squares.
+ *
+ * an instance holds the scratch sets for one board size, so filling maps does not allocate.
+ * it is not thread safe, use one per thread
+ */
+public final class Reachability {
+
+	/**
+	 * the distance of squares that cannot be reached (or lie beyond the requested maximum distance)
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private final int numSquares;
+
+	/**
+	 * all squares but those of the first or last column, this keeps horizontal and diagonal steps from wrapping around
+	 */
+	private final BitBoard notFirstColumn;
+	private final BitBoard notLastColumn;
+
+	/**
+	 * the shift of the square index for one step in each of the {@link RayTable#DIRECTIONS}
+	 */
+	private final int[] steps = new int[RayTable.NUM_DIRECTIONS];
+
+	private final BitBoard visited;
+	private final BitBoard frontier;
+	private final BitBoard next;
+	private final BitBoard ray;
+
+	/**
+	 * @param numRows the number of rows of the boards to fill
+	 * @param numColumns the number of columns of the boards to fill
+	 */
+	public Reachability(int numRows, int numColumns) {
+		this.numSquares = numRows * numColumns;
+
+		this.notFirstColumn = new BitBoard(this.numSquares);
+		this.notLastColumn = new BitBoard(this.numSquares);
+		for (int square = 0; square < this.numSquares; square++) {
+			if (square % numColumns != 0) {
+				this.notFirstColumn.set(square);
+			}
+			if (square % numColumns != numColumns - 1) {
+				this.notLastColumn.set(square);
+			}
+		}
+		for (int dir = 0; dir < RayTable.NUM_DIRECTIONS; dir++) {
+			this.steps[dir] = RayTable.DIRECTIONS[dir][0] * numColumns + RayTable.DIRECTIONS[dir][1];
+		}
+
+		this.visited = new BitBoard(this.numSquares);
+		this.frontier = new BitBoard(this.numSquares);
+		this.next = new BitBoard(this.numSquares);
+		this.ray = new BitBoard(this.numSquares);
+	}
+
+	/**
+	 * fills the queen distance of every square from the closest source
+	 *
+	 * @param sources the squares to start from, they get distance 0
+	 * @param empty the squares that can be passed
+	 * @param maxDistance the number of moves after which to stop
+	 * @param distances the map to fill, indexed by square, at least as long as the number of squares
+	 * @return the number of squares reached (without the sources)
+	 */
+	public int queenDistances(BitBoard sources, BitBoard empty, int maxDistance, int[] distances) {
+		return this.fill(sources, empty, maxDistance, distances, true);
+	}
+
+	/**
+	 * fills the king distance of every square from the closest source
+	 *
+	 * @param sources the squares to start from, they get distance 0
+	 * @param empty the squares that can be passed
+	 * @param maxDistance the number of steps after which to stop
+	 * @param distances the map to fill, indexed by square, at least as long as the number of squares
+	 * @return the number of squares reached (without the sources)
+	 */
+	public int kingDistances(BitBoard sources, BitBoard empty, int maxDistance, int[] distances) {
+		return this.fill(sources, empty, maxDistance, distances, false);
+	}
+
+	private int fill(BitBoard sources, BitBoard empty, int maxDistance, int[] distances, boolean slide) {
+		Arrays.fill(distances, 0, this.numSquares, UNREACHABLE);
+		for (int s = sources.nextSetBit(0); s >= 0; s = sources.nextSetBit(s + 1)) {
+			distances[s] = 0;
+		}
+		this.visited.copyFrom(sources);
+		this.frontier.copyFrom(sources);
+
+		int reached = 0;
+		for (int distance = 1; distance <= maxDistance; distance++) {
+			this.next.clearAll();
+			for (int dir = 0; dir < RayTable.NUM_DIRECTIONS; dir++) {
+				this.ray.copyFrom(this.frontier);
+				// a queen slides on through empty squares, even through those found earlier
+				do {
+					this.step(this.ray, dir);
+					this.ray.and(empty);
+					this.next.or(this.ray);
+				} while (slide && !this.ray.isEmpty());
+			}
+			this.next.andNot(this.visited);
+			if (this.next.isEmpty()) {
+				break;
+			}
+
+			for (int s = this.next.nextSetBit(0); s >= 0; s = this.next.nextSetBit(s + 1)) {
+				distances[s] = distance;
+				reached++;
+			}
+			this.visited.or(this.next);
+			this.frontier.copyFrom(this.next);
+		}
+		return reached;
+	}
+
+	/**
+	 * moves every square of `set` one step in direction `dir`, squares that would leave the board are dropped
+	 */
+	private void step(BitBoard set, int dir) {
+		int dColumn = RayTable.DIRECTIONS[dir][1];
+		if (dColumn > 0) {
+			set.and(this.notLastColumn);
+		} else if (dColumn < 0) {
+			set.and(this.notFirstColumn);
+		}
+
+		int step = this.steps[dir];
+		if (step > 0) {
+			set.shiftUp(step);
+		} else {
+			set.shiftDown(-step);
+		}
+	}
+}
@@ -0,0 +1,361 @@
+package model.board;
+
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.util.BitBoard;
+import model.util.RayTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * partitions the empty squares of a {@link Board} into regions and tells which amazons border each region
+ *
+ * two empty squares belong to the same region if they are connected by a chain of empty squares
+ * that are next to each other (including diagonally), which are exactly the squares an amazon could ever reach.
+ * once no region borders amazons of both players the players are separated and the game is decided
+ * by the sizes of their territories.
+ *
+ * regions are {@link BitBoard}s and are found with a bit-parallel flood fill: a region grows by all
+ * neighbours of all its squares at once, a few word operations per step.
+ * after {@link #analyze()} the regions can be kept up to date incrementally with {@link #amazonMoved(int, int)},
+ * {@link #arrowPlaced(int)} or {@link #turnApplied(int)}, which only refill the regions that were touched.
+ * region indices are only valid until the next update
+ */
+public class RegionAnalyzer {
+
+	private final Board board;
+	private final int numColumns;
+	private final int numSquares;
+	private final RayTable rays;
+
+	/**
+	 * all squares but those of the first or last column, this keeps the horizontal steps of the fill from wrapping around
+	 */
+	private final BitBoard notFirstColumn;
+	private final BitBoard notLastColumn;
+	private final BitBoard allSquares;
+
+	private final ArrayList<BitBoard> regions = new ArrayList<>();
+
+	/**
+	 * the amazons bordering each region, indexed by region and then by {@link GamePlayerId#get()}
+	 */
+	private final ArrayList<BitBoard[]> borders = new ArrayList<>();
+
+	/**
+	 * the region of every square, -1 for occupied squares
+	 */
+	private final int[] regionOf;
+
+	// scratch sets, so updates do not allocate more than the new regions
+	private final BitBoard empty;
+	private final BitBoard area;
+	private final BitBoard grown;
+	private final BitBoard shifted;
+
+	/**
+	 * constructs an analyzer for a board and analyzes it
+	 *
+	 * @param board the board to analyze, the analyzer reads its pieces on every update
+	 */
+	public RegionAnalyzer(Board board) {
+		this.board = board;
+		this.numColumns = board.getNumColumns();
+		this.numSquares = board.getNumRows() * board.getNumColumns();
+		this.rays = RayTable.forSize(board.getNumRows(), board.getNumColumns());
+		this.regionOf = new int[this.numSquares];
+
+		this.notFirstColumn = new BitBoard(this.numSquares);
+		this.notLastColumn = new BitBoard(this.numSquares);
+		this.allSquares = new BitBoard(this.numSquares);
+		for (int square = 0; square < this.numSquares; square++) {
+			this.allSquares.set(square);
+			if (square % this.numColumns != 0) {
+				this.notFirstColumn.set(square);
+			}
+			if (square % this.numColumns != this.numColumns - 1) {
+				this.notLastColumn.set(square);
+			}
+		}
+
+		this.empty = new BitBoard(this.numSquares);
+		this.area = new BitBoard(this.numSquares);
+		this.grown = new BitBoard(this.numSquares);
+		this.shifted = new BitBoard(this.numSquares);
+
+		this.analyze();
+	}
+
+	/**
+	 * partitions the whole board from scratch, this is needed after any change
+	 * that is not reported through one of the incremental updates (like undoing a turn)
+	 */
+	public void analyze() {
+		this.regions.clear();
+		this.borders.clear();
+		Arrays.fill(this.regionOf, -1);
+
+		this.updateEmpty();
+		this.area.copyFrom(this.empty);
+		this.splitIntoRegions(this.area);
+	}
+
+	/**
+	 * updates the regions after an amazon moved on the board from `from` to `to`,
+	 * the regions touching either square are merged or split as needed
+	 *
+	 * @param from the square index the amazon left, it is empty on the board now
+	 * @param to the square index the amazon moved to
+	 */
+	public void amazonMoved(int from, int to) {
+		this.updateEmpty();
+
+		// everything connected to `from` now and everything that was connected through `to` has to be refilled
+		this.area.clearAll();
+		this.area.set(from);
+		this.removeRegion(this.regionOf[to]);
+		this.regionOf[to] = -1;
+		BitBoard neighbours = this.rays.getNeighbourMask(from);
+		for (int s = neighbours.nextSetBit(0); s >= 0; s = neighbours.nextSetBit(s + 1)) {
+			this.removeRegion(this.regionOf[s]);
+		}
+		this.area.and(this.empty);
+		this.splitIntoRegions(this.area);
+
+		// the amazon may border regions that were not touched
+		for (int r = 0; r < this.regions.size(); r++) {
+			this.updateBorders(r);
+		}
+	}
+
+	/**
+	 * updates the regions after an arrow landed on the board at `square`,
+	 * only the region of that square is refilled since an arrow can split but never merge regions
+	 *
+	 * @param square the square index of the arrow
+	 */
+	public void arrowPlaced(int square) {
+		this.updateEmpty();
+
+		this.area.clearAll();
+		this.removeRegion(this.regionOf[square]);
+		this.regionOf[square] = -1;
+		this.area.and(this.empty);
+		this.splitIntoRegions(this.area);
+	}
+
+	/**
+	 * updates the regions after a turn was applied to the board
+	 *
+	 * @param turn the packed turn, see {@link PackedTurn}
+	 */
+	public void turnApplied(int turn) {
+		this.amazonMoved(PackedTurn.from(turn), PackedTurn.to(turn));
+		this.arrowPlaced(PackedTurn.shot(turn));
+	}
+
+	/**
+	 * @return the number of regions
+	 */
+	public int getRegionCount() {
+		return this.regions.size();
+	}
+
+	/**
+	 * @param square a square index, see {@link Board#squareIndex(int, int)}
+	 * @return the index of the region of that square, -1 if the square is not empty
+	 */
+	public int getRegionOf(int square) {
+		return this.regionOf[square];
+	}
+
+	/**
+	 * @param region the region index
+	 * @return the squares of the region, this is a live view and must not be modified
+	 */
+	public BitBoard getRegionSquares(int region) {
+		return this.regions.get(region);
+	}
+
+	/**
+	 * @param region the region index
+	 * @return the number of squares of the region
+	 */
+	public int getRegionSize(int region) {
+		return this.regions.get(region).cardinality();
+	}
+
+	/**
+	 * @param region the region index
+	 * @param id the player whose amazons to fetch
+	 * @return the squares of the amazons of `id` next to the region, this is a live view and must not be modified
+	 */
+	public BitBoard getBorderingAmazons(int region, GamePlayerId id) {
+		return this.borders.get(region)[id.get()];
+	}
+
+	/**
+	 * @param region the region index
+	 * @return true if amazons of both players border the region
+	 */
+	public boolean isContested(int region) {
+		BitBoard[] b = this.borders.get(region);
+		return !b[0].isEmpty() && !b[1].isEmpty();
+	}
+
+	/**
+	 * @return true if no region is contested, so neither player can ever take a square from the other
+	 */
+	public boolean isSeparated() {
+		for (int r = 0; r < this.regions.size(); r++) {
+			if (this.isContested(r)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param id the player to check
+	 * @return true if no region bordering an amazon of `id` is bordered by an amazon of the other player
+	 */
+	public boolean isSealedOff(GamePlayerId id) {
+		for (int r = 0; r < this.regions.size(); r++) {
+			if (!this.getBorderingAmazons(r, id).isEmpty() && this.isContested(r)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @param id the player to count the squares of
+	 * @return the number of squares in regions only `id` borders, an upper bound for the turns `id` can still make there
+	 */
+	public int getTerritory(GamePlayerId id) {
+		int territory = 0;
+		for (int r = 0; r < this.regions.size(); r++) {
+			if (!this.getBorderingAmazons(r, id).isEmpty() && !this.isContested(r)) {
+				territory += this.getRegionSize(r);
+			}
+		}
+		return territory;
+	}
+
+	/**
+	 * @param id the player to count the squares of
+	 * @return the number of squares in all regions bordering an amazon of `id`
+	 */
+	public int getReachableSquares(GamePlayerId id) {
+		int reachable = 0;
+		for (int r = 0; r < this.regions.size(); r++) {
+			if (!this.getBorderingAmazons(r, id).isEmpty()) {
+				reachable += this.getRegionSize(r);
+			}
+		}
+		return reachable;
+	}
+
+	private void updateEmpty() {
+		this.empty.copyFrom(this.allSquares);
+		this.empty.andNot(this.board.getOccupied());
+	}
+
+	/**
+	 * removes a region (if `region` is not -1) and adds its squares to {@link #area},
+	 * the last region takes the index of the removed one
+	 */
+	private void removeRegion(int region) {
+		if (region < 0) {
+			return;
+		}
+		BitBoard squares = this.regions.get(region);
+		this.area.or(squares);
+		for (int s = squares.nextSetBit(0); s >= 0; s = squares.nextSetBit(s + 1)) {
+			this.regionOf[s] = -1;
+		}
+
+		int last = this.regions.size() - 1;
+		if (region != last) {
+			BitBoard moved = this.regions.get(last);
+			this.regions.set(region, moved);
+			this.borders.set(region, this.borders.get(last));
+			for (int s = moved.nextSetBit(0); s >= 0; s = moved.nextSetBit(s + 1)) {
+				this.regionOf[s] = region;
+			}
+		}
+		this.regions.remove(last);
+		this.borders.remove(last);
+	}
+
+	/**
+	 * splits the empty squares of `squares` into connected regions and adds them, `squares` is cleared
+	 */
+	private void splitIntoRegions(BitBoard squares) {
+		for (int seed = squares.nextSetBit(0); seed >= 0; seed = squares.nextSetBit(seed + 1)) {
+			BitBoard region = new BitBoard(this.numSquares);
+			region.set(seed);
+
+			// grow by all neighbours at once until nothing is added
+			int size = 1;
+			while (true) {
+				this.grown.copyFrom(region);
+				this.dilate(this.grown);
+				this.grown.and(squares);
+				int grownSize = this.grown.cardinality();
+				if (grownSize == size) {
+					break;
+				}
+				region.copyFrom(this.grown);
+				size = grownSize;
+			}
+
+			squares.andNot(region);
+			int index = this.regions.size();
+			this.regions.add(region);
+			this.borders.add(new BitBoard[] { new BitBoard(this.numSquares), new BitBoard(this.numSquares) });
+			for (int s = region.nextSetBit(0); s >= 0; s = region.nextSetBit(s + 1)) {
+				this.regionOf[s] = index;
+			}
+			this.updateBorders(index);
+		}
+	}
+
+	private void updateBorders(int region) {
+		this.grown.copyFrom(this.regions.get(region));
+		this.dilate(this.grown);
+
+		BitBoard[] b = this.borders.get(region);
+		for (GamePlayerId id : GamePlayerId.values()) {
+			b[id.get()].copyFrom(this.grown);
+			b[id.get()].and(this.board.getAmazons(id));
+		}
+	}
+
+	/**
+	 * adds every square next to a square of `set` to it
+	 */
+	private void dilate(BitBoard set) {
+		// right and left neighbours, squares of the last/first column have none there.
+		// shifting the already grown set back only adds squares that are already part of it
+		this.shifted.copyFrom(set);
+		this.shifted.and(this.notLastColumn);
+		this.shifted.shiftUp(1);
+		set.or(this.shifted);
+
+		this.shifted.copyFrom(set);
+		this.shifted.and(this.notFirstColumn);
+		this.shifted.shiftDown(1);
+		set.or(this.shifted);
+
+		// the rows below and above the horizontally grown set, which covers the diagonals too
+		this.shifted.copyFrom(set);
+		this.shifted.shiftUp(this.numColumns);
+		set.or(this.shifted);
+
+		this.shifted.copyFrom(set);
+		this.shifted.shiftDown(this.numColumns);
+		set.or(this.shifted);
+	}
+}
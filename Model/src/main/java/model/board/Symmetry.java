@@ -0,0 +1,135 @@
+package model.board;
+
+import model.player.Move;
+import model.player.PackedTurn;
+import model.player.Shot;
+import model.player.Turn;
+import model.util.Position;
+
+/**
+ * the 8 symmetries of a square board (the dihedral group of order 8): 4 rotations and 4 reflections.
+ * the rules of the game do not change under any of them, so symmetric positions have the same value
+ * and the transformed turns of one are exactly the turns of the other.
+ *
+ * rectangular boards only have the symmetries that keep the number of rows and columns,
+ * see {@link #isApplicable(int, int)}
+ */
+public enum Symmetry {
+	IDENTITY,
+	/** clockwise */
+	ROTATE_90,
+	ROTATE_180,
+	/** clockwise, so counterclockwise by 90 degrees */
+	ROTATE_270,
+	/** upside down, the rows are reversed */
+	MIRROR_ROWS,
+	/** left to right, the columns are reversed */
+	MIRROR_COLUMNS,
+	/** along the diagonal from the top left to the bottom right corner */
+	TRANSPOSE,
+	/** along the diagonal from the top right to the bottom left corner */
+	ANTI_TRANSPOSE;
+
+	/**
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return true if this maps a board of that size onto itself
+	 */
+	public boolean isApplicable(int numRows, int numColumns) {
+		switch (this) {
+			case ROTATE_90:
+			case ROTATE_270:
+			case TRANSPOSE:
+			case ANTI_TRANSPOSE:
+				return numRows == numColumns;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @return the symmetry that reverts this one
+	 */
+	public Symmetry inverse() {
+		switch (this) {
+			case ROTATE_90:
+				return ROTATE_270;
+			case ROTATE_270:
+				return ROTATE_90;
+			default:
+				return this;
+		}
+	}
+
+	/**
+	 * maps a square to the square it is moved to by this symmetry
+	 *
+	 * @param square the square index `row * numColumns + column`
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board, precondition: {@link #isApplicable(int, int)}
+	 * @return the square index of the image
+	 */
+	public int mapSquare(int square, int numRows, int numColumns) {
+		int row = square / numColumns;
+		int column = square % numColumns;
+		int lastRow = numRows - 1;
+		int lastColumn = numColumns - 1;
+
+		switch (this) {
+			case ROTATE_90:
+				return column * numColumns + (lastRow - row);
+			case ROTATE_180:
+				return (lastRow - row) * numColumns + (lastColumn - column);
+			case ROTATE_270:
+				return (lastColumn - column) * numColumns + row;
+			case MIRROR_ROWS:
+				return (lastRow - row) * numColumns + column;
+			case MIRROR_COLUMNS:
+				return row * numColumns + (lastColumn - column);
+			case TRANSPOSE:
+				return column * numColumns + row;
+			case ANTI_TRANSPOSE:
+				return (lastColumn - column) * numColumns + (lastRow - row);
+			default:
+				return square;
+		}
+	}
+
+	/**
+	 * @param p a position on the board
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return the image of `p`
+	 */
+	public Position map(Position p, int numRows, int numColumns) {
+		return Position.ofSquare(this.mapSquare(p.toSquare(numColumns), numRows, numColumns), numColumns);
+	}
+
+	/**
+	 * @param turn a turn on the board
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return a new turn of the same player with the same id, moving the image of the amazon to the image of its target
+	 */
+	public Turn map(Turn turn, int numRows, int numColumns) {
+		Turn mapped = new Turn(
+				new Move(this.map(turn.getMove().getStart(), numRows, numColumns), this.map(turn.getMove().getEnd(), numRows, numColumns)),
+				new Shot(this.map(turn.getShot().getShotPosition(), numRows, numColumns)),
+				turn.getPlayerId());
+		mapped.setId(turn.getId());
+		return mapped;
+	}
+
+	/**
+	 * @param turn a packed turn, see {@link PackedTurn}
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return the packed image of the turn
+	 */
+	public int mapPacked(int turn, int numRows, int numColumns) {
+		return PackedTurn.pack(
+				this.mapSquare(PackedTurn.from(turn), numRows, numColumns),
+				this.mapSquare(PackedTurn.to(turn), numRows, numColumns),
+				this.mapSquare(PackedTurn.shot(turn), numRows, numColumns));
+	}
+}
@@ -0,0 +1,114 @@
+package model.codec;
+
+import model.exceptions.InvalidGameRecordException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * the binary game record format shared by {@link GameRecordWriter} and {@link GameRecordReader}
+ *
+ * <pre>
+ * stream  = magic "AMZ", version byte, game*
+ * game    = varint gameId (zigzag), varint maxTurnTime in ms, varint winningPlayer + 1 (0 if none),
+ *           player, player, board, varint turnCount, turn*
+ * player  = varint globalPlayerId (zigzag), string name, string url
+ * string  = varint byteLength + 1 (0 for null), utf-8 bytes
+ * board   = varint rows, varint columns, varint playerToMove, one {@link model.board.Piece#ordinal()} per square,
+ *           2 bits each and 4 squares per byte, the first square in the lowest bits
+ * turn    = the square indices of start, end and shot, one byte each on boards with up to 256 squares,
+ *           otherwise the 4 byte big endian {@link model.player.PackedTurn}
+ * </pre>
+ *
+ * varints are unsigned LEB128: 7 bits per byte, lowest bits first, the high bit is set on every byte but the last.
+ * the player of a turn is not stored, it is the owner of the amazon on the start square
+ */
+final class GameRecordFormat {
+
+	static final byte[] MAGIC = { 'A', 'M', 'Z' };
+	static final int VERSION = 1;
+
+	/**
+	 * boards with at most this many squares store one byte per square index in a turn
+	 */
+	static final int BYTE_SQUARES = 256;
+
+	private GameRecordFormat() {
+	}
+
+	static void writeVarLong(OutputStream out, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	static void writeSignedVarInt(OutputStream out, int value) throws IOException {
+		writeVarLong(out, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+	}
+
+	static void writeString(OutputStream out, String s) throws IOException {
+		if (s == null) {
+			writeVarLong(out, 0);
+			return;
+		}
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		writeVarLong(out, bytes.length + 1L);
+		out.write(bytes);
+	}
+
+	static int readByte(InputStream in) throws IOException {
+		int b = in.read();
+		if (b < 0) {
+			throw new InvalidGameRecordException("unexpected end of game record");
+		}
+		return b;
+	}
+
+	static long readVarLong(InputStream in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte(in);
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new InvalidGameRecordException("varint is too long");
+	}
+
+	/**
+	 * reads a varint that has to fit into [0, max]
+	 */
+	static int readVarInt(InputStream in, int max) throws IOException {
+		long value = readVarLong(in);
+		if (value < 0 || value > max) {
+			throw new InvalidGameRecordException("value " + value + " out of range [0, " + max + "]");
+		}
+		return (int) value;
+	}
+
+	static int readSignedVarInt(InputStream in) throws IOException {
+		long raw = readVarLong(in);
+		if (raw > 0xFFFFFFFFL) {
+			throw new InvalidGameRecordException("value " + raw + " does not fit into an int");
+		}
+		int zigzag = (int) raw;
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	static String readString(InputStream in) throws IOException {
+		int length = readVarInt(in, Integer.MAX_VALUE - 1);
+		if (length == 0) {
+			return null;
+		}
+		byte[] bytes = in.readNBytes(length - 1);
+		if (bytes.length != length - 1) {
+			throw new InvalidGameRecordException("unexpected end of game record");
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,204 @@
+package model.codec;
+
+import model.board.Board;
+import model.board.Piece;
+import model.exceptions.InvalidGameRecordException;
+import model.exceptions.InvalidTurnException;
+import model.game.Game;
+import model.ids.GameId;
+import model.ids.GamePlayerId;
+import model.ids.GlobalPlayerId;
+import model.player.PackedTurn;
+import model.player.Player;
+import model.player.Turn;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * reads games from a stream of binary game records written by {@link GameRecordWriter},
+ * see {@link GameRecordFormat} for the layout
+ *
+ * games are read one by one, so archives of many games never have to be held in memory at once:
+ * <pre>
+ * try (GameRecordReader reader = new GameRecordReader(Files.newInputStream(path))) {
+ *     while (reader.hasNext()) {
+ *         Game g = reader.readGame(true);
+ *     }
+ * }
+ * </pre>
+ */
+public class GameRecordReader implements Closeable {
+
+	private static final Piece[] PIECES = Piece.values();
+
+	private final InputStream in;
+
+	/**
+	 * @param in the stream to read from, it is buffered by this reader and closed by {@link #close()}
+	 * @throws IOException if the header could not be read
+	 * @throws InvalidGameRecordException if the stream is no game record stream or has an unsupported version
+	 */
+	public GameRecordReader(InputStream in) throws IOException {
+		this.in = new BufferedInputStream(in);
+
+		byte[] magic = this.in.readNBytes(GameRecordFormat.MAGIC.length);
+		if (!Arrays.equals(magic, GameRecordFormat.MAGIC)) {
+			throw new InvalidGameRecordException("not a game record");
+		}
+		int version = GameRecordFormat.readByte(this.in);
+		if (version != GameRecordFormat.VERSION) {
+			throw new InvalidGameRecordException("unsupported game record version " + version);
+		}
+	}
+
+	/**
+	 * decodes a stream that contains a single game
+	 *
+	 * @param bytes the encoded stream, see {@link GameRecordWriter#encode(Game)}
+	 * @param trusted whether to replay the turns with {@link Board#applyTurnTrusted(Turn)}
+	 * @return the game
+	 * @throws InvalidGameRecordException if the bytes are no valid game record
+	 */
+	public static Game decode(byte[] bytes, boolean trusted) throws InvalidGameRecordException {
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes))) {
+			return reader.readGame(trusted);
+		} catch (InvalidGameRecordException e) {
+			throw e;
+		} catch (IOException e) {
+			// a ByteArrayInputStream does not throw
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return true if there is another game to read
+	 * @throws IOException if reading fails
+	 */
+	public boolean hasNext() throws IOException {
+		this.in.mark(1);
+		boolean next = this.in.read() >= 0;
+		this.in.reset();
+		return next;
+	}
+
+	/**
+	 * reads the next game, this builds the same game as {@link model.jsonstruct.GameStruct#intoModel(boolean)}
+	 *
+	 * @param trusted if true the turns are replayed with {@link Board#applyTurnTrusted(Turn)},
+	 *                otherwise every turn is fully validated with {@link Board#applyTurn(Turn)}
+	 * @return the game
+	 * @throws IOException if reading fails
+	 * @throws InvalidGameRecordException if the record is truncated or a turn does not fit the board
+	 */
+	public Game readGame(boolean trusted) throws IOException {
+		int gameId = GameRecordFormat.readSignedVarInt(this.in);
+		long maxTurnTime = GameRecordFormat.readVarLong(this.in);
+		int winner = GameRecordFormat.readVarInt(this.in, 2);
+
+		Player[] players = new Player[2];
+		for (int i = 0; i < players.length; i++) {
+			GlobalPlayerId id = new GlobalPlayerId(GameRecordFormat.readSignedVarInt(this.in));
+			players[i] = new Player(id, GameRecordFormat.readString(this.in), GameRecordFormat.readString(this.in));
+		}
+
+		Board board = this.readBoard();
+		int numTurns = GameRecordFormat.readVarInt(this.in, Integer.MAX_VALUE);
+		int numSquares = board.getNumRows() * board.getNumColumns();
+		for (int i = 0; i < numTurns; i++) {
+			int turn = this.readTurn(numSquares);
+
+			Piece amazon = board.getAtSquare(PackedTurn.from(turn));
+			if (!amazon.isAmazon()) {
+				throw new InvalidGameRecordException("turn " + i + " does not start on an amazon");
+			}
+			Turn t = PackedTurn.toTurn(turn, board.getNumColumns(), GamePlayerId.fromInt(amazon.toPieceCode()));
+			try {
+				if (trusted) {
+					board.applyTurnTrusted(t);
+				} else {
+					board.applyTurn(t);
+				}
+			} catch (InvalidTurnException e) {
+				throw new InvalidGameRecordException("turn " + i + " is invalid: " + e.getMessage());
+			}
+		}
+
+		Game game = new Game(Duration.ofMillis(maxTurnTime), new GameId(gameId), players, board);
+		if (winner != 0) {
+			game.setWinningPlayer(GamePlayerId.fromInt(winner - 1));
+		}
+		return game;
+	}
+
+	/**
+	 * reads the pieces and the player to move of a board written by {@link GameRecordWriter#writeBoard(Board)}
+	 *
+	 * @return a board without turns
+	 * @throws IOException if reading fails
+	 */
+	public Board readBoard() throws IOException {
+		int rows = GameRecordFormat.readVarInt(this.in, PackedTurn.MAX_SQUARES);
+		int columns = GameRecordFormat.readVarInt(this.in, PackedTurn.MAX_SQUARES);
+		int numSquares = rows * columns;
+		if (rows == 0 || columns == 0 || numSquares > PackedTurn.MAX_SQUARES) {
+			throw new InvalidGameRecordException("unsupported board size " + rows + "x" + columns);
+		}
+		GamePlayerId playerToMove = GamePlayerId.fromInt(GameRecordFormat.readVarInt(this.in, 1));
+
+		byte[] packed = this.in.readNBytes((numSquares + 3) / 4);
+		if (packed.length != (numSquares + 3) / 4) {
+			throw new InvalidGameRecordException("unexpected end of game record");
+		}
+
+		Board board = new Board(rows, columns);
+		for (int square = 0; square < numSquares; square++) {
+			Piece p = PIECES[(packed[square >>> 2] >>> ((square & 3) << 1)) & 3];
+			if (p != Piece.Empty) {
+				board.setAtSquare(square, p);
+			}
+		}
+		board.setPlayerToMove(playerToMove);
+		return board;
+	}
+
+	/**
+	 * reads a single turn written by {@link GameRecordWriter#writeTurn(int, int)}
+	 *
+	 * @param numSquares the number of squares of the board the turn is made on
+	 * @return the packed turn, see {@link PackedTurn}
+	 * @throws IOException if reading fails
+	 * @throws InvalidGameRecordException if a square of the turn is not on the board
+	 */
+	public int readTurn(int numSquares) throws IOException {
+		int from, to, shot;
+		if (numSquares <= GameRecordFormat.BYTE_SQUARES) {
+			from = GameRecordFormat.readByte(this.in);
+			to = GameRecordFormat.readByte(this.in);
+			shot = GameRecordFormat.readByte(this.in);
+		} else {
+			int turn = 0;
+			for (int i = 0; i < 4; i++) {
+				turn = (turn << 8) | GameRecordFormat.readByte(this.in);
+			}
+			from = PackedTurn.from(turn);
+			to = PackedTurn.to(turn);
+			shot = PackedTurn.shot(turn);
+		}
+
+		if (from >= numSquares || to >= numSquares || shot >= numSquares) {
+			throw new InvalidGameRecordException("turn leaves the board");
+		}
+		return PackedTurn.pack(from, to, shot);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.in.close();
+	}
+}
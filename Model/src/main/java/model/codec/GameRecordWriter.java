@@ -0,0 +1,146 @@
+package model.codec;
+
+import model.board.Board;
+import model.board.Piece;
+import model.game.Game;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * writes games as a stream of binary game records, see {@link GameRecordFormat} for the layout
+ *
+ * the header is written on construction, after that any number of games can be appended one by one,
+ * so archives of many games never have to be held in memory at once:
+ * <pre>
+ * try (GameRecordWriter writer = new GameRecordWriter(Files.newOutputStream(path))) {
+ *     for (Game g : games) {
+ *         writer.writeGame(g);
+ *     }
+ * }
+ * </pre>
+ */
+public class GameRecordWriter implements Closeable {
+
+	private final OutputStream out;
+
+	/**
+	 * @param out the stream to write to, it is buffered by this writer and closed by {@link #close()}
+	 * @throws IOException if the header could not be written
+	 */
+	public GameRecordWriter(OutputStream out) throws IOException {
+		this.out = new BufferedOutputStream(out);
+		this.out.write(GameRecordFormat.MAGIC);
+		this.out.write(GameRecordFormat.VERSION);
+	}
+
+	/**
+	 * encodes a single game into a complete stream (header included)
+	 *
+	 * @param game the game to encode
+	 * @return the encoded bytes
+	 */
+	public static byte[] encode(Game game) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			writer.writeGame(game);
+		} catch (IOException e) {
+			// a ByteArrayOutputStream does not throw
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * appends a game: its ids, players, the position before the first turn and every turn
+	 *
+	 * @param game the game to write
+	 * @throws IOException if writing fails
+	 */
+	public void writeGame(Game game) throws IOException {
+		GameRecordFormat.writeSignedVarInt(this.out, game.getGameId().get());
+		GameRecordFormat.writeVarLong(this.out, game.getMaxTurnTime().toMillis());
+		GameRecordFormat.writeVarLong(this.out, game.getWinningPlayer().map(id -> id.get() + 1).orElse(0));
+
+		for (GamePlayerId id : GamePlayerId.values()) {
+			Player p = game.getPlayer(id);
+			GameRecordFormat.writeSignedVarInt(this.out, p.getPlayerId().get());
+			GameRecordFormat.writeString(this.out, p.getName());
+			GameRecordFormat.writeString(this.out, p.getUrl());
+		}
+
+		// undoing every turn of the current board gives the position the turns start from
+		Board start = game.getBoard().clone();
+		int[] turns = new int[start.getNextTurnId().get()];
+		for (int i = turns.length - 1; i >= 0; i--) {
+			turns[i] = PackedTurn.fromTurn(start.undoTurn(), start.getNumColumns());
+		}
+
+		this.writeBoard(start);
+		GameRecordFormat.writeVarLong(this.out, turns.length);
+		int numSquares = start.getNumRows() * start.getNumColumns();
+		for (int turn : turns) {
+			this.writeTurn(turn, numSquares);
+		}
+	}
+
+	/**
+	 * appends the pieces and the player to move of a board (but not its turns)
+	 *
+	 * @param board the board to write
+	 * @throws IOException if writing fails
+	 */
+	public void writeBoard(Board board) throws IOException {
+		GameRecordFormat.writeVarLong(this.out, board.getNumRows());
+		GameRecordFormat.writeVarLong(this.out, board.getNumColumns());
+		GameRecordFormat.writeVarLong(this.out, board.getPlayerToMove().get());
+
+		int numSquares = board.getNumRows() * board.getNumColumns();
+		byte[] packed = new byte[(numSquares + 3) / 4];
+		for (int square = 0; square < numSquares; square++) {
+			Piece p = board.getAtSquare(square);
+			packed[square >>> 2] |= p.ordinal() << ((square & 3) << 1);
+		}
+		this.out.write(packed);
+	}
+
+	/**
+	 * appends a single turn
+	 *
+	 * @param turn the packed turn, see {@link PackedTurn}
+	 * @param numSquares the number of squares of the board the turn is made on
+	 * @throws IOException if writing fails
+	 */
+	public void writeTurn(int turn, int numSquares) throws IOException {
+		if (numSquares <= GameRecordFormat.BYTE_SQUARES) {
+			this.out.write(PackedTurn.from(turn));
+			this.out.write(PackedTurn.to(turn));
+			this.out.write(PackedTurn.shot(turn));
+		} else {
+			this.out.write(turn >>> 24);
+			this.out.write(turn >>> 16);
+			this.out.write(turn >>> 8);
+			this.out.write(turn);
+		}
+	}
+
+	/**
+	 * writes everything buffered so far to the underlying stream
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public void flush() throws IOException {
+		this.out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.out.close();
+	}
+}
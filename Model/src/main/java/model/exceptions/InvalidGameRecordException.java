@@ -0,0 +1,16 @@
+package model.exceptions;
+
+import java.io.IOException;
+
+/**
+ * This is thrown when a binary game record can't be read because it is
+ * truncated, has an unknown version or contains values that do not fit together
+ */
+public class InvalidGameRecordException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidGameRecordException(String msg) {
+		super(msg);
+	}
+}
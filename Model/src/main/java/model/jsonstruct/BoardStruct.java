@@ -1,5 +1,6 @@
 package model.jsonstruct;
 
+import com.google.gson.annotations.JsonAdapter;
 import model.board.Board;
 import model.exceptions.UnsupportedPieceCodeException;
 import model.util.PieceMap;
@@ -15,7 +16,8 @@ public class BoardStruct {
 	@JsonRequireRecv
 	public Integer gameSizeColumns;
 	@JsonRequireRecvArray(sizes = {/*autodetect*/})
-	public Integer[][] squares;
+	@JsonAdapter(SquaresAdapter.class)
+	public int[][] squares;
 
 	/**
 	 * Turns the BoardStruct attributes into a board
@@ -31,7 +33,7 @@ public class BoardStruct {
 		self.gameSizeColumns = b.getNumColumns();
 		self.gameSizeRows = b.getNumRows();
 
-		self.squares = b.toIntegerSquares();
+		self.squares = b.toSquares();
 		return self;
 	}
 }
@@ -8,13 +8,17 @@ import model.game.GameState;
 import model.ids.GameId;
 import model.ids.GamePlayerId;
 import model.player.Player;
+import model.player.Turn;
 import validation.JsonRequireRecv;
 import validation.JsonRequireRecvArray;
 import validation.JsonRequireRecvRecursive;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * This defines the structure of a game in Json format as specified by the api
@@ -37,11 +41,23 @@ public class GameStruct {
 
 
 	/**
-	 * Turns the GameStruct attributes into a game
+	 * Turns the GameStruct attributes into a game, every turn is fully validated
 	 *
 	 * @return a game object with the corresponding values
 	 */
 	public Game intoModel() throws UnsupportedPieceCodeException, InvalidTurnException {
+		return this.intoModel(false);
+	}
+
+	/**
+	 * Turns the GameStruct attributes into a game
+	 *
+	 * @param trusted if true the turns are replayed with {@link Board#applyTurnTrusted}, which only
+	 *                checks that each turn is consistent with the board. Only use this for games
+	 *                this program stored itself (like backups), games from the outside have to be validated
+	 * @return a game object with the corresponding values
+	 */
+	public Game intoModel(boolean trusted) throws UnsupportedPieceCodeException, InvalidTurnException {
 		assert this.gameId != null;
 
 		Board board = initialBoard.intoModel();
@@ -49,9 +65,10 @@ public class GameStruct {
 		AtomicReference<GamePlayerId> pid = new AtomicReference<>(GamePlayerId.PLAYER1);
 
 		if (turns != null) {
+			Consumer<Turn> replay = trusted ? board::applyTurnTrusted : board::applyTurn;
 			Arrays.stream(turns)
 					.map(t -> t.intoModel(pid.getAndUpdate(GamePlayerId::other)))
-					.forEachOrdered(board::applyTurn);
+					.forEachOrdered(replay);
 		}
 
 		Game tempGame = new Game(
@@ -71,6 +88,22 @@ public class GameStruct {
 	}
 
 
+	/**
+	 * Turns many GameStructs into games in parallel, the games are independent
+	 * so replaying them scales with the number of cores
+	 *
+	 * @param structs the games to turn into models
+	 * @param trusted whether the turns are trusted, see {@link #intoModel(boolean)}
+	 * @return the games in the same order as `structs`
+	 */
+	public static List<Game> intoModels(GameStruct[] structs, boolean trusted)
+			throws UnsupportedPieceCodeException, InvalidTurnException {
+		return Arrays.stream(structs)
+				.parallel()
+				.map(s -> s.intoModel(trusted))
+				.collect(Collectors.toList());
+	}
+
 	/**
 	 * This method turns a game-object into a Json Serializable. If the flag
 	 * authenticated is true, the whole game including confidential information is
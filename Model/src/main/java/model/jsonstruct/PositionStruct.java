@@ -13,7 +13,7 @@ public class PositionStruct {
 	public Integer column;
 
 	public Position intoModel() {
-		return new Position(row, column);
+		return Position.of(row, column);
 	}
 
 	public static PositionStruct fromModel(final Position pos) {
@@ -0,0 +1,88 @@
+package model.jsonstruct;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * reads and writes the squares of a board (`[[-1, 0, ...], ...]`) straight from and into an `int[][]`.
+ *
+ * gson's default array adapter boxes every single square on the way in and out,
+ * this one streams the numbers directly. rows may be null (the validation rejects them later on),
+ * squares may not, since a primitive array cannot hold them
+ */
+public class SquaresAdapter extends TypeAdapter<int[][]> {
+
+	@Override
+	public void write(JsonWriter out, int[][] squares) throws IOException {
+		if (squares == null) {
+			out.nullValue();
+			return;
+		}
+
+		out.beginArray();
+		for (int[] row : squares) {
+			if (row == null) {
+				out.nullValue();
+				continue;
+			}
+			out.beginArray();
+			for (int square : row) {
+				out.value(square);
+			}
+			out.endArray();
+		}
+		out.endArray();
+	}
+
+	@Override
+	public int[][] read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+
+		ArrayList<int[]> rows = new ArrayList<>();
+		int[] buffer = new int[16];
+
+		in.beginArray();
+		while (in.hasNext()) {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				rows.add(null);
+				continue;
+			}
+
+			int length = 0;
+			in.beginArray();
+			while (in.hasNext()) {
+				if (length == buffer.length) {
+					buffer = Arrays.copyOf(buffer, length * 2);
+				}
+				buffer[length++] = this.readSquare(in);
+			}
+			in.endArray();
+			rows.add(Arrays.copyOf(buffer, length));
+		}
+		in.endArray();
+
+		return rows.toArray(new int[rows.size()][]);
+	}
+
+	private int readSquare(JsonReader in) throws IOException {
+		if (in.peek() != JsonToken.NUMBER) {
+			throw new JsonSyntaxException(String.format("expected a square code but got %s at %s", in.peek(), in.getPath()));
+		}
+		try {
+			return in.nextInt();
+		} catch (NumberFormatException e) {
+			throw new JsonSyntaxException(e);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package model.player;
+
+import model.ids.GamePlayerId;
+import model.util.Position;
+
+/**
+ * helpers for turns packed into a single int
+ *
+ * a packed turn consists of three square indices (`row * numColumns + column`) of 10 bits each:
+ * <pre>
+ * bits 20..29  the square the amazon starts on
+ * bits 10..19  the square the amazon moves to
+ * bits  0..9   the square the arrow is shot at
+ * </pre>
+ * so boards of up to {@link #MAX_SQUARES} squares are supported.
+ * packed turns do not know which player made them or how many columns the board has,
+ * both have to be supplied when converting back to a {@link Turn}
+ */
+public final class PackedTurn {
+
+	/**
+	 * the maximum number of squares a board can have for its turns to be packable
+	 */
+	public static final int MAX_SQUARES = 1 << 10;
+
+	private static final int SQUARE_MASK = MAX_SQUARES - 1;
+
+	private PackedTurn() {
+	}
+
+	/**
+	 * @param from the square index the amazon starts on
+	 * @param to the square index the amazon moves to
+	 * @param shot the square index the arrow is shot at
+	 * @return the packed turn
+	 */
+	public static int pack(int from, int to, int shot) {
+		return (from << 20) | (to << 10) | shot;
+	}
+
+	/**
+	 * @param turn a packed turn
+	 * @return the square index the amazon starts on
+	 */
+	public static int from(int turn) {
+		return turn >>> 20;
+	}
+
+	/**
+	 * @param turn a packed turn
+	 * @return the square index the amazon moves to
+	 */
+	public static int to(int turn) {
+		return (turn >>> 10) & SQUARE_MASK;
+	}
+
+	/**
+	 * @param turn a packed turn
+	 * @return the square index the arrow is shot at
+	 */
+	public static int shot(int turn) {
+		return turn & SQUARE_MASK;
+	}
+
+	/**
+	 * converts a packed turn to a {@link Turn}
+	 *
+	 * @param turn the packed turn
+	 * @param numColumns the number of columns of the board the turn is made on
+	 * @param id the player making the turn
+	 * @return the corresponding turn
+	 */
+	public static Turn toTurn(int turn, int numColumns, GamePlayerId id) {
+		return new Turn(
+				new Move(Position.ofSquare(from(turn), numColumns), Position.ofSquare(to(turn), numColumns)),
+				new Shot(Position.ofSquare(shot(turn), numColumns)),
+				id);
+	}
+
+	/**
+	 * converts a {@link Turn} to a packed turn
+	 *
+	 * @param turn the turn, all of its positions must be on the board
+	 * @param numColumns the number of columns of the board the turn is made on
+	 * @return the packed turn
+	 */
+	public static int fromTurn(Turn turn, int numColumns) {
+		return pack(
+				turn.getMove().getStart().toSquare(numColumns),
+				turn.getMove().getEnd().toSquare(numColumns),
+				turn.getShot().getShotPosition().toSquare(numColumns));
+	}
+
+	/**
+	 * @param turn a packed turn
+	 * @param numColumns the number of columns of the board the turn is made on
+	 * @return a human readable representation
+	 */
+	public static String toString(int turn, int numColumns) {
+		return String.format("PackedTurn{ from: (%d, %d), to: (%d, %d), shot: (%d, %d) }",
+				from(turn) / numColumns, from(turn) % numColumns,
+				to(turn) / numColumns, to(turn) % numColumns,
+				shot(turn) / numColumns, shot(turn) % numColumns);
+	}
+}
@@ -0,0 +1,92 @@
+package model.player;
+
+import java.util.Arrays;
+
+/**
+ * a reusable, growable list of packed turns (see {@link PackedTurn})
+ *
+ * clearing the buffer keeps its capacity, so a buffer that is reused for every call of
+ * {@link model.board.Board#generateTurns} stops allocating once it has grown to the largest turn count
+ */
+public final class TurnBuffer {
+
+	private int[] turns;
+	private int size;
+
+	/**
+	 * constructs a buffer with room for the turns of a typical opening position
+	 */
+	public TurnBuffer() {
+		this(2048);
+	}
+
+	/**
+	 * @param initialCapacity the number of turns this buffer has room for before it has to grow
+	 */
+	public TurnBuffer(int initialCapacity) {
+		this.turns = new int[Math.max(initialCapacity, 1)];
+	}
+
+	/**
+	 * appends a packed turn
+	 * @param turn the packed turn
+	 */
+	public void add(int turn) {
+		if (this.size == this.turns.length) {
+			this.turns = Arrays.copyOf(this.turns, 2 * this.size);
+		}
+		this.turns[this.size++] = turn;
+	}
+
+	/**
+	 * @param i the index of the turn, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @return the packed turn at `i`
+	 */
+	public int get(int i) {
+		if (i >= this.size) {
+			throw new IndexOutOfBoundsException(String.format("index %d, size %d", i, this.size));
+		}
+		return this.turns[i];
+	}
+
+	/**
+	 * overwrites the packed turn at `i`, useful for reordering turns in place
+	 *
+	 * @param i the index of the turn, between 0 (inclusive) and {@link #size()} (exclusive)
+	 * @param turn the new packed turn
+	 */
+	public void set(int i, int turn) {
+		if (i >= this.size) {
+			throw new IndexOutOfBoundsException(String.format("index %d, size %d", i, this.size));
+		}
+		this.turns[i] = turn;
+	}
+
+	/**
+	 * @return the number of turns in this buffer
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return true if there are no turns in this buffer
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * removes all turns but keeps the capacity
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * @return a copy of the turns in this buffer
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(this.turns, this.size);
+	}
+}
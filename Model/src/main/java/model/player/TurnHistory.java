@@ -0,0 +1,97 @@
+package model.player;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * an immutable, persistent list of the turns applied to a board, oldest first
+ *
+ * appending or removing the last turn returns a new history that shares every other turn with this one,
+ * so both are O(1) and copying a board never copies its history.
+ * because the turns themselves are shared, a turn must not be modified once it is part of a history
+ */
+public final class TurnHistory {
+
+	private static final TurnHistory EMPTY = new TurnHistory(null, null, 0);
+
+	/**
+	 * the history without the last turn, null for the empty history
+	 */
+	private final TurnHistory previous;
+	private final Turn last;
+	private final int size;
+
+	private TurnHistory(TurnHistory previous, Turn last, int size) {
+		this.previous = previous;
+		this.last = last;
+		this.size = size;
+	}
+
+	/**
+	 * @return the history without any turns
+	 */
+	public static TurnHistory empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @param turns the turns in the order they were applied
+	 * @return a history of these turns
+	 */
+	public static TurnHistory of(Stream<Turn> turns) {
+		TurnHistory[] history = { EMPTY };
+		turns.forEachOrdered(t -> history[0] = history[0].append(t));
+		return history[0];
+	}
+
+	/**
+	 * @param turn the turn that was applied after every turn of this history
+	 * @return this history followed by `turn`, this history is unchanged
+	 */
+	public TurnHistory append(Turn turn) {
+		return new TurnHistory(this, turn, this.size + 1);
+	}
+
+	/**
+	 * @return this history without its last turn, this history is unchanged
+	 * @throws IllegalStateException if this history is empty
+	 */
+	public TurnHistory removeLast() throws IllegalStateException {
+		if (this.isEmpty()) {
+			throw new IllegalStateException("no turn to remove");
+		}
+		return this.previous;
+	}
+
+	/**
+	 * @return the last turn of this history (if it exists)
+	 */
+	public Optional<Turn> getLast() {
+		return Optional.ofNullable(this.last);
+	}
+
+	/**
+	 * @return the number of turns in this history
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return true if there are no turns in this history
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * @return the turns of this history, oldest first
+	 */
+	public Stream<Turn> stream() {
+		Turn[] turns = new Turn[this.size];
+		for (TurnHistory h = this; h.size > 0; h = h.previous) {
+			turns[h.size - 1] = h.last;
+		}
+		return Stream.of(turns);
+	}
+}
@@ -0,0 +1,256 @@
+package model.util;
+
+import java.util.Arrays;
+
+/**
+ * a fixed size set of bits, one for every square of a board
+ *
+ * squares are addressed by their index `row * numColumns + column`, bit `i` lives in
+ * word `i / 64` at bit position `i % 64`, so a 10x10 board is packed into two longs
+ * and bigger boards simply use more words.
+ * all bits above `size` are always zero, so whole-word operations never see garbage
+ */
+public final class BitBoard implements Cloneable {
+
+	private final int size;
+	private final long[] words;
+
+	/**
+	 * constructs an empty BitBoard
+	 *
+	 * @param size the number of bits (squares) this set can hold
+	 */
+	public BitBoard(int size) {
+		this.size = size;
+		this.words = new long[(size + 63) >>> 6];
+	}
+
+	/**
+	 * copy ctor
+	 * @param other the BitBoard to copy from
+	 */
+	public BitBoard(BitBoard other) {
+		this.size = other.size;
+		this.words = other.words.clone();
+	}
+
+	/**
+	 * @return the number of bits (squares) this set can hold
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @param i the square index
+	 * @return true if bit `i` is set
+	 */
+	public boolean get(int i) {
+		return (this.words[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * sets bit `i`
+	 * @param i the square index
+	 */
+	public void set(int i) {
+		this.words[i >>> 6] |= 1L << i;
+	}
+
+	/**
+	 * clears bit `i`
+	 * @param i the square index
+	 */
+	public void clear(int i) {
+		this.words[i >>> 6] &= ~(1L << i);
+	}
+
+	/**
+	 * clears every bit
+	 */
+	public void clearAll() {
+		Arrays.fill(this.words, 0L);
+	}
+
+	/**
+	 * sets every bit
+	 */
+	public void setAll() {
+		Arrays.fill(this.words, -1L);
+		this.clearUnused();
+	}
+
+	/**
+	 * overwrites this set with the contents of `other`, which must have the same size
+	 * @param other the BitBoard to copy from
+	 */
+	public void copyFrom(BitBoard other) {
+		assert this.size == other.size;
+		System.arraycopy(other.words, 0, this.words, 0, this.words.length);
+	}
+
+	/**
+	 * keeps only the bits that are also set in `other`, which must have the same size
+	 * @param other the mask
+	 */
+	public void and(BitBoard other) {
+		for (int w = 0; w < this.words.length; w++) {
+			this.words[w] &= other.words[w];
+		}
+	}
+
+	/**
+	 * sets every bit that is set in `other`, which must have the same size
+	 * @param other the bits to add
+	 */
+	public void or(BitBoard other) {
+		for (int w = 0; w < this.words.length; w++) {
+			this.words[w] |= other.words[w];
+		}
+	}
+
+	/**
+	 * clears every bit that is set in `other`, which must have the same size
+	 * @param other the bits to remove
+	 */
+	public void andNot(BitBoard other) {
+		for (int w = 0; w < this.words.length; w++) {
+			this.words[w] &= ~other.words[w];
+		}
+	}
+
+	/**
+	 * @param other a BitBoard of the same size
+	 * @return true if any bit is set in both sets
+	 */
+	public boolean intersects(BitBoard other) {
+		for (int w = 0; w < this.words.length; w++) {
+			if ((this.words[w] & other.words[w]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param other a BitBoard of the same size
+	 * @return true if every bit set in `other` is also set in this set
+	 */
+	public boolean containsAll(BitBoard other) {
+		for (int w = 0; w < this.words.length; w++) {
+			if ((other.words[w] & ~this.words[w]) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * moves every bit `i` to `i + n`, bits moved past `size` are dropped
+	 * @param n the distance, n &gt;= 0
+	 */
+	public void shiftUp(int n) {
+		int wordShift = n >>> 6;
+		int bitShift = n & 63;
+		for (int w = this.words.length - 1; w >= 0; w--) {
+			int src = w - wordShift;
+			long word = src >= 0 ? this.words[src] << bitShift : 0;
+			if (bitShift != 0 && src > 0) {
+				word |= this.words[src - 1] >>> (64 - bitShift);
+			}
+			this.words[w] = word;
+		}
+		this.clearUnused();
+	}
+
+	/**
+	 * moves every bit `i` to `i - n`, bits moved below 0 are dropped
+	 * @param n the distance, n &gt;= 0
+	 */
+	public void shiftDown(int n) {
+		int wordShift = n >>> 6;
+		int bitShift = n & 63;
+		for (int w = 0; w < this.words.length; w++) {
+			int src = w + wordShift;
+			long word = src < this.words.length ? this.words[src] >>> bitShift : 0;
+			if (bitShift != 0 && src + 1 < this.words.length) {
+				word |= this.words[src + 1] << (64 - bitShift);
+			}
+			this.words[w] = word;
+		}
+	}
+
+	/**
+	 * clears the bits above `size` in the last word
+	 */
+	private void clearUnused() {
+		if ((this.size & 63) != 0) {
+			this.words[this.words.length - 1] &= -1L >>> (64 - (this.size & 63));
+		}
+	}
+
+	/**
+	 * @return true if no bit is set
+	 */
+	public boolean isEmpty() {
+		for (long w : this.words) {
+			if (w != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of set bits
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (long w : this.words) {
+			count += Long.bitCount(w);
+		}
+		return count;
+	}
+
+	/**
+	 * finds the next set bit, use this to iterate over all set bits:
+	 * <pre>for (int i = b.nextSetBit(0); i >= 0; i = b.nextSetBit(i + 1)) { ... }</pre>
+	 *
+	 * @param from the index to start searching from (inclusive)
+	 * @return the index of the first set bit at or after `from` or -1 if there is none
+	 */
+	public int nextSetBit(int from) {
+		if (from >= this.size) {
+			return -1;
+		}
+		int w = from >>> 6;
+		long word = this.words[w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++w == this.words.length) {
+				return -1;
+			}
+			word = this.words[w];
+		}
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof BitBoard)) return false;
+		BitBoard other = (BitBoard) o;
+		return this.size == other.size && Arrays.equals(this.words, other.words);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.size + Arrays.hashCode(this.words);
+	}
+
+	@Override
+	public BitBoard clone() {
+		return new BitBoard(this);
+	}
+}
@@ -0,0 +1,267 @@
+package model.util;
+
+import model.board.Piece;
+import model.ids.GamePlayerId;
+
+/**
+ * a {@link PieceMap} that stores the board as packed bit sets instead of a 2d array of pieces
+ *
+ * every square is addressed by its square index `row * numColumns + column` (see {@link #squareIndex(int, int)})
+ * and there is one {@link BitBoard} each for occupied squares, arrows and the amazons of both players.
+ * on a 10x10 board every one of these sets fits into two longs, so reading a square is a bounds check
+ * and a few bit tests, and neither reading nor writing allocates.
+ *
+ * the invariant `occupied == arrows | amazons[0] | amazons[1]` (with all three disjoint) holds after every
+ * public method returns. the zobrist hash of the pieces is updated with every write, so
+ * {@link #getPieceHash()} is O(1)
+ */
+public class BitPieceMap extends PieceMap {
+
+	private final BitBoard occupied;
+	private final BitBoard arrows;
+
+	/**
+	 * the amazons of each player indexed by {@link GamePlayerId#get()}
+	 */
+	private final BitBoard[] amazons;
+
+	private final RayTable rays;
+
+	private final ZobristKeys keys;
+
+	/**
+	 * the zobrist hash of all pieces on this map
+	 */
+	private long pieceHash;
+
+	/**
+	 * constructs an empty BitPieceMap with the specified sizes
+	 *
+	 * @param numRows the number of rows on the map
+	 * @param numColumns the number of columns on the map
+	 */
+	public BitPieceMap(int numRows, int numColumns) {
+		super(numRows, numColumns, false);
+
+		int size = numRows * numColumns;
+		this.occupied = new BitBoard(size);
+		this.arrows = new BitBoard(size);
+		this.amazons = new BitBoard[] { new BitBoard(size), new BitBoard(size) };
+		this.rays = RayTable.forSize(numRows, numColumns);
+		this.keys = ZobristKeys.forSize(numRows, numColumns);
+	}
+
+	/**
+	 * copy ctor, accepts any kind of {@link PieceMap}
+	 * if `f` is a BitPieceMap the bit sets are copied directly
+	 *
+	 * @param f the field map to clone from
+	 */
+	public BitPieceMap(PieceMap f) {
+		this(f.getNumRows(), f.getNumColumns());
+		this.copyFrom(f);
+	}
+
+	/**
+	 * overwrites the contents of this map with the contents of `f`, which must have the same size
+	 * this only touches the bit sets, so it is safe to call from a ctor
+	 *
+	 * @param f the field map to copy from
+	 */
+	private void copyFrom(PieceMap f) {
+		assert f.getNumRows() == this.getNumRows() && f.getNumColumns() == this.getNumColumns();
+
+		if (f instanceof BitPieceMap) {
+			BitPieceMap b = (BitPieceMap) f;
+			this.occupied.copyFrom(b.occupied);
+			this.arrows.copyFrom(b.arrows);
+			this.amazons[0].copyFrom(b.amazons[0]);
+			this.amazons[1].copyFrom(b.amazons[1]);
+			this.pieceHash = b.pieceHash;
+		} else {
+			for (int i = 0; i < this.getNumRows(); ++i) {
+				for (int j = 0; j < this.getNumColumns(); ++j) {
+					this.put(i * this.getNumColumns() + j, f.getAt(i, j));
+				}
+			}
+		}
+	}
+
+	/**
+	 * calculates the square index of a position, this is the index used by the {@link BitBoard}s of this map
+	 *
+	 * @param row the row of the square
+	 * @param column the column of the square
+	 * @return `row * numColumns + column`
+	 * @throws IndexOutOfBoundsException if the position is not on the map
+	 */
+	public int squareIndex(int row, int column) throws IndexOutOfBoundsException {
+		if (row < 0 || row >= this.getNumRows() || column < 0 || column >= this.getNumColumns()) {
+			throw new IndexOutOfBoundsException(String.format("(%d, %d) is out of bounds", row, column));
+		}
+		return row * this.getNumColumns() + column;
+	}
+
+	/**
+	 * fetches the piece at the given square index
+	 *
+	 * @param square the square index, see {@link #squareIndex(int, int)}
+	 * @return the piece on that square
+	 */
+	public Piece getAtSquare(int square) {
+		if (!this.occupied.get(square)) {
+			return Piece.Empty;
+		} else if (this.arrows.get(square)) {
+			return Piece.Arrow;
+		} else if (this.amazons[0].get(square)) {
+			return Piece.AmazonPlayer1;
+		} else {
+			return Piece.AmazonPlayer2;
+		}
+	}
+
+	/**
+	 * puts a piece on the given square index, replacing whatever was there
+	 * every write of a single square goes through this method, moves go through {@link #movePieceToSquare}
+	 *
+	 * @param square the square index, see {@link #squareIndex(int, int)}
+	 * @param p the piece to put there
+	 */
+	public void setAtSquare(int square, Piece p) {
+		this.put(square, p);
+	}
+
+	/**
+	 * writes a piece into the bit sets without going through any overridable method
+	 */
+	private void put(int square, Piece p) {
+		this.pieceHash ^= this.keys.pieceKey(square, this.getAtSquare(square)) ^ this.keys.pieceKey(square, p);
+
+		this.occupied.clear(square);
+		this.arrows.clear(square);
+		this.amazons[0].clear(square);
+		this.amazons[1].clear(square);
+
+		switch (p) {
+			case AmazonPlayer1:
+				this.amazons[0].set(square);
+				break;
+			case AmazonPlayer2:
+				this.amazons[1].set(square);
+				break;
+			case Arrow:
+				this.arrows.set(square);
+				break;
+			case Empty:
+				return;
+			default:
+				throw new IllegalStateException();
+		}
+		this.occupied.set(square);
+	}
+
+	/**
+	 * @param square the square index, see {@link #squareIndex(int, int)}
+	 * @return true if nothing stands on the square
+	 */
+	public boolean isEmptySquare(int square) {
+		return !this.occupied.get(square);
+	}
+
+	/**
+	 * @return the (shared) queen line table for the size of this map
+	 */
+	public RayTable getRayTable() {
+		return this.rays;
+	}
+
+	/**
+	 * @return the (shared) zobrist keys for the size of this map
+	 */
+	public ZobristKeys getZobristKeys() {
+		return this.keys;
+	}
+
+	@Override
+	public long getPieceHash() {
+		return this.pieceHash;
+	}
+
+	/**
+	 * @return the set of all non-empty squares, this is a live view and must not be modified
+	 */
+	public BitBoard getOccupied() {
+		return this.occupied;
+	}
+
+	/**
+	 * @return the set of all squares with an arrow on them, this is a live view and must not be modified
+	 */
+	public BitBoard getArrows() {
+		return this.arrows;
+	}
+
+	/**
+	 * @param id the player whose amazons to fetch
+	 * @return the set of all squares with an amazon of `id` on them, this is a live view and must not be modified
+	 */
+	public BitBoard getAmazons(GamePlayerId id) {
+		return this.amazons[id.get()];
+	}
+
+	@Override
+	public Piece getAt(int row, int column) throws IndexOutOfBoundsException {
+		return this.getAtSquare(this.squareIndex(row, column));
+	}
+
+	@Override
+	public void setAt(int row, int column, Piece fm) throws IndexOutOfBoundsException {
+		this.setAtSquare(this.squareIndex(row, column), fm);
+	}
+
+	@Override
+	public void movePieceTo(Position from, Position to) {
+		this.movePieceToSquare(
+				this.squareIndex(from.getRow(), from.getColumn()),
+				this.squareIndex(to.getRow(), to.getColumn()));
+	}
+
+	/**
+	 * moves the piece on square `from` to the empty square `to`,
+	 * every move of a piece goes through this method
+	 *
+	 * @param from the square index of the piece, see {@link #squareIndex(int, int)}
+	 * @param to the square index to move it to
+	 * @throws IllegalArgumentException if `to` is not empty
+	 */
+	public void movePieceToSquare(int from, int to) throws IllegalArgumentException {
+		if (this.occupied.get(to)) {
+			throw new IllegalArgumentException("moved to field is not empty");
+		}
+
+		Piece tmp = this.getAtSquare(from);
+		this.put(from, Piece.Empty);
+		this.put(to, tmp);
+	}
+
+	@Override
+	public int[][] toSquares() {
+		int[][] squares = new int[this.getNumRows()][this.getNumColumns()];
+		int square = 0;
+		for (int i = 0; i < this.getNumRows(); i++) {
+			for (int j = 0; j < this.getNumColumns(); j++) {
+				squares[i][j] = this.getAtSquare(square++).toPieceCode();
+			}
+		}
+		return squares;
+	}
+
+	/**
+	 * Creates a deep clone of this BitPieceMap.
+	 * @return a deep clone of this BitPieceMap.
+	 */
+	@Override
+	public BitPieceMap clone() {
+		return new BitPieceMap(this);
+	}
+}
@@ -5,6 +5,7 @@ import model.exceptions.UnsupportedPieceCodeException;
 import validation.util.ArrayUtil;
 
 import java.util.*;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -25,13 +26,7 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * @param numColumns the number of columns on the map
 	 */
 	public PieceMap(int numRows, int numColumns) {
-		this.numRows = numRows;
-		this.numColumns = numColumns;
-		pieces = new Piece[numRows][numColumns];
-
-		for (Piece[] inner : pieces) {
-			Arrays.fill(inner, Piece.Empty);
-		}
+		this(numRows, numColumns, true);
 	}
 
 	/**
@@ -39,17 +34,38 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * @param f the field map to clone from
 	 */
 	public PieceMap(PieceMap f) {
-		this.numRows = f.numRows;
-		this.numColumns = f.numColumns;
-		this.pieces = new Piece[numRows][numColumns];
+		this(f.numRows, f.numColumns, true);
 
 		for (int i = 0; i < numRows; ++i) {
 			for (int j = 0; j < numColumns; ++j) {
-				this.setAt(i, j, f.getAt(i, j));
+				this.pieces[i][j] = f.getAt(i, j);
 			}
 		}
 	}
 
+	/**
+	 * ctor for subclasses that bring their own storage,
+	 * such a subclass has to override every method that accesses {@link #pieces} directly
+	 * (so {@link #getAt(int, int)} and {@link #setAt(int, int, Piece)})
+	 *
+	 * @param numRows the number of rows on the map
+	 * @param numColumns the number of columns on the map
+	 * @param allocate whether the 2d piece array should be allocated (filled with {@link Piece#Empty})
+	 */
+	protected PieceMap(int numRows, int numColumns, boolean allocate) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+
+		if (allocate) {
+			this.pieces = new Piece[numRows][numColumns];
+			for (Piece[] inner : pieces) {
+				Arrays.fill(inner, Piece.Empty);
+			}
+		} else {
+			this.pieces = null;
+		}
+	}
+
 	/**
 	 * constructs a PieceMap from a Integer[][] filled with piece codes
 	 *
@@ -68,7 +84,7 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 		PieceMap map = new PieceMap(numRows, numColumns);
 		for(int i = 0; i < numRows; i++) {
 			for(int j = 0; j < numColumns; j++) {
-				map.setAt(new Position(i,j), Piece.fromPieceCode(squares[i][j]));
+				map.setAt(i, j, Piece.fromPieceCode(squares[i][j]));
 			}
 		}
 		return map;
@@ -90,7 +106,7 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 		PieceMap map = new PieceMap(numRows, numColumns);
 		for(int i = 0; i < numRows; i++) {
 			for(int j = 0; j < numColumns; j++) {
-				map.setAt(new Position(i,j), Piece.fromPieceCode(squares[i][j]));
+				map.setAt(i, j, Piece.fromPieceCode(squares[i][j]));
 			}
 		}
 		return map;
@@ -138,6 +154,23 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 		return this.numColumns;
 	}
 
+	/**
+	 * calculates the zobrist hash of the pieces on this map, see {@link ZobristKeys}
+	 * this visits every square, subclasses may keep the hash up to date instead
+	 *
+	 * @return the hash of the pieces (not including who is to move)
+	 */
+	public long getPieceHash() {
+		ZobristKeys keys = ZobristKeys.forSize(this.numRows, this.numColumns);
+		long hash = 0;
+		for (int i = 0; i < this.numRows; i++) {
+			for (int j = 0; j < this.numColumns; j++) {
+				hash ^= keys.pieceKey(i * this.numColumns + j, this.getAt(i, j));
+			}
+		}
+		return hash;
+	}
+
 	/**
 	 * @return  all the pieces as Iterator.
 	 */
@@ -150,8 +183,8 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * @return all the Pieces as Stream.
 	 */
 	public Stream<Piece> stream() {
-		return Arrays.stream(this.pieces)
-				.flatMap(Arrays::stream);
+		return IntStream.range(0, this.numRows * this.numColumns)
+				.mapToObj(i -> this.getAt(i / this.numColumns, i % this.numColumns));
 	}
 
 
@@ -163,7 +196,7 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * @throws IndexOutOfBoundsException if Position is out of bounds
 	 */
 	public Piece getAt(Position p) throws IndexOutOfBoundsException {
-		return this.pieces[p.getRow()][p.getColumn()];
+		return this.getAt(p.getRow(), p.getColumn());
 	}
 
 	/**
@@ -171,7 +204,7 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * see doc of FieldMap.getAt(Position)
 	 */
 	public Piece getAt(int row, int column) throws IndexOutOfBoundsException {
-		return this.getAt(new Position(row, column));
+		return this.pieces[row][column];
 	}
 
 
@@ -182,11 +215,11 @@ public class PieceMap implements Cloneable, Iterable<Piece> {
 	 * @param fm the Element to set at the given Position.
 	 */
 	public void setAt(Position p, Piece fm) throws IndexOutOfBoundsException {
-		this.pieces[p.getRow()][p.getColumn()] = fm;
+		this.setAt(p.getRow(), p.getColumn(), fm);
 	}
 
 	public void setAt(int row, int column, Piece fm) throws IndexOutOfBoundsException, IllegalStateException {
-		this.setAt(new Position(row, column), fm);
+		this.pieces[row][column] = fm;
 	}
 
 	/**
@@ -2,13 +2,29 @@ package model.util;
 
 
 /**
- * This class represents a Position on a {@link model.board.Board}.
+ * This class represents an immutable Position on a {@link model.board.Board}.
  *
  * <p>Row - X</p>
  * <p>Column - Y</p>
+ *
+ * <p>Positions of boards up to {@link #CACHED_SIZE}x{@link #CACHED_SIZE} are interned,
+ * {@link #of(int, int)} returns the same instance for the same row and column without allocating.</p>
  */
 public class Position extends Vec2i implements Cloneable {
 
+	/**
+	 * the number of rows and columns of the interned positions
+	 */
+	public static final int CACHED_SIZE = 32;
+
+	private static final Position[] cache = new Position[CACHED_SIZE * CACHED_SIZE];
+
+	static {
+		for (int i = 0; i < cache.length; i++) {
+			cache[i] = new Position(i / CACHED_SIZE, i % CACHED_SIZE);
+		}
+	}
+
 	public Position(int row, int column) {
 		super(row, column);
 	}
@@ -17,6 +33,29 @@ public class Position extends Vec2i implements Cloneable {
 		super(vec.getX(), vec.getY());
 	}
 
+	/**
+	 * fetches a position, prefer this over the constructor
+	 *
+	 * @param row the row of the position
+	 * @param column the column of the position
+	 * @return the interned instance if the position lies within the cached range, a new position otherwise
+	 */
+	public static Position of(int row, int column) {
+		if (row >= 0 && row < CACHED_SIZE && column >= 0 && column < CACHED_SIZE) {
+			return cache[row * CACHED_SIZE + column];
+		}
+		return new Position(row, column);
+	}
+
+	/**
+	 * @param square the square index `row * numColumns + column`
+	 * @param numColumns the number of columns of the board
+	 * @return the position of that square, see {@link #of(int, int)}
+	 */
+	public static Position ofSquare(int square, int numColumns) {
+		return of(square / numColumns, square % numColumns);
+	}
+
 	public int getRow() {
 		return this.getX();
 	}
@@ -25,13 +64,20 @@ public class Position extends Vec2i implements Cloneable {
 		return this.getY();
 	}
 
+	/**
+	 * @param numColumns the number of columns of the board
+	 * @return the square index `row * numColumns + column` of this position
+	 */
+	public int toSquare(int numColumns) {
+		return this.getRow() * numColumns + this.getColumn();
+	}
 
 	/**
 	 * Moves the position by a given {@link Vec2i}.
 	 * @param p a new Position moved by the vector.
 	 */
 	public Position moveBy(Vec2i p) {
-		return new Position(this.getX() + p.getX(), this.getY() + p.getY());
+		return of(this.getX() + p.getX(), this.getY() + p.getY());
 	}
 
 	@Override
@@ -39,8 +85,13 @@ public class Position extends Vec2i implements Cloneable {
 		return String.format("Position{ row: %d, column: %d }", getRow(), getColumn());
 	}
 
+	/**
+	 * positions are immutable, so there is no need for a copy
+	 *
+	 * @return this
+	 */
 	@Override
 	public Position clone() {
-		return new Position(super.clone());
+		return this;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package model.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * precomputed queen lines for a board size
+ *
+ * for every square (addressed by its square index `row * numColumns + column`) and every one of the 8 directions
+ * this table stores the squares a queen passes when sliding from that square to the edge of the board,
+ * nearest square first. all rays live in one flat int array, so walking a ray is a plain loop over an index range
+ * without any bounds checks or allocations:
+ *
+ * <pre>
+ * int[] raySquares = table.getSquares();
+ * for (int i = table.rayStart(square, dir); i &lt; table.rayEnd(square, dir); i++) {
+ *     int next = raySquares[i];
+ *     ...
+ * }
+ * </pre>
+ *
+ * besides the rays every table holds the neighbour mask of each square (the squares a king could step to),
+ * which turns "is any neighbour empty" into a single {@link BitBoard#intersects(BitBoard)}.
+ * nothing in here assumes a board size, so 20x20 boards cost a bigger table but no slower loops.
+ *
+ * tables are immutable and shared, fetch them with {@link #forSize(int, int)}
+ */
+public final class RayTable {
+
+	/**
+	 * the 8 directions a queen can travel in as {dRow, dColumn}, the direction indices of this table refer to this array
+	 */
+	public static final int[][] DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {-1, 1}, {-1, -1}, {1, -1}};
+
+	public static final int NUM_DIRECTIONS = DIRECTIONS.length;
+
+	private static final Map<Long, RayTable> tables = new ConcurrentHashMap<>();
+
+	/**
+	 * the most recently fetched table, this saves the map lookup (and the boxing of the key)
+	 * for the common case of only ever playing on one board size
+	 */
+	private static volatile RayTable lastFetched;
+
+	private final int numRows;
+	private final int numColumns;
+
+	/**
+	 * all rays concatenated
+	 */
+	private final int[] squares;
+
+	/**
+	 * the ray of `square` in direction `dir` is squares[offsets[square * 8 + dir]] until (exclusive) squares[offsets[square * 8 + dir + 1]]
+	 */
+	private final int[] offsets;
+
+	/**
+	 * the neighbours of every square, indexed by square
+	 */
+	private final BitBoard[] neighbourMasks;
+
+	private RayTable(int numRows, int numColumns) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+
+		int numSquares = numRows * numColumns;
+		this.offsets = new int[numSquares * NUM_DIRECTIONS + 1];
+
+		// every square lies on at most 4 lines, each of which is at most max(numRows, numColumns) long
+		int[] buffer = new int[numSquares * 4 * Math.max(numRows, numColumns)];
+		int length = 0;
+
+		for (int square = 0; square < numSquares; square++) {
+			for (int dir = 0; dir < NUM_DIRECTIONS; dir++) {
+				this.offsets[square * NUM_DIRECTIONS + dir] = length;
+
+				int row = square / numColumns + DIRECTIONS[dir][0];
+				int column = square % numColumns + DIRECTIONS[dir][1];
+				while (row >= 0 && row < numRows && column >= 0 && column < numColumns) {
+					buffer[length++] = row * numColumns + column;
+					row += DIRECTIONS[dir][0];
+					column += DIRECTIONS[dir][1];
+				}
+			}
+		}
+		this.offsets[numSquares * NUM_DIRECTIONS] = length;
+
+		this.squares = new int[length];
+		System.arraycopy(buffer, 0, this.squares, 0, length);
+
+		// the neighbours are the first squares of all rays
+		this.neighbourMasks = new BitBoard[numSquares];
+		for (int square = 0; square < numSquares; square++) {
+			this.neighbourMasks[square] = new BitBoard(numSquares);
+			for (int dir = 0; dir < NUM_DIRECTIONS; dir++) {
+				if (this.rayStart(square, dir) < this.rayEnd(square, dir)) {
+					this.neighbourMasks[square].set(this.squares[this.rayStart(square, dir)]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * fetches the (shared) table for a board size, it is computed on first use
+	 *
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return the table for that size
+	 */
+	public static RayTable forSize(int numRows, int numColumns) {
+		RayTable last = lastFetched;
+		if (last != null && last.numRows == numRows && last.numColumns == numColumns) {
+			return last;
+		}
+
+		RayTable table = tables.computeIfAbsent(((long) numRows << 32) | numColumns,
+				k -> new RayTable(numRows, numColumns));
+		lastFetched = table;
+		return table;
+	}
+
+	/**
+	 * finds the direction index of a step
+	 *
+	 * @param dRow the row step, one of -1, 0, 1
+	 * @param dColumn the column step, one of -1, 0, 1
+	 * @return the index into {@link #DIRECTIONS} or -1 if both steps are 0
+	 */
+	public static int directionOf(int dRow, int dColumn) {
+		for (int dir = 0; dir < NUM_DIRECTIONS; dir++) {
+			if (DIRECTIONS[dir][0] == dRow && DIRECTIONS[dir][1] == dColumn) {
+				return dir;
+			}
+		}
+		return -1;
+	}
+
+	public int getNumRows() {
+		return this.numRows;
+	}
+
+	public int getNumColumns() {
+		return this.numColumns;
+	}
+
+	/**
+	 * @return the flat array of all rays, this must not be modified
+	 */
+	public int[] getSquares() {
+		return this.squares;
+	}
+
+	/**
+	 * @param square the square index the ray starts at (the square itself is not part of the ray)
+	 * @param dir the direction index, see {@link #DIRECTIONS}
+	 * @return the index into {@link #getSquares()} of the first square of the ray
+	 */
+	public int rayStart(int square, int dir) {
+		return this.offsets[square * NUM_DIRECTIONS + dir];
+	}
+
+	/**
+	 * @param square the square index the ray starts at
+	 * @param dir the direction index, see {@link #DIRECTIONS}
+	 * @return the index into {@link #getSquares()} one past the last square of the ray
+	 */
+	public int rayEnd(int square, int dir) {
+		return this.offsets[square * NUM_DIRECTIONS + dir + 1];
+	}
+
+	/**
+	 * @param square the square index
+	 * @return the (up to 8) squares next to `square`, including diagonally. this is shared and must not be modified
+	 */
+	public BitBoard getNeighbourMask(int square) {
+		return this.neighbourMasks[square];
+	}
+}
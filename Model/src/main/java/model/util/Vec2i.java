@@ -1,13 +1,11 @@
 package model.util;
 
-import java.util.Objects;
-
 /**
- * this class represents a 2d (mathematical) vector
+ * this class represents an immutable 2d (mathematical) vector
  */
 public class Vec2i implements Cloneable {
-	private int x;
-	private int y;
+	private final int x;
+	private final int y;
 
 	public Vec2i(int x, int y) {
 		this.x = x;
@@ -22,18 +20,10 @@ public class Vec2i implements Cloneable {
 		return this.x;
 	}
 
-	public void setX(int x) {
-		this.x = x;
-	}
-
 	public int getY() {
 		return this.y;
 	}
 
-	public void setY(int y) {
-		this.y = y;
-	}
-
 	public Vec2i add(Vec2i other) {
 		return new Vec2i(this.x + other.x, this.y + other.y);
 	}
@@ -46,9 +36,14 @@ public class Vec2i implements Cloneable {
 		return new Vec2i(this.x * lambda, this.y * lambda);
 	}
 
+	/**
+	 * vectors are immutable, so there is no need for a copy
+	 *
+	 * @return this
+	 */
 	@Override
 	public Vec2i clone() {
-		return new Vec2i(this.x, this.y);
+		return this;
 	}
 
 	/**
@@ -88,7 +83,7 @@ public class Vec2i implements Cloneable {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(x, y);
+		return 31 * x + y;
 	}
 
 	@Override
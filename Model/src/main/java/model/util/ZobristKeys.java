@@ -0,0 +1,89 @@
+package model.util;
+
+import model.board.Piece;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * the random keys of a zobrist hash for a board size
+ *
+ * the hash of a position is the xor of the key of every non-empty square (which depends on the square
+ * and the piece on it) and, if {@link model.ids.GamePlayerId#PLAYER2} is to move, {@link #getPlayerToMoveKey()}.
+ * since xor is its own inverse, changing a square only costs two xors: remove the old key, add the new one.
+ *
+ * the keys come from a fixed seed, so hashes are the same in every process and can be stored or exchanged.
+ * tables are immutable and shared, fetch them with {@link #forSize(int, int)}
+ */
+public final class ZobristKeys {
+
+	private static final long SEED = 0x416d617a6f6e656eL;
+
+	private static final Map<Long, ZobristKeys> tables = new ConcurrentHashMap<>();
+
+	/**
+	 * the most recently fetched table, see {@link RayTable#forSize(int, int)}
+	 */
+	private static volatile ZobristKeys lastFetched;
+
+	private final int numRows;
+	private final int numColumns;
+
+	/**
+	 * the key of piece `p` on `square` is keys[square * 4 + p.ordinal()], the keys for {@link Piece#Empty} are 0
+	 */
+	private final long[] keys;
+
+	private final long playerToMoveKey;
+
+	private ZobristKeys(int numRows, int numColumns) {
+		this.numRows = numRows;
+		this.numColumns = numColumns;
+
+		SplittableRandom random = new SplittableRandom(SEED);
+		this.playerToMoveKey = random.nextLong();
+
+		this.keys = new long[numRows * numColumns * 4];
+		for (int i = 0; i < this.keys.length; i++) {
+			if (i % 4 != Piece.Empty.ordinal()) {
+				this.keys[i] = random.nextLong();
+			}
+		}
+	}
+
+	/**
+	 * fetches the (shared) keys for a board size, they are computed on first use
+	 *
+	 * @param numRows the number of rows of the board
+	 * @param numColumns the number of columns of the board
+	 * @return the keys for that size
+	 */
+	public static ZobristKeys forSize(int numRows, int numColumns) {
+		ZobristKeys last = lastFetched;
+		if (last != null && last.numRows == numRows && last.numColumns == numColumns) {
+			return last;
+		}
+
+		ZobristKeys table = tables.computeIfAbsent(((long) numRows << 32) | numColumns,
+				k -> new ZobristKeys(numRows, numColumns));
+		lastFetched = table;
+		return table;
+	}
+
+	/**
+	 * @param square the square index, see {@link BitPieceMap#squareIndex(int, int)}
+	 * @param p the piece on that square
+	 * @return the key of `p` standing on `square`, 0 for {@link Piece#Empty}
+	 */
+	public long pieceKey(int square, Piece p) {
+		return this.keys[square * 4 + p.ordinal()];
+	}
+
+	/**
+	 * @return the key that is part of the hash if {@link model.ids.GamePlayerId#PLAYER2} is to move
+	 */
+	public long getPlayerToMoveKey() {
+		return this.playerToMoveKey;
+	}
+}
@@ -3,8 +3,10 @@ package model.board;
 import model.exceptions.InvalidTurnException;
 import model.exceptions.UnsupportedPieceCodeException;
 import model.player.Move;
+import model.player.PackedTurn;
 import model.player.Shot;
 import model.player.Turn;
+import model.player.TurnBuffer;
 import model.ids.GamePlayerId;
 import model.util.PieceMap;
 import model.util.Position;
@@ -578,4 +580,207 @@ public class BoardTest {
 
 	}
 
+	/*
+	 * this method tests that applyTurnUnchecked followed by undoTurn restores the board exactly
+	 * and that isValid does not change the board
+	 */
+	@Test
+	public void testApplyAndUndoTurn() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(10, 10, testSquares);
+		int[][] before = board.toSquares();
+
+		// the arrow lands on the square the amazon came from
+		Turn turn = new Turn(new Move(new Position(9, 6), new Position(9, 8)), new Shot(new Position(9, 6)), GamePlayerId.PLAYER1);
+		assertTrue(board.isValid(turn));
+		assertArrayEquals(before, board.toSquares());
+
+		board.applyTurnUnchecked(turn);
+		assertEquals(Piece.Arrow, board.getAt(9, 6));
+		assertEquals(Piece.AmazonPlayer1, board.getAt(9, 8));
+		assertEquals(1, board.getNextTurnId().get());
+
+		assertSame(turn, board.undoTurn());
+		assertArrayEquals(before, board.toSquares());
+		assertEquals(0, board.getNextTurnId().get());
+		assertFalse(board.getLastTurn().isPresent());
+
+		try {
+			board.undoTurn();
+			fail("undid a turn on a board without turns");
+		} catch (IllegalStateException e) {
+			//pass
+		}
+	}
+
+	/*
+	 * this method tests that clones share the turn history but applying or undoing turns on one
+	 * does not affect the other
+	 */
+	@Test
+	public void testCloneSharesTurnHistory() throws UnsupportedPieceCodeException, InvalidTurnException {
+		Board board = Board.fromSquares(10, 10, testSquares);
+		Turn first = new Turn(new Move(new Position(9, 6), new Position(9, 8)), new Shot(new Position(8, 8)), GamePlayerId.PLAYER1);
+		Turn second = new Turn(new Move(new Position(0, 1), new Position(1, 1)), new Shot(new Position(2, 1)), GamePlayerId.PLAYER2);
+		board.applyTurn(first);
+
+		Board clone = board.clone();
+		assertSame(board.getTurnHistory(), clone.getTurnHistory());
+
+		clone.applyTurn(second);
+		assertEquals(1, board.getNextTurnId().get());
+		assertEquals(2, clone.getNextTurnId().get());
+		assertArrayEquals(new Turn[] { first, second }, clone.getAppliedTurns().toArray());
+		assertArrayEquals(new Turn[] { first }, board.getAppliedTurns().toArray());
+
+		// undoing on the original does not touch the turns of the clone
+		assertSame(first, board.undoTurn());
+		assertFalse(board.getLastTurn().isPresent());
+		assertSame(second, clone.getLastTurn().get());
+		assertSame(first, clone.getTurnHistory().removeLast().getLast().get());
+
+		// boards constructed from a stream of turns continue after them
+		Board replayed = new Board(clone, clone.getAppliedTurns());
+		assertEquals(2, replayed.getNextTurnId().get());
+		assertEquals(GamePlayerId.PLAYER1, replayed.getPlayerToMove());
+	}
+
+	/*
+	 * this method tests that the amazon index follows every change of the board
+	 */
+	@Test
+	public void testAmazonIndex() throws UnsupportedPieceCodeException, InvalidTurnException {
+		Board board = Board.fromSquares(10, 10, testSquares);
+		assertEquals(4, board.getAmazonCount(GamePlayerId.PLAYER1));
+		assertEquals(5, board.getAmazonCount(GamePlayerId.PLAYER2));
+		assertArrayEquals(new int[] { 0, 35, 60, 96 }, board.getAmazonSquares(GamePlayerId.PLAYER1));
+
+		// moving keeps the slot of the amazon
+		board.applyTurn(new Turn(new Move(new Position(9, 6), new Position(9, 8)), new Shot(new Position(8, 8)), GamePlayerId.PLAYER1));
+		assertEquals(98, board.getAmazonSquare(GamePlayerId.PLAYER1, 3));
+		assertArrayEquals(new int[] { 9, 8 }, board.getAmazonCoordinates(GamePlayerId.PLAYER1)[3]);
+
+		board.undoTurn();
+		assertEquals(96, board.getAmazonSquare(GamePlayerId.PLAYER1, 3));
+
+		// overwriting and placing amazons with setAt
+		board.setAt(0, 0, Piece.Arrow);
+		board.setAt(5, 5, Piece.AmazonPlayer2);
+		assertEquals(3, board.getAmazonCount(GamePlayerId.PLAYER1));
+		assertEquals(6, board.getAmazonCount(GamePlayerId.PLAYER2));
+
+		for (GamePlayerId id : GamePlayerId.values()) {
+			for (int square : board.getAmazonSquares(id)) {
+				assertEquals(Piece.fromPlayerId(id), board.getAtSquare(square));
+			}
+		}
+
+		// clones have their own index
+		Board clone = board.clone();
+		clone.setAt(5, 5, Piece.Empty);
+		assertEquals(6, board.getAmazonCount(GamePlayerId.PLAYER2));
+		assertEquals(5, clone.getAmazonCount(GamePlayerId.PLAYER2));
+	}
+
+	/*
+	 * this method tests that the incrementally updated hash matches a freshly calculated one
+	 * and identifies positions independently of how they were reached
+	 */
+	@Test
+	public void testHash() throws UnsupportedPieceCodeException, InvalidTurnException {
+		Board board = Board.fromSquares(10, 10, testSquares);
+		long initial = board.getHash();
+		assertEquals(PieceMap.fromSquares(10, 10, testSquares).getPieceHash(), board.getPieceHash());
+
+		Turn turn = new Turn(new Move(new Position(9, 6), new Position(9, 8)), new Shot(new Position(8, 8)), GamePlayerId.PLAYER1);
+		board.applyTurn(turn);
+		assertNotEquals(initial, board.getHash());
+		assertEquals(GamePlayerId.PLAYER2, board.getPlayerToMove());
+		assertEquals(new PieceMap(board).getPieceHash(), board.getPieceHash());
+
+		// the same pieces with the other player to move is a different position
+		Board sameSquares = Board.fromSquares(10, 10, board.toSquares());
+		assertEquals(sameSquares.getPieceHash(), board.getPieceHash());
+		assertNotEquals(sameSquares.getHash(), board.getHash());
+		sameSquares.setPlayerToMove(GamePlayerId.PLAYER2);
+		assertEquals(sameSquares.getHash(), board.getHash());
+		assertEquals(board.getHash(), board.clone().getHash());
+
+		board.undoTurn();
+		assertEquals(initial, board.getHash());
+	}
+
+	/*
+	 * this method tests generateTurns against a brute force search over every combination of positions with isValid
+	 * and that packed turns convert back to the same turns
+	 */
+	@Test
+	public void testGenerateTurns() throws UnsupportedPieceCodeException {
+		Integer[][] squares = new Integer[][] {
+				{ -1,  0, -1, -2, -1},
+				{ -1, -1, -1, -1,  1},
+				{ -2, -1,  0, -1, -1},
+				{ -1, -1, -1, -2, -1},
+				{  1, -1, -1, -1, -1}};
+		Board board = Board.fromSquares(5, 5, squares);
+		TurnBuffer buffer = new TurnBuffer(1);
+
+		for (GamePlayerId id : GamePlayerId.values()) {
+			int count = board.generateTurns(id, buffer);
+			assertEquals(count, buffer.size());
+
+			java.util.Set<Integer> generated = new java.util.HashSet<>();
+			for (int i = 0; i < buffer.size(); i++) {
+				Turn turn = PackedTurn.toTurn(buffer.get(i), 5, id);
+				assertTrue(board.isValid(turn));
+				assertEquals(buffer.get(i), PackedTurn.fromTurn(turn, 5));
+				assertTrue("turn generated twice", generated.add(buffer.get(i)));
+			}
+
+			int expected = 0;
+			for (int from : board.getAmazonSquares(id)) {
+				for (int to = 0; to < 25; to++) {
+					for (int shot = 0; shot < 25; shot++) {
+						if (board.isValid(PackedTurn.toTurn(PackedTurn.pack(from, to, shot), 5, id))) {
+							expected++;
+						}
+					}
+				}
+			}
+			assertEquals(expected, count);
+		}
+
+		// a player without free squares has no turns
+		Board blocked = Board.fromSquares(2, 2, new Integer[][] { { 0, -2 }, { -2, 1 } });
+		assertEquals(0, blocked.generateTurns(GamePlayerId.PLAYER1, buffer));
+		assertTrue(buffer.isEmpty());
+	}
+
+	/*
+	 * the shots of all generated moves are exactly the generated turns, in the same order
+	 */
+	@Test
+	public void testGenerateMovesAndShots() {
+		Board board = Perft.standardBoard();
+		board.applyPackedTurn(PackedTurn.pack(93, 53, 93));
+		TurnBuffer turns = new TurnBuffer();
+		TurnBuffer moves = new TurnBuffer();
+		TurnBuffer shots = new TurnBuffer();
+
+		for (GamePlayerId id : GamePlayerId.values()) {
+			board.generateTurns(id, turns);
+			board.generateMoves(id, moves);
+
+			int next = 0;
+			for (int i = 0; i < moves.size(); i++) {
+				int move = moves.get(i);
+				assertEquals(0, PackedTurn.shot(move));
+				assertTrue(board.generateShots(PackedTurn.from(move), PackedTurn.to(move), shots) > 0);
+				for (int j = 0; j < shots.size(); j++) {
+					assertEquals(turns.get(next++), shots.get(j));
+				}
+			}
+			assertEquals(turns.size(), next);
+		}
+	}
+
 }
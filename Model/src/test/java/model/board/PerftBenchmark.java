@@ -0,0 +1,39 @@
+package model.board;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * This class measures the throughput of the turn generator by counting the turn tree of the standard opening
+ */
+public class PerftBenchmark {
+
+	static Board board;
+
+	@BeforeClass
+	public static void setupBoard() {
+		board = Perft.standardBoard();
+	}
+
+	@Test
+	public void standardDepth2() {
+		Perft perft = new Perft(board);
+
+		// warm up, so the measured runs are compiled
+		for (int i = 0; i < 3; ++i) {
+			perft.count(2);
+		}
+
+		long leaves = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < 10; ++i) {
+			leaves += perft.count(2);
+		}
+		long nanos = Math.max(System.nanoTime() - start, 1);
+
+		assertEquals(10 * Perft.STANDARD_REFERENCE_COUNTS[2], leaves);
+		System.out.printf("perft(2) of the standard opening: %.0f leaves/s%n", leaves * 1e9 / nanos);
+	}
+}
@@ -0,0 +1,123 @@
+package model.board;
+
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.TurnBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the turn tree counts of Perft and the packed make/unmake of Board it is built on
+ */
+public class PerftTest {
+
+	final Integer[][] smallSquares = new Integer[][] {
+			{ -1,  0, -1, -1, -1},
+			{ -1, -1, -1, -2,  1},
+			{ -1, -1, -1, -1, -1},
+			{ -2, -1, -1, -1, -1},
+			{  0, -1, -1, -1,  1}};
+
+	/*
+	 * counts the turn tree the slow way: applying and undoing every turn through the checked Turn api
+	 */
+	private static long countWithTurns(Board board, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+
+		GamePlayerId id = board.getPlayerToMove();
+		TurnBuffer buffer = new TurnBuffer(1);
+		board.generateTurns(id, buffer);
+		int[] turns = buffer.toArray();
+
+		long leaves = 0;
+		for (int turn : turns) {
+			try {
+				board.applyTurn(PackedTurn.toTurn(turn, board.getNumColumns(), id));
+			} catch (Exception e) {
+				fail("generated an invalid turn: " + e.getMessage());
+			}
+			leaves += countWithTurns(board, depth - 1);
+			board.undoTurn();
+		}
+		return leaves;
+	}
+
+	@Test
+	public void testStandardReferenceCounts() {
+		Perft perft = new Perft(Perft.standardBoard());
+
+		// depth 3 takes too long for a unit test, run the main class for that
+		for (int depth = 0; depth <= 2; depth++) {
+			assertEquals(Perft.STANDARD_REFERENCE_COUNTS[depth], perft.count(depth));
+		}
+	}
+
+	/*
+	 * the packed make/unmake used by perft has to agree with applyTurn and undoTurn
+	 */
+	@Test
+	public void testCountMatchesTurnApi() throws UnsupportedPieceCodeException {
+		for (GamePlayerId id : GamePlayerId.values()) {
+			Board board = Board.fromSquares(5, 5, smallSquares);
+			board.setPlayerToMove(id);
+
+			Board reference = board.clone();
+			assertEquals(countWithTurns(reference, 3), new Perft(board).count(3));
+		}
+	}
+
+	/*
+	 * counting leaves the board exactly as it was
+	 */
+	@Test
+	public void testCountRestoresBoard() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(5, 5, smallSquares);
+		board.setPlayerToMove(GamePlayerId.PLAYER2);
+		int[][] before = board.toSquares();
+		long hash = board.getHash();
+		int[] amazons = board.getAmazonSquares(GamePlayerId.PLAYER1);
+
+		new Perft(board).count(3);
+
+		assertArrayEquals(before, board.toSquares());
+		assertEquals(hash, board.getHash());
+		assertEquals(GamePlayerId.PLAYER2, board.getPlayerToMove());
+		assertArrayEquals(amazons, board.getAmazonSquares(GamePlayerId.PLAYER1));
+		assertFalse(board.getLastTurn().isPresent());
+
+		try {
+			new Perft(board).count(-1);
+			fail("counted a negative depth");
+		} catch (IllegalArgumentException e) {
+			//pass
+		}
+	}
+
+	/*
+	 * a packed turn changes the same squares, hash and player to move as the corresponding Turn
+	 * but leaves the turn history alone
+	 */
+	@Test
+	public void testApplyPackedTurn() throws UnsupportedPieceCodeException {
+		Board packed = Board.fromSquares(5, 5, smallSquares);
+		Board checked = packed.clone();
+
+		// the arrow lands on the square the amazon came from
+		int turn = PackedTurn.pack(1, 3, 1);
+		packed.applyPackedTurn(turn);
+		checked.applyTurnUnchecked(PackedTurn.toTurn(turn, 5, GamePlayerId.PLAYER1));
+
+		assertArrayEquals(checked.toSquares(), packed.toSquares());
+		assertEquals(checked.getHash(), packed.getHash());
+		assertEquals(GamePlayerId.PLAYER2, packed.getPlayerToMove());
+		assertFalse(packed.getLastTurn().isPresent());
+
+		packed.undoPackedTurn(turn);
+		assertArrayEquals(Board.fromSquares(5, 5, smallSquares).toSquares(), packed.toSquares());
+		assertEquals(GamePlayerId.PLAYER1, packed.getPlayerToMove());
+	}
+}
@@ -0,0 +1,129 @@
+package model.board;
+
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.PackedTurn;
+import model.player.TurnBuffer;
+import model.util.RayTable;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the mobility and distance maps of Board
+ */
+public class ReachabilityTest {
+
+	final Integer[][] squares = new Integer[][] {
+			{  0, -1, -2, -1, -1},
+			{ -1, -2, -1, -1, -1},
+			{ -2, -1, -1, -2, -2},
+			{ -1, -1, -2, -1, -1},
+			{ -1, -2,  1, -1, -1}};
+
+	@Test
+	public void testDistances() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(5, 5, squares);
+		int[] distances = new int[25];
+
+		// every empty square is reached, the arrows force detours
+		assertEquals(16, board.getQueenDistances(GamePlayerId.PLAYER1, distances));
+		assertEquals(0, distances[0]);
+		assertEquals(1, distances[board.squareIndex(0, 1)]);
+		assertEquals(3, distances[board.squareIndex(2, 2)]);
+		assertEquals(3, distances[board.squareIndex(1, 4)]);
+		assertEquals(5, distances[board.squareIndex(4, 3)]);
+		assertEquals(Reachability.UNREACHABLE, distances[board.squareIndex(1, 1)]);
+		assertEquals(Reachability.UNREACHABLE, distances[board.squareIndex(4, 2)]);
+
+		// (1, 4) is one queen move but two king steps away from (1, 2)
+		assertEquals(16, board.getKingDistances(GamePlayerId.PLAYER1, distances));
+		assertEquals(4, distances[board.squareIndex(1, 4)]);
+
+		// stopping early leaves the farther squares unreachable
+		assertEquals(2, board.getQueenDistances(GamePlayerId.PLAYER1, 1, distances));
+		assertEquals(Reachability.UNREACHABLE, distances[board.squareIndex(2, 2)]);
+
+		assertEquals(2, board.getMobility(GamePlayerId.PLAYER1));
+		assertEquals(4, board.getMobility(GamePlayerId.PLAYER2));
+		assertEquals(4, board.getMobilityOf(board.squareIndex(4, 2)));
+	}
+
+	/*
+	 * the bit-parallel fill has to agree with a plain breadth-first search square by square
+	 */
+	@Test
+	public void testRandomBoards() {
+		Random random = new Random(7);
+		TurnBuffer buffer = new TurnBuffer();
+		int[] queen = new int[100];
+		int[] king = new int[100];
+
+		Board board = Perft.standardBoard();
+		while (board.generateTurns(board.getPlayerToMove(), buffer) > 0) {
+			for (GamePlayerId id : GamePlayerId.values()) {
+				board.getQueenDistances(id, queen);
+				assertArrayEquals(search(board, id, true), queen);
+				board.getKingDistances(id, king);
+				assertArrayEquals(search(board, id, false), king);
+			}
+			board.applyPackedTurn(buffer.get(random.nextInt(buffer.size())));
+		}
+	}
+
+	/*
+	 * the mobility is the number of distinct moves among the generated turns, every move has at least one shot
+	 */
+	@Test
+	public void testMobility() {
+		Random random = new Random(3);
+		TurnBuffer buffer = new TurnBuffer();
+
+		Board board = Perft.standardBoard();
+		for (int turn = 0; turn < 40; turn++) {
+			for (GamePlayerId id : GamePlayerId.values()) {
+				board.generateTurns(id, buffer);
+				long moves = Arrays.stream(buffer.toArray()).map(t -> PackedTurn.from(t) * PackedTurn.MAX_SQUARES + PackedTurn.to(t)).distinct().count();
+				assertEquals(moves, board.getMobility(id));
+			}
+			if (board.generateTurns(board.getPlayerToMove(), buffer) == 0) {
+				break;
+			}
+			board.applyPackedTurn(buffer.get(random.nextInt(buffer.size())));
+		}
+	}
+
+	private static int[] search(Board board, GamePlayerId id, boolean slide) {
+		int numSquares = board.getNumRows() * board.getNumColumns();
+		RayTable rays = board.getRayTable();
+		int[] distances = new int[numSquares];
+		Arrays.fill(distances, Reachability.UNREACHABLE);
+
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (int square : board.getAmazonSquares(id)) {
+			distances[square] = 0;
+			queue.add(square);
+		}
+		while (!queue.isEmpty()) {
+			int square = queue.poll();
+			for (int dir = 0; dir < RayTable.NUM_DIRECTIONS; dir++) {
+				int end = slide ? rays.rayEnd(square, dir) : Math.min(rays.rayEnd(square, dir), rays.rayStart(square, dir) + 1);
+				for (int i = rays.rayStart(square, dir); i < end; i++) {
+					int next = rays.getSquares()[i];
+					if (!board.isEmptySquare(next)) {
+						break;
+					}
+					if (distances[next] == Reachability.UNREACHABLE) {
+						distances[next] = distances[square] + 1;
+						queue.add(next);
+					}
+				}
+			}
+		}
+		return distances;
+	}
+}
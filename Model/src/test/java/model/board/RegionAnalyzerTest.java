@@ -0,0 +1,110 @@
+package model.board;
+
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.TurnBuffer;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the region partitioning of RegionAnalyzer
+ */
+public class RegionAnalyzerTest {
+
+	// an arrow wall splits the board into a left region only player 0 borders, a contested middle
+	// and a region in the right column only player 1 borders
+	final Integer[][] walledSquares = new Integer[][] {
+			{ -1,  0, -2, -1, -1, -2, -1},
+			{ -1, -1, -2, -1,  0, -2, -1},
+			{ -2, -2, -2, -1,  1, -2, -1},
+			{ -1, -1, -2, -2, -2, -2,  1}};
+
+	@Test
+	public void testRegions() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(4, 7, walledSquares);
+		RegionAnalyzer analyzer = new RegionAnalyzer(board);
+
+		// top left (3 squares), bottom left (2), middle (4), right column (3)
+		assertEquals(4, analyzer.getRegionCount());
+
+		int topLeft = analyzer.getRegionOf(board.squareIndex(0, 0));
+		assertEquals(3, analyzer.getRegionSize(topLeft));
+		assertEquals(1, analyzer.getBorderingAmazons(topLeft, GamePlayerId.PLAYER1).cardinality());
+		assertTrue(analyzer.getBorderingAmazons(topLeft, GamePlayerId.PLAYER2).isEmpty());
+		assertFalse(analyzer.isContested(topLeft));
+
+		// diagonal neighbours are connected, but the bottom left region borders no amazon
+		int bottomLeft = analyzer.getRegionOf(board.squareIndex(3, 0));
+		assertEquals(bottomLeft, analyzer.getRegionOf(board.squareIndex(3, 1)));
+		assertEquals(2, analyzer.getRegionSize(bottomLeft));
+		assertTrue(analyzer.getBorderingAmazons(bottomLeft, GamePlayerId.PLAYER1).isEmpty());
+
+		int middle = analyzer.getRegionOf(board.squareIndex(0, 3));
+		assertEquals(4, analyzer.getRegionSize(middle));
+		assertTrue(analyzer.isContested(middle));
+
+		// the right column must not wrap around to the left column of the next row
+		int right = analyzer.getRegionOf(board.squareIndex(0, 6));
+		assertEquals(3, analyzer.getRegionSize(right));
+		assertNotEquals(right, analyzer.getRegionOf(board.squareIndex(1, 0)));
+
+		assertEquals(-1, analyzer.getRegionOf(board.squareIndex(0, 1)));
+		assertFalse(analyzer.isSeparated());
+		assertFalse(analyzer.isSealedOff(GamePlayerId.PLAYER1));
+		assertEquals(3, analyzer.getTerritory(GamePlayerId.PLAYER1));
+		assertEquals(3, analyzer.getTerritory(GamePlayerId.PLAYER2));
+		assertEquals(7, analyzer.getReachableSquares(GamePlayerId.PLAYER1));
+		assertEquals(7, analyzer.getReachableSquares(GamePlayerId.PLAYER2));
+
+		// closing the middle off separates the players
+		board.setAt(1, 3, Piece.Arrow);
+		analyzer.arrowPlaced(board.squareIndex(1, 3));
+		board.setAt(2, 3, Piece.Arrow);
+		analyzer.arrowPlaced(board.squareIndex(2, 3));
+		assertTrue(analyzer.isSeparated());
+		assertTrue(analyzer.isSealedOff(GamePlayerId.PLAYER1));
+		assertEquals(5, analyzer.getTerritory(GamePlayerId.PLAYER1));
+	}
+
+	/*
+	 * the incremental updates have to end in the same partition as analyzing from scratch
+	 */
+	@Test
+	public void testIncrementalUpdates() {
+		Random random = new Random(42);
+		TurnBuffer buffer = new TurnBuffer();
+
+		for (int game = 0; game < 5; game++) {
+			Board board = Perft.standardBoard();
+			RegionAnalyzer analyzer = new RegionAnalyzer(board);
+
+			while (board.generateTurns(board.getPlayerToMove(), buffer) > 0) {
+				int turn = buffer.get(random.nextInt(buffer.size()));
+				board.applyPackedTurn(turn);
+				analyzer.turnApplied(turn);
+
+				assertSamePartition(board, new RegionAnalyzer(board), analyzer);
+			}
+		}
+	}
+
+	private static void assertSamePartition(Board board, RegionAnalyzer expected, RegionAnalyzer actual) {
+		assertEquals(expected.getRegionCount(), actual.getRegionCount());
+
+		int numSquares = board.getNumRows() * board.getNumColumns();
+		for (int square = 0; square < numSquares; square++) {
+			int e = expected.getRegionOf(square);
+			int a = actual.getRegionOf(square);
+			assertEquals(e < 0, a < 0);
+			if (e >= 0) {
+				assertEquals(expected.getRegionSquares(e), actual.getRegionSquares(a));
+				for (GamePlayerId id : GamePlayerId.values()) {
+					assertEquals(expected.getBorderingAmazons(e, id), actual.getBorderingAmazons(a, id));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package model.board;
+
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import model.player.Move;
+import model.player.Shot;
+import model.player.Turn;
+import model.player.TurnBuffer;
+import model.util.Position;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the board symmetries and canonical forms
+ */
+public class SymmetryTest {
+
+	final Integer[][] squares = new Integer[][] {
+			{ -1,  0, -1, -2, -1},
+			{ -1, -1, -1, -1,  1},
+			{ -2, -1,  0, -1, -1},
+			{ -1, -1, -1, -2, -1},
+			{  1, -1, -1, -1, -1}};
+
+	@Test
+	public void testMapSquare() {
+		// the top right corner of a 3x3 board
+		assertEquals(8, Symmetry.ROTATE_90.mapSquare(2, 3, 3));
+		assertEquals(6, Symmetry.ROTATE_180.mapSquare(2, 3, 3));
+		assertEquals(0, Symmetry.ROTATE_270.mapSquare(2, 3, 3));
+		assertEquals(8, Symmetry.MIRROR_ROWS.mapSquare(2, 3, 3));
+		assertEquals(0, Symmetry.MIRROR_COLUMNS.mapSquare(2, 3, 3));
+		assertEquals(6, Symmetry.TRANSPOSE.mapSquare(2, 3, 3));
+		assertEquals(2, Symmetry.ANTI_TRANSPOSE.mapSquare(2, 3, 3));
+
+		// every symmetry is a permutation that its inverse reverts
+		for (Symmetry s : Symmetry.values()) {
+			boolean[] hit = new boolean[25];
+			for (int square = 0; square < 25; square++) {
+				int image = s.mapSquare(square, 5, 5);
+				assertFalse(hit[image]);
+				hit[image] = true;
+				assertEquals(square, s.inverse().mapSquare(image, 5, 5));
+			}
+		}
+	}
+
+	@Test
+	public void testRectangularBoards() {
+		long applicable = Arrays.stream(Symmetry.values()).filter(s -> s.isApplicable(3, 5)).count();
+		assertEquals(4, applicable);
+		assertEquals(14, Symmetry.ROTATE_180.mapSquare(0, 3, 5));
+		assertEquals(10, Symmetry.MIRROR_ROWS.mapSquare(0, 3, 5));
+
+		try {
+			new Board(3, 5).transform(Symmetry.ROTATE_90);
+			fail("rotated a rectangular board");
+		} catch (IllegalArgumentException e) {
+			//pass
+		}
+	}
+
+	/*
+	 * the turns of a transformed board are exactly the transformed turns of the board
+	 */
+	@Test
+	public void testTransformTurns() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(5, 5, squares);
+		TurnBuffer buffer = new TurnBuffer();
+
+		for (Symmetry s : Symmetry.values()) {
+			Board image = board.transform(s);
+			for (GamePlayerId id : GamePlayerId.values()) {
+				board.generateTurns(id, buffer);
+				int[] mapped = Arrays.stream(buffer.toArray()).map(t -> s.mapPacked(t, 5, 5)).sorted().toArray();
+
+				image.generateTurns(id, buffer);
+				int[] generated = buffer.toArray();
+				Arrays.sort(generated);
+				assertArrayEquals(mapped, generated);
+			}
+		}
+	}
+
+	/*
+	 * all images of a board have the same canonical form, and the canonical symmetry maps each image to it
+	 */
+	@Test
+	public void testCanonicalize() throws UnsupportedPieceCodeException {
+		Board board = Board.fromSquares(5, 5, squares);
+		board.applyTurn(new Turn(new Move(Position.of(0, 1), Position.of(1, 1)), new Shot(Position.of(1, 2)), GamePlayerId.PLAYER1));
+		CanonicalForm canonical = board.canonicalize();
+
+		for (Symmetry s : Symmetry.values()) {
+			Board image = board.transform(s);
+			assertEquals(GamePlayerId.PLAYER2, image.getPlayerToMove());
+			assertEquals(1, image.getNextTurnId().get());
+
+			CanonicalForm form = image.canonicalize();
+			assertArrayEquals(canonical.getBoard().toSquares(), form.getBoard().toSquares());
+			assertEquals(canonical.getBoard().getHash(), form.getBoard().getHash());
+			assertArrayEquals(form.getBoard().toSquares(), image.transform(form.getSymmetry()).toSquares());
+		}
+
+		// the canonical board is its own canonical form
+		assertEquals(Symmetry.IDENTITY, canonical.getBoard().canonicalize().getSymmetry());
+	}
+}
@@ -0,0 +1,130 @@
+package model.codec;
+
+import model.board.Board;
+import model.board.Perft;
+import model.exceptions.InvalidGameRecordException;
+import model.game.Game;
+import model.ids.GameId;
+import model.ids.GamePlayerId;
+import model.ids.GlobalPlayerId;
+import model.player.PackedTurn;
+import model.player.Player;
+import model.player.TurnBuffer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the binary game records of GameRecordWriter and GameRecordReader
+ */
+public class GameRecordTest {
+
+	/*
+	 * a game on the standard board with up to `numTurns` turns, always making the first generated turn
+	 */
+	private static Game playedGame(int gameId, int numTurns) {
+		Board board = Perft.standardBoard();
+		TurnBuffer buffer = new TurnBuffer();
+		for (int i = 0; i < numTurns; i++) {
+			GamePlayerId id = board.getPlayerToMove();
+			if (board.generateTurns(id, buffer) == 0) {
+				break;
+			}
+			board.applyTurnUnchecked(PackedTurn.toTurn(buffer.get(0), board.getNumColumns(), id));
+		}
+
+		Player[] players = new Player[] {
+				new Player(new GlobalPlayerId(7), "Alice", "http://localhost:33100/"),
+				new Player(new GlobalPlayerId(-3), "Bob", null)};
+		return new Game(Duration.ofMillis(5000), new GameId(gameId), players, board);
+	}
+
+	private static void assertSameGame(Game expected, Game actual) {
+		assertEquals(expected.getGameId(), actual.getGameId());
+		assertEquals(expected.getMaxTurnTime(), actual.getMaxTurnTime());
+		assertEquals(expected.getWinningPlayer(), actual.getWinningPlayer());
+		for (GamePlayerId id : GamePlayerId.values()) {
+			assertEquals(expected.getPlayer(id).getPlayerId(), actual.getPlayer(id).getPlayerId());
+			assertEquals(expected.getPlayer(id).getName(), actual.getPlayer(id).getName());
+			assertEquals(expected.getPlayer(id).getUrl(), actual.getPlayer(id).getUrl());
+		}
+		assertArrayEquals(expected.getBoard().toSquares(), actual.getBoard().toSquares());
+		assertEquals(expected.getBoard().getPlayerToMove(), actual.getBoard().getPlayerToMove());
+		assertEquals(expected.getBoard().getHash(), actual.getBoard().getHash());
+		assertArrayEquals(expected.getBoard().getTurnHistory().stream().map(t -> PackedTurn.fromTurn(t, 10)).toArray(),
+				actual.getBoard().getTurnHistory().stream().map(t -> PackedTurn.fromTurn(t, 10)).toArray());
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Game game = playedGame(12, 30);
+		game.setWinningPlayer(GamePlayerId.PLAYER2);
+
+		byte[] bytes = GameRecordWriter.encode(game);
+		assertSameGame(game, GameRecordReader.decode(bytes, false));
+		assertSameGame(game, GameRecordReader.decode(bytes, true));
+
+		// the 10x10 board takes 25 bytes and every turn 3
+		assertTrue(bytes.length < 4 + 60 + 25 + 2 + 3 * 30);
+	}
+
+	@Test
+	public void testStream() throws IOException {
+		Game[] games = new Game[] { playedGame(1, 0), playedGame(2, 5), playedGame(3, 50)};
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GameRecordWriter writer = new GameRecordWriter(bytes)) {
+			for (Game g : games) {
+				writer.writeGame(g);
+			}
+		}
+
+		try (GameRecordReader reader = new GameRecordReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+			for (Game g : games) {
+				assertTrue(reader.hasNext());
+				assertSameGame(g, reader.readGame(true));
+			}
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	/*
+	 * broken records have to be rejected instead of producing broken games
+	 */
+	@Test
+	public void testInvalidRecords() throws IOException {
+		byte[] bytes = GameRecordWriter.encode(playedGame(1, 10));
+
+		try {
+			GameRecordReader.decode(Arrays.copyOf(bytes, bytes.length - 1), true);
+			fail("decoded a truncated record");
+		} catch (InvalidGameRecordException e) {
+			//pass
+		}
+
+		byte[] badMagic = bytes.clone();
+		badMagic[0] = 'X';
+		try {
+			GameRecordReader.decode(badMagic, true);
+			fail("decoded a record with a wrong magic");
+		} catch (InvalidGameRecordException e) {
+			//pass
+		}
+
+		// the last turn starting on an empty square
+		byte[] badTurn = bytes.clone();
+		badTurn[badTurn.length - 3] = 1;
+		try {
+			GameRecordReader.decode(badTurn, false);
+			fail("decoded a turn that does not start on an amazon");
+		} catch (InvalidGameRecordException e) {
+			//pass
+		}
+	}
+}
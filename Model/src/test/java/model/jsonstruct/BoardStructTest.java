@@ -1,11 +1,17 @@
 package model.jsonstruct;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
 import model.board.Board;
 import model.exceptions.UnsupportedPieceCodeException;
 import model.util.PieceMap;
 import org.junit.Test;
+import validation.JsonValidatingParser;
+import validation.exceptions.JsonValidationException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  * This class tests all methods of class Board Struct
@@ -37,10 +43,10 @@ public class BoardStructTest {
         assertEquals(testBoardStruct.gameSizeColumns, Integer.valueOf(2));
         assertEquals(testBoardStruct.gameSizeRows, Integer.valueOf(3));
 
-        assertEquals(testBoardStruct.squares[0][0], Integer.valueOf(1));
-        assertEquals(testBoardStruct.squares[1][0], Integer.valueOf(-1));
-        assertEquals(testBoardStruct.squares[2][1], Integer.valueOf(0));
-        assertEquals(testBoardStruct.squares[1][1], Integer.valueOf(-2));
+        assertEquals(testBoardStruct.squares[0][0], 1);
+        assertEquals(testBoardStruct.squares[1][0], -1);
+        assertEquals(testBoardStruct.squares[2][1], 0);
+        assertEquals(testBoardStruct.squares[1][1], -2);
     }
 
     /**
@@ -73,4 +79,45 @@ public class BoardStructTest {
         assertEquals(newBoard.getAt(2, 1).toPieceCode(), 0);
         assertEquals(newBoard.getAt(1,1).toPieceCode(), -2);
     }
+
+    /**
+     * This method tests that the squares survive a round trip through json unchanged
+     */
+    @Test
+    public void jsonRoundTripTest() throws JsonValidationException {
+        String json = new Gson().toJson(BoardStruct.fromModel(board));
+        assertEquals("{\"gameSizeRows\":3,\"gameSizeColumns\":2,\"squares\":[[1,-1],[-1,-2],[0,0]]}", json);
+
+        BoardStruct parsed = new JsonValidatingParser().fromJson(json, BoardStruct.class);
+        assertArrayEquals(board.toSquares(), parsed.squares);
+    }
+
+    /**
+     * This method tests that broken squares are rejected while parsing
+     */
+    @Test
+    public void jsonInvalidSquaresTest() {
+        JsonValidatingParser parser = new JsonValidatingParser();
+
+        try {
+            parser.fromJson("{\"gameSizeRows\":1,\"gameSizeColumns\":2,\"squares\":[[1,null]]}", BoardStruct.class);
+            fail("parsed a null square");
+        } catch (JsonSyntaxException | JsonValidationException e) {
+            //pass
+        }
+
+        try {
+            parser.fromJson("{\"gameSizeRows\":2,\"gameSizeColumns\":2,\"squares\":[[1,-1],[0]]}", BoardStruct.class);
+            fail("parsed a jagged board");
+        } catch (JsonSyntaxException | JsonValidationException e) {
+            //pass
+        }
+
+        try {
+            parser.fromJson("{\"gameSizeRows\":1,\"gameSizeColumns\":1,\"squares\":[[\"x\"]]}", BoardStruct.class);
+            fail("parsed a string square");
+        } catch (JsonSyntaxException | JsonValidationException e) {
+            //pass
+        }
+    }
 }
@@ -1,7 +1,127 @@
 package model.jsonstruct;
 
+import model.board.Board;
+import model.board.Perft;
+import model.exceptions.InvalidTurnException;
+import model.game.Game;
+import model.ids.GamePlayerId;
+import model.player.Move;
+import model.player.PackedTurn;
+import model.player.Shot;
+import model.player.Turn;
+import model.player.TurnBuffer;
+import model.util.Position;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
 /**
  * this class tests all methods of GameStruct
  */
 public class GameStructTest {
+
+	/*
+	 * builds a stored game on the standard board with `numTurns` turns, always making the last generated turn
+	 */
+	private static GameStruct storedGame(int gameId, int numTurns) {
+		Board board = Perft.standardBoard();
+		TurnBuffer buffer = new TurnBuffer();
+		TurnStruct[] turns = new TurnStruct[numTurns];
+
+		for (int i = 0; i < numTurns; i++) {
+			GamePlayerId id = board.getPlayerToMove();
+			board.generateTurns(id, buffer);
+			Turn turn = PackedTurn.toTurn(buffer.get(buffer.size() - 1), board.getNumColumns(), id);
+			board.applyTurnUnchecked(turn);
+			turns[i] = TurnStruct.fromModel(turn);
+		}
+
+		PlayerStruct player = new PlayerStruct();
+		player.playerId = 1;
+		player.name = "P";
+		player.url = "someURL";
+
+		GameStruct self = new GameStruct();
+		self.gameId = gameId;
+		self.players = new PlayerStruct[] { player, player };
+		self.maxTurnTime = 1000L;
+		self.initialBoard = BoardStruct.fromModel(Perft.standardBoard());
+		self.turns = turns;
+		return self;
+	}
+
+	private static TurnStruct turnStruct(int startRow, int startColumn, int endRow, int endColumn, int shotRow, int shotColumn) {
+		return TurnStruct.fromModel(new Turn(
+				new Move(new Position(startRow, startColumn), new Position(endRow, endColumn)),
+				new Shot(new Position(shotRow, shotColumn)),
+				GamePlayerId.PLAYER1));
+	}
+
+	/*
+	 * the trusted replay ends in the same position as the validating replay
+	 */
+	@Test
+	public void testTrustedReplay() {
+		GameStruct struct = storedGame(1, 20);
+
+		Board validated = struct.intoModel().getBoard();
+		Board trusted = struct.intoModel(true).getBoard();
+
+		assertArrayEquals(validated.toSquares(), trusted.toSquares());
+		assertEquals(validated.getHash(), trusted.getHash());
+		assertEquals(20, trusted.getNextTurnId().get());
+	}
+
+	/*
+	 * the trusted replay skips the path checks but still rejects turns that do not fit the board
+	 */
+	@Test
+	public void testTrustedReplayChecksConsistency() {
+		GameStruct struct = storedGame(1, 0);
+
+		// jumps over the amazon at (9, 3)
+		struct.turns = new TurnStruct[] { turnStruct(9, 6, 9, 0, 8, 0) };
+		try {
+			struct.intoModel();
+			fail("replayed a turn through another amazon");
+		} catch (InvalidTurnException e) {
+			//pass
+		}
+		assertEquals(1, struct.intoModel(true).getBoard().getNextTurnId().get());
+
+		// there is no amazon at (5, 5)
+		struct.turns = new TurnStruct[] { turnStruct(5, 5, 5, 6, 5, 7) };
+		try {
+			struct.intoModel(true);
+			fail("replayed a turn of a missing amazon");
+		} catch (InvalidTurnException e) {
+			//pass
+		}
+
+		// the shot lands on the amazon of the other player
+		struct.turns = new TurnStruct[] { turnStruct(6, 0, 5, 0, 3, 0) };
+		try {
+			struct.intoModel(true);
+			fail("replayed a shot onto an amazon");
+		} catch (InvalidTurnException e) {
+			//pass
+		}
+	}
+
+	@Test
+	public void testIntoModelsKeepsOrder() {
+		GameStruct[] structs = new GameStruct[50];
+		for (int i = 0; i < structs.length; i++) {
+			structs[i] = storedGame(i, i % 10);
+		}
+
+		List<Game> games = GameStruct.intoModels(structs, true);
+		assertEquals(structs.length, games.size());
+		for (int i = 0; i < structs.length; i++) {
+			assertEquals(i, games.get(i).getGameId().get());
+			assertEquals(i % 10, games.get(i).getBoard().getNextTurnId().get());
+		}
+	}
 }
@@ -0,0 +1,127 @@
+package model.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * This class tests all methods of BitBoard
+ */
+public class BitBoardTest {
+
+	@Test
+	public void setGetClear() {
+		BitBoard b = new BitBoard(100);
+		assertTrue(b.isEmpty());
+
+		b.set(0);
+		b.set(63);
+		b.set(64);
+		b.set(99);
+
+		assertTrue(b.get(0));
+		assertTrue(b.get(63));
+		assertTrue(b.get(64));
+		assertTrue(b.get(99));
+		assertFalse(b.get(1));
+		assertEquals(4, b.cardinality());
+
+		b.clear(63);
+		assertFalse(b.get(63));
+		assertEquals(3, b.cardinality());
+
+		b.clearAll();
+		assertTrue(b.isEmpty());
+	}
+
+	/*
+	 * iterating over the set bits has to cross word boundaries
+	 */
+	@Test
+	public void nextSetBit() {
+		BitBoard b = new BitBoard(130);
+		assertEquals(-1, b.nextSetBit(0));
+
+		b.set(5);
+		b.set(64);
+		b.set(129);
+
+		assertEquals(5, b.nextSetBit(0));
+		assertEquals(5, b.nextSetBit(5));
+		assertEquals(64, b.nextSetBit(6));
+		assertEquals(129, b.nextSetBit(65));
+		assertEquals(-1, b.nextSetBit(130));
+	}
+
+	@Test
+	public void copyAndEquals() {
+		BitBoard a = new BitBoard(100);
+		a.set(42);
+
+		BitBoard b = a.clone();
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+
+		b.set(43);
+		assertNotEquals(a, b);
+
+		a.copyFrom(b);
+		assertEquals(a, b);
+	}
+
+	/*
+	 * shifts have to carry bits across word boundaries and drop bits that leave the set
+	 */
+	@Test
+	public void shifts() {
+		BitBoard b = new BitBoard(130);
+		b.set(0);
+		b.set(63);
+		b.set(120);
+
+		b.shiftUp(9);
+		assertEquals(9, b.nextSetBit(0));
+		assertEquals(72, b.nextSetBit(10));
+		assertEquals(129, b.nextSetBit(73));
+
+		b.shiftUp(1);
+		assertEquals(2, b.cardinality());
+
+		// 10 drops out, 73 moves to 3
+		b.shiftDown(70);
+		assertEquals(3, b.nextSetBit(0));
+		assertEquals(-1, b.nextSetBit(4));
+
+		BitBoard c = new BitBoard(130);
+		c.set(1);
+		c.shiftUp(128);
+		assertEquals(129, c.nextSetBit(0));
+		c.shiftDown(129);
+		assertEquals(0, c.nextSetBit(0));
+	}
+
+	@Test
+	public void setOperations() {
+		BitBoard a = new BitBoard(100);
+		BitBoard b = new BitBoard(100);
+		a.set(3);
+		a.set(70);
+		b.set(70);
+		b.set(99);
+
+		assertTrue(a.intersects(b));
+		BitBoard union = a.clone();
+		union.or(b);
+		assertEquals(3, union.cardinality());
+
+		BitBoard intersection = a.clone();
+		intersection.and(b);
+		assertEquals(70, intersection.nextSetBit(0));
+		assertEquals(1, intersection.cardinality());
+
+		a.andNot(b);
+		assertEquals(3, a.nextSetBit(0));
+		assertEquals(1, a.cardinality());
+		assertFalse(a.intersects(b));
+	}
+}
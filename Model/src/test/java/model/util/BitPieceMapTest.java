@@ -0,0 +1,129 @@
+package model.util;
+
+import static org.junit.Assert.*;
+
+import model.board.Piece;
+import model.exceptions.UnsupportedPieceCodeException;
+import model.ids.GamePlayerId;
+import org.junit.Test;
+
+/**
+ * This class tests BitPieceMap against the array based PieceMap
+ */
+public class BitPieceMapTest {
+
+	final int[][] squares = new int[][] {
+		{ 0, 1, -1,  1, -1, -1,  1, -1, -1, -1},
+		{ -2, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{ -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{  1, -1, -1, -1, -1, 0, -1, -1, -1,  1},
+		{ -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{ -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{  0, -1, -1, -1, -1, -1, -1, -1, -1,  -1},
+		{ -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{ -1, -1, -1, -1, -1, -1, -1, -1, -1, -1},
+		{ -1, -1, -1,  -1, -1, -1,  0, -1, -2, -2}};
+
+	/*
+	 * copying an array based map must give the same pieces on every square
+	 */
+	@Test
+	public void copyFromPieceMap() throws UnsupportedPieceCodeException {
+		PieceMap reference = PieceMap.fromSquares(10, 10, squares);
+		BitPieceMap map = new BitPieceMap(reference);
+
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 10; j++) {
+				assertEquals(reference.getAt(i, j), map.getAt(i, j));
+			}
+		}
+		assertArrayEquals(reference.toSquares(), map.toSquares());
+		assertArrayEquals(reference.toIntegerSquares(), map.toIntegerSquares());
+		assertArrayEquals(reference.stream().toArray(), map.stream().toArray());
+	}
+
+	/*
+	 * the bit sets must reflect every write
+	 */
+	@Test
+	public void setAtUpdatesBitSets() {
+		BitPieceMap map = new BitPieceMap(10, 10);
+		assertTrue(map.getOccupied().isEmpty());
+
+		map.setAt(3, 4, Piece.AmazonPlayer2);
+		map.setAt(9, 9, Piece.Arrow);
+		map.setAt(0, 0, Piece.AmazonPlayer1);
+
+		assertEquals(3, map.getOccupied().cardinality());
+		assertTrue(map.getAmazons(GamePlayerId.PLAYER2).get(map.squareIndex(3, 4)));
+		assertTrue(map.getAmazons(GamePlayerId.PLAYER1).get(map.squareIndex(0, 0)));
+		assertTrue(map.getArrows().get(99));
+
+		// overwriting a square must clear the old piece
+		map.setAt(3, 4, Piece.Arrow);
+		assertTrue(map.getAmazons(GamePlayerId.PLAYER2).isEmpty());
+		assertEquals(Piece.Arrow, map.getAt(3, 4));
+
+		map.setAt(3, 4, Piece.Empty);
+		assertTrue(map.isEmptySquare(34));
+		assertEquals(2, map.getOccupied().cardinality());
+	}
+
+	@Test
+	public void movePieceTo() throws UnsupportedPieceCodeException {
+		BitPieceMap map = new BitPieceMap(PieceMap.fromSquares(10, 10, squares));
+
+		map.movePieceTo(new Position(3, 5), new Position(5, 5));
+		assertEquals(Piece.Empty, map.getAt(3, 5));
+		assertEquals(Piece.AmazonPlayer1, map.getAt(5, 5));
+
+		try {
+			map.movePieceTo(new Position(5, 5), new Position(0, 1));
+			fail("moved onto an occupied square");
+		} catch (IllegalArgumentException e) {
+			//pass
+		}
+	}
+
+	/*
+	 * unlike a plain bit index, negative or too large coordinates must not wrap around to another square
+	 */
+	@Test
+	public void outOfBounds() {
+		BitPieceMap map = new BitPieceMap(10, 10);
+		int[][] invalid = { {10, 0}, {0, 10}, {-1, 5}, {5, -1}, {1, -1} };
+
+		for (int[] pos : invalid) {
+			try {
+				map.getAt(pos[0], pos[1]);
+				fail("getAt accepted an out of bounds position");
+			} catch (IndexOutOfBoundsException e) {
+				//pass
+			}
+			try {
+				map.setAt(new Position(pos[0], pos[1]), Piece.Arrow);
+				fail("setAt accepted an out of bounds position");
+			} catch (IndexOutOfBoundsException e) {
+				//pass
+			}
+		}
+	}
+
+	/*
+	 * boards that need more than two words of bits
+	 */
+	@Test
+	public void largeBoard() {
+		BitPieceMap map = new BitPieceMap(20, 20);
+		map.setAt(19, 19, Piece.AmazonPlayer1);
+		map.setAt(12, 7, Piece.Arrow);
+
+		BitPieceMap clone = map.clone();
+		map.setAt(19, 19, Piece.Empty);
+
+		assertEquals(Piece.AmazonPlayer1, clone.getAt(19, 19));
+		assertEquals(Piece.Arrow, clone.getAt(12, 7));
+		assertEquals(Piece.Empty, map.getAt(19, 19));
+		assertEquals(399, clone.getAmazons(GamePlayerId.PLAYER1).nextSetBit(0));
+	}
+}
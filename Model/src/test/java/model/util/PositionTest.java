@@ -0,0 +1,45 @@
+package model.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * This class tests the interning and square index conversion of Position
+ */
+public class PositionTest {
+
+	@Test
+	public void testOfIsInterned() {
+		assertSame(Position.of(3, 7), Position.of(3, 7));
+		assertSame(Position.of(3, 7), Position.ofSquare(37, 10));
+		assertSame(Position.of(3, 7), Position.of(3, 7).clone());
+		assertSame(Position.of(4, 8), Position.of(3, 7).moveBy(new Vec2i(1, 1)));
+
+		// outside of the cached range positions are still created, just not interned
+		Position far = Position.of(Position.CACHED_SIZE, 0);
+		assertEquals(new Position(Position.CACHED_SIZE, 0), far);
+		assertEquals(new Position(-1, 2), Position.of(-1, 2));
+	}
+
+	/*
+	 * interned and constructed positions are equal and hash equally
+	 */
+	@Test
+	public void testEquality() {
+		assertEquals(new Position(3, 7), Position.of(3, 7));
+		assertEquals(new Position(3, 7).hashCode(), Position.of(3, 7).hashCode());
+		assertNotEquals(Position.of(7, 3), Position.of(3, 7));
+		assertNotEquals(new Vec2i(3, 7), Position.of(3, 7));
+	}
+
+	@Test
+	public void testSquareIndex() {
+		for (int square = 0; square < 15; square++) {
+			Position p = Position.ofSquare(square, 5);
+			assertEquals(square / 5, p.getRow());
+			assertEquals(square % 5, p.getColumn());
+			assertEquals(square, p.toSquare(5));
+		}
+	}
+}
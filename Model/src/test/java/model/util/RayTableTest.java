@@ -0,0 +1,73 @@
+package model.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * This class tests the precomputed queen lines of RayTable
+ */
+public class RayTableTest {
+
+	private static int[] ray(RayTable table, int square, int dir) {
+		int[] result = new int[table.rayEnd(square, dir) - table.rayStart(square, dir)];
+		System.arraycopy(table.getSquares(), table.rayStart(square, dir), result, 0, result.length);
+		return result;
+	}
+
+	@Test
+	public void raysOfCorner() {
+		RayTable table = RayTable.forSize(10, 10);
+
+		// (0, 0) downwards, to the right and down-right, nearest square first
+		assertArrayEquals(new int[] { 10, 20, 30, 40, 50, 60, 70, 80, 90 }, ray(table, 0, RayTable.directionOf(1, 0)));
+		assertArrayEquals(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 }, ray(table, 0, RayTable.directionOf(0, 1)));
+		assertArrayEquals(new int[] { 11, 22, 33, 44, 55, 66, 77, 88, 99 }, ray(table, 0, RayTable.directionOf(1, 1)));
+
+		// every other direction leaves the board immediately
+		assertEquals(0, ray(table, 0, RayTable.directionOf(-1, 0)).length);
+		assertEquals(0, ray(table, 0, RayTable.directionOf(0, -1)).length);
+		assertEquals(0, ray(table, 0, RayTable.directionOf(-1, -1)).length);
+		assertEquals(0, ray(table, 0, RayTable.directionOf(-1, 1)).length);
+		assertEquals(0, ray(table, 0, RayTable.directionOf(1, -1)).length);
+	}
+
+	/*
+	 * non square boards must not wrap around at the end of a row
+	 */
+	@Test
+	public void raysOfRectangularBoard() {
+		RayTable table = RayTable.forSize(3, 5);
+
+		// (1, 3) is square 8
+		assertArrayEquals(new int[] { 9 }, ray(table, 8, RayTable.directionOf(0, 1)));
+		assertArrayEquals(new int[] { 7, 6, 5 }, ray(table, 8, RayTable.directionOf(0, -1)));
+		assertArrayEquals(new int[] { 14 }, ray(table, 8, RayTable.directionOf(1, 1)));
+		assertArrayEquals(new int[] { 12 }, ray(table, 8, RayTable.directionOf(1, -1)));
+	}
+
+	@Test
+	public void neighbourMasks() {
+		RayTable table = RayTable.forSize(20, 20);
+
+		// a corner has 3 neighbours, an edge square 5 and every other square 8
+		assertEquals(3, table.getNeighbourMask(0).cardinality());
+		assertEquals(5, table.getNeighbourMask(10).cardinality());
+		assertEquals(8, table.getNeighbourMask(21).cardinality());
+
+		// the last square of a row is not next to the first square of the following row
+		BitBoard mask = table.getNeighbourMask(19);
+		assertTrue(mask.get(18));
+		assertTrue(mask.get(38));
+		assertTrue(mask.get(39));
+		assertFalse(mask.get(20));
+	}
+
+	@Test
+	public void tablesAreShared() {
+		assertSame(RayTable.forSize(10, 10), RayTable.forSize(10, 10));
+		assertSame(RayTable.forSize(12, 12), RayTable.forSize(12, 12));
+		assertNotEquals(RayTable.forSize(10, 10), RayTable.forSize(12, 12));
+		assertEquals(-1, RayTable.directionOf(0, 0));
+	}
+}
@@ -92,10 +92,8 @@ public class BackupManager {
 			backupFileToRestoreFrom = backupFileAlpha;
 		} 
 		
-		ArrayList<Game> gamesToRestore = new ArrayList<>();
-		for(GameStruct struct : backupFileToRestoreFrom.games) {
-			gamesToRestore.add(struct.intoModel());
-		}
+		// the backup was written by us, so the turns only need a consistency check and the games are replayed on all cores
+		ArrayList<Game> gamesToRestore = new ArrayList<>(GameStruct.intoModels(backupFileToRestoreFrom.games, true));
 		
 		this.finishedGames = gamesToRestore;
 		
@@ -1,5 +1,6 @@
 package validation.util;
 
+import java.lang.reflect.Array;
 import java.util.*;
 
 public abstract class ArrayUtil {
@@ -18,6 +19,13 @@ public abstract class ArrayUtil {
 	 */
 	public static Object normalizedCopyOf(final Object array, int... sizes) {
 		if (array.getClass().isArray()) {
+			if (array.getClass().getComponentType().isPrimitive()) {
+				// primitive arrays have no further dimensions
+				Object tmp = Array.newInstance(array.getClass().getComponentType(), sizes[0]);
+				System.arraycopy(array, 0, tmp, 0, sizes[0]);
+				return tmp;
+			}
+
 			Object[] tmp = Arrays.copyOf((Object[]) array, sizes[0]);
 			int[] newSizes = Arrays.copyOfRange(sizes, 1, sizes.length);
 
@@ -100,7 +108,9 @@ public abstract class ArrayUtil {
 	 * @return the accumulated sizes, missing padding zeros for 0-sized dimensions
 	 */
 	private static int[] getDimSizesImpl(final Object array, ArrayList<Integer> acc) {
-		if (array.getClass().isArray()) {
+		if (array.getClass().isArray() && array.getClass().getComponentType().isPrimitive()) {
+			acc.add(Array.getLength(array));
+		} else if (array.getClass().isArray()) {
 			Object[] arr = (Object[]) array;
 
 			if (arr.length > 0) {
@@ -140,7 +150,12 @@ public abstract class ArrayUtil {
 	 */
 	private static int[] getNormalizedDimSizesImpl(final Object array, ArrayList<Integer> acc) {
 		if (array.getClass().isArray()) {
-			if (array.getClass().getComponentType().isArray()) {
+			if (array.getClass().getComponentType().isArray() && array.getClass().getComponentType().getComponentType().isPrimitive()) {
+				// the innermost dimension holds primitives, which cannot be null, so its size is the longest row
+				Object[] arr = (Object[]) array;
+				acc.add(lengthWithoutTrailingNulls(arr));
+				acc.add(Arrays.stream(arr).filter(Objects::nonNull).mapToInt(Array::getLength).max().orElse(0));
+			} else if (array.getClass().getComponentType().isArray()) {
 				Object[][] arr = (Object[][]) array;
 
 				Optional<Object[]> nextDown = Arrays.stream(arr)
@@ -155,6 +170,8 @@ public abstract class ArrayUtil {
 					acc.add(lengthWithoutTrailingNulls(arr));
 					return getNormalizedDimSizesImpl(nextDown.get(), acc);
 				}
+			} else if (array.getClass().getComponentType().isPrimitive()) {
+				acc.add(Array.getLength(array));
 			} else {
 				Object[] arr = (Object[]) array;
 				acc.add(lengthWithoutTrailingNulls(arr));
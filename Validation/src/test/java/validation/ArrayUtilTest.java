@@ -49,4 +49,20 @@ public class ArrayUtilTest {
 
 		assertArrayEquals(new int[]{ 6, 4 }, dimSzs);
 	}
+
+	@Test
+	public void testPrimitiveInnerArrays() {
+		int[][] arr = new int[][] {
+				new int[]{1,2,3},
+				new int[]{1,2},
+				null,
+				null
+		};
+
+		assertArrayEquals(new int[]{ 4, 3 }, ArrayUtil.getDimSizes(arr));
+		assertArrayEquals(new int[]{ 2, 3 }, ArrayUtil.getNormalizedDimSizes(arr));
+
+		int[][] normalized = (int[][]) ArrayUtil.normalizedCopyOf(arr, 2, 2);
+		assertArrayEquals(new int[][]{ new int[]{1,2}, new int[]{1,2} }, normalized);
+	}
 }